@@ -18,17 +18,67 @@ CREATE TABLE session (
              is_online BOOLEAN NOT NULL DEFAULT FALSE,
              zoom_link TEXT CHARACTER SET utf8mb4,
              available_spots INTEGER,
+             participant_count INTEGER NOT NULL DEFAULT 0,
              start_date_time DATETIME,
              duration_minutes INTEGER,
+             end_date_time DATETIME GENERATED ALWAYS AS (start_date_time + INTERVAL duration_minutes MINUTE) STORED,
              credits_required INTEGER DEFAULT 1,
              bring_your_mattress BOOLEAN DEFAULT FALSE,
              created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-             updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+             updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+             -- Completion sweeper : range scan on scheduled sessions already ended
+             INDEX idx_session_status_end (status, end_date_time),
+             -- Client catalog : range scan on scheduled sessions starting after now
+             INDEX idx_session_status_start (status, start_date_time),
+             -- Keyset pagination on (start_date_time, id)
+             INDEX idx_session_start_id (start_date_time, id),
+             -- Teacher history and overlap probe (bounded start range, end checked from the index)
+             INDEX idx_session_teacher_start (teacher_id, start_date_time, end_date_time)
+) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+
+-- Session ids come from a pooled-lo sequence (emulated by a table on MySQL) so inserts can be JDBC batched.
+-- AUTO_INCREMENT is kept for seed data, the sequence starts above it.
+CREATE TABLE session_seq (
+              next_val BIGINT
 ) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+INSERT INTO session_seq VALUES (1000);
 
 CREATE TABLE session_participants (
               session_id BIGINT,
               participant_id BIGINT,
               PRIMARY KEY (session_id, participant_id),
               FOREIGN KEY (session_id) REFERENCES session(id) ON DELETE CASCADE
-) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
\ No newline at end of file
+) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+-- Saga log of client registrations (seat reserved here, credits deducted in ms-identity).
+-- Rows left in SEAT_RESERVED are picked up by RegistrationSagaRecoveryJob.
+CREATE TABLE registration_saga (
+              id BIGINT AUTO_INCREMENT PRIMARY KEY,
+              session_id BIGINT NOT NULL,
+              user_id BIGINT NOT NULL,
+              credits INTEGER NOT NULL,
+              status VARCHAR(20) NOT NULL,
+              attempts INTEGER NOT NULL DEFAULT 0,
+              last_error VARCHAR(500) CHARACTER SET utf8mb4,
+              new_credits INTEGER,
+              created_at DATETIME NOT NULL,
+              updated_at DATETIME NOT NULL,
+
+              -- Recovery job : oldest unfinished sagas first
+              INDEX idx_registration_saga_status_updated (status, updated_at),
+              INDEX idx_registration_saga_session_user (session_id, user_id)
+) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+
+-- Transactional outbox of session lifecycle events, written with the session change.
+-- SessionOutboxRelay claims rows with FOR UPDATE SKIP LOCKED + a short lease, publishes them
+-- to ms-notification and deletes them (at-least-once delivery).
+CREATE TABLE session_outbox (
+              id BIGINT AUTO_INCREMENT PRIMARY KEY,
+              session_id BIGINT NOT NULL,
+              event_type VARCHAR(20) NOT NULL,
+              modification_summary VARCHAR(500) CHARACTER SET utf8mb4,
+              attempts INTEGER NOT NULL DEFAULT 0,
+              claimed_until DATETIME,
+              last_error VARCHAR(500) CHARACTER SET utf8mb4,
+              created_at DATETIME NOT NULL
+) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
@@ -5,6 +5,10 @@ SET CHARACTER SET utf8mb4;
 USE identitydb;
 
 DROP TABLE IF EXISTS users;
+DROP TABLE IF EXISTS user_seq;
+DROP TABLE IF EXISTS credit_transaction;
+DROP TABLE IF EXISTS credit_balance_snapshot;
+DROP TABLE IF EXISTS idempotency_record;
 DROP TABLE IF EXISTS address;
 
 -- Create Address table first (referenced table)
@@ -33,7 +37,53 @@ CREATE TABLE users (
        credits INTEGER,
        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+       -- Bumped on every change of the row, ms-webapp probes it to expire its cached principal
+       version BIGINT NOT NULL DEFAULT 0,
 
 -- Foreign key constraint
        CONSTRAINT fk_user_address FOREIGN KEY (address_id) REFERENCES address(id)
-);
\ No newline at end of file
+);
+
+-- User ids come from a pooled-lo sequence (emulated by a table on MySQL) so inserts can be JDBC batched.
+-- AUTO_INCREMENT is kept for seed data, the sequence starts above it.
+CREATE TABLE user_seq (
+       next_val BIGINT
+);
+INSERT INTO user_seq VALUES (1000);
+
+-- Append-only credit ledger, users.credits stays the materialized balance
+CREATE TABLE credit_transaction (
+       id BIGINT AUTO_INCREMENT PRIMARY KEY,
+       user_id BIGINT NOT NULL,
+       session_id BIGINT,
+       operation VARCHAR(50) NOT NULL,
+       delta INTEGER NOT NULL,
+       balance_after INTEGER,
+       -- operation:operationKey[:userId for batches], rejects concurrent retries of the same call
+       idempotency_key VARCHAR(191) UNIQUE,
+       created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+       INDEX idx_credit_transaction_session_user (session_id, user_id, id),
+       INDEX idx_credit_transaction_user (user_id, id),
+       INDEX idx_credit_transaction_created (created_at)
+);
+
+-- Ledger roll-up : balance = snapshot.balance + entries after last_transaction_id
+CREATE TABLE credit_balance_snapshot (
+       user_id BIGINT PRIMARY KEY,
+       balance INTEGER NOT NULL,
+       last_transaction_id BIGINT NOT NULL,
+       snapshot_at TIMESTAMP
+);
+
+-- Responses of internal credit calls by Idempotency-Key (PENDING while the call runs), purged after expires_at
+CREATE TABLE idempotency_record (
+       idempotency_key VARCHAR(100) PRIMARY KEY,
+       operation VARCHAR(50) NOT NULL,
+       status VARCHAR(20) NOT NULL,
+       response_body TEXT,
+       created_at DATETIME NOT NULL,
+       expires_at DATETIME NOT NULL,
+
+       INDEX idx_idempotency_record_expires (expires_at)
+);
@@ -29,4 +29,8 @@ VALUES ('user@gmail.com', '$2a$12$Z7E5G2ojHlZ7yfAr/5Bc7.4PAhZFSKvstTZC3eRwVHTIFd
 INSERT INTO users (email, password, role, status, first_name, last_name, phone_number, address_id, biography)
 VALUES ('teacher@gmail.com', '$2a$12$nAWuJmux7OG52rjGGkIwYuhzVVOdQ2bsQo7BvdYKLho/mG6h8gFiu', 'TEACHER', true, 'Jenna', 'Watkins', '512-422-887', 2, 'Experte en Kundalini et en yoga depuis 10 ans d\'expérience dans la méditation et l\'éveil spirituel.');
 
+-- Opening balances in the credit ledger
+INSERT INTO credit_transaction (user_id, operation, delta, balance_after)
+SELECT id, 'OPENING_BALANCE', credits, credits FROM users WHERE credits IS NOT NULL AND credits <> 0;
+
 COMMIT;
\ No newline at end of file
@@ -0,0 +1,19 @@
+package jroullet.mscoursemgmt.clients;
+
+import jroullet.mscoursemgmt.dto.credits.CreditOperationResponse;
+import jroullet.mscoursemgmt.dto.credits.SessionRegistrationDeductRequest;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+/**
+ * Internal credit endpoints of ms-identity used by the registration saga.
+ */
+@FeignClient(name = "ms-identity", contextId = "identityCreditClient", path = "/api/internal/credits")
+public interface IdentityCreditFeignClient {
+
+    @PostMapping("/session-registration-deduct")
+    CreditOperationResponse deductCreditsForSessionRegistration(@RequestHeader("Idempotency-Key") String idempotencyKey,
+                                                                @RequestBody SessionRegistrationDeductRequest request);
+}
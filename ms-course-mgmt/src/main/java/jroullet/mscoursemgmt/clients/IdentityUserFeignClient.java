@@ -0,0 +1,19 @@
+package jroullet.mscoursemgmt.clients;
+
+import jroullet.mscoursemgmt.dto.notification.NotificationUserDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * User lookups in ms-identity, used to address session notifications.
+ */
+@FeignClient(name = "ms-identity", contextId = "identityUserClient", path = "/api")
+public interface IdentityUserFeignClient {
+
+    @PostMapping("/users/basic-info")
+    List<NotificationUserDto> getUsersBasicInfo(@RequestBody Collection<Long> userIds);
+}
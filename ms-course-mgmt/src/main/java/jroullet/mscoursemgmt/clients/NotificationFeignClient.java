@@ -0,0 +1,14 @@
+package jroullet.mscoursemgmt.clients;
+
+import jroullet.mscoursemgmt.dto.notification.NotificationBatchRequest;
+import jroullet.mscoursemgmt.dto.notification.NotificationBatchResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+@FeignClient(name = "ms-notification", path = "/api/notifications")
+public interface NotificationFeignClient {
+
+    @PostMapping("/batch")
+    NotificationBatchResponse processNotificationBatch(@RequestBody NotificationBatchRequest request);
+}
@@ -1,6 +1,7 @@
 package jroullet.mscoursemgmt.controller.session;
 
 import jakarta.validation.Valid;
+import jroullet.mscoursemgmt.dto.session.SessionPageDTO;
 import jroullet.mscoursemgmt.dto.session.SessionWithParticipantsDTO;
 import jroullet.mscoursemgmt.dto.session.SessionUpdateDTO;
 import jroullet.mscoursemgmt.service.SessionService;
@@ -9,8 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequiredArgsConstructor
 @Slf4j
@@ -19,10 +18,13 @@ public class SessionAdminController {
 
     private final SessionService sessionService;
 
+    // Keyset paginated, most recent first
     @GetMapping("/all")
-    public ResponseEntity<List<SessionWithParticipantsDTO>> getAllSessionsForAdmin() {
-        log.info("Fetching all sessions");
-        List<SessionWithParticipantsDTO> sessions = sessionService.getAllSessionsForAdmin();
+    public ResponseEntity<SessionPageDTO<SessionWithParticipantsDTO>> getAllSessionsForAdmin(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching sessions page for admin");
+        SessionPageDTO<SessionWithParticipantsDTO> sessions = sessionService.getAllSessionsForAdmin(cursor, size);
         return ResponseEntity.ok(sessions);
     }
 
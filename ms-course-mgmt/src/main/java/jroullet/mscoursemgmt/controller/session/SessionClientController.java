@@ -3,8 +3,13 @@ package jroullet.mscoursemgmt.controller.session;
 import jakarta.validation.Valid;
 import jroullet.mscoursemgmt.dto.participant.AddParticipantRequest;
 import jroullet.mscoursemgmt.dto.participant.ParticipantOperationResponse;
+import jroullet.mscoursemgmt.dto.registration.RegistrationResponse;
+import jroullet.mscoursemgmt.dto.session.SessionCatalogFilter;
 import jroullet.mscoursemgmt.dto.session.SessionNoParticipantsDTO;
+import jroullet.mscoursemgmt.dto.session.SessionPageDTO;
+import jroullet.mscoursemgmt.model.Subject;
 import jroullet.mscoursemgmt.service.SessionParticipantService;
+import jroullet.mscoursemgmt.service.SessionRegistrationService;
 import jroullet.mscoursemgmt.service.SessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,15 +27,38 @@ public class SessionClientController {
 
     private final SessionService sessionService;
     private final SessionParticipantService sessionParticipantService;
+    private final SessionRegistrationService sessionRegistrationService;
 
     /**
      *  Client part
      */
-    // Displaying available sessions for client
+    // Displaying available sessions for client, keyset paginated, next sessions first
+    // Filters are applied in database : subject, online/IRL, remaining spots
     @GetMapping("/client/available")
-    public ResponseEntity<List<SessionNoParticipantsDTO>> getAvailableSessionsForClient() {
+    public ResponseEntity<SessionPageDTO<SessionNoParticipantsDTO>> getAvailableSessionsForClient(
+            @RequestParam(required = false) Subject subject,
+            @RequestParam(required = false) Boolean isOnline,
+            @RequestParam(defaultValue = "false") boolean onlyWithSpots,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         log.info("Fetching available sessions for client");
-        List<SessionNoParticipantsDTO> sessions = sessionService.getAvailableSessionsForClient();
+        SessionCatalogFilter filter = new SessionCatalogFilter(subject, isOnline, onlyWithSpots, null);
+        SessionPageDTO<SessionNoParticipantsDTO> sessions = sessionService.getAvailableSessionsForClient(filter, cursor, size);
+        return ResponseEntity.status(HttpStatus.OK).body(sessions);
+    }
+
+    // Same catalog without the sessions the participant is already registered to (excluded in database)
+    @GetMapping("/client/available/{participantId}")
+    public ResponseEntity<SessionPageDTO<SessionNoParticipantsDTO>> getAvailableSessionsForParticipant(
+            @PathVariable("participantId") Long participantId,
+            @RequestParam(required = false) Subject subject,
+            @RequestParam(required = false) Boolean isOnline,
+            @RequestParam(defaultValue = "false") boolean onlyWithSpots,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching available sessions for participant {}", participantId);
+        SessionCatalogFilter filter = new SessionCatalogFilter(subject, isOnline, onlyWithSpots, participantId);
+        SessionPageDTO<SessionNoParticipantsDTO> sessions = sessionService.getAvailableSessionsForClient(filter, cursor, size);
         return ResponseEntity.status(HttpStatus.OK).body(sessions);
     }
 
@@ -62,6 +90,19 @@ public class SessionClientController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Registers a client : seat reservation and credit deduction in one call (registration saga)
+     */
+    @PostMapping("/client/{sessionId}/registrations")
+    public ResponseEntity<RegistrationResponse> registerToSession(
+            @PathVariable Long sessionId,
+            @Valid @RequestBody AddParticipantRequest request) {
+
+        RegistrationResponse response = sessionRegistrationService.registerToSession(sessionId, request.userId());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     /**
      * Removes participant from a session (for cancellation)
      */
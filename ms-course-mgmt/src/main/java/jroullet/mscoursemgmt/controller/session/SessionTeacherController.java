@@ -31,6 +31,18 @@ public class SessionTeacherController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdSession);
     }
 
+    // Weekly recurring series, all occurrences are validated and created in one request
+    @PostMapping("/series")
+    public ResponseEntity<SessionSeriesCreationResponseDTO> createSessionSeries(@Valid @RequestBody SessionSeriesCreationDTO dto) {
+        log.info("Creating session series for teacher: {} on {} until {}",
+                dto.getSession().getTeacherId(), dto.getDaysOfWeek(), dto.getUntil());
+
+        SessionSeriesCreationResponseDTO createdSeries = sessionService.createSessionSeries(dto);
+        log.info("Session series created with {} sessions", createdSeries.getSessionIds().size());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdSeries);
+    }
+
     @PostMapping("/teacher/cancel")
     public ResponseEntity<Void> cancelSessionByTeacher(@RequestBody SessionCancelDTO dto) {
         sessionService.cancelSessionByTeacher(dto);
@@ -56,10 +68,14 @@ public class SessionTeacherController {
         return ResponseEntity.ok(sessions);
     }
 
+    // Keyset paginated, most recent first
     @GetMapping("/teacher/{teacherId}/past")
-    public ResponseEntity<List<SessionWithParticipantsDTO>> getHistorySessionsByTeacher(@PathVariable Long teacherId) {
+    public ResponseEntity<SessionPageDTO<SessionWithParticipantsDTO>> getHistorySessionsByTeacher(
+            @PathVariable Long teacherId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         log.info("Fetching past sessions for teacher: {}", teacherId);
-        List<SessionWithParticipantsDTO> sessions = sessionService.getHistorySessionsByTeacher(teacherId);
+        SessionPageDTO<SessionWithParticipantsDTO> sessions = sessionService.getHistorySessionsByTeacher(teacherId, cursor, size);
         return ResponseEntity.ok(sessions);
     }
 }
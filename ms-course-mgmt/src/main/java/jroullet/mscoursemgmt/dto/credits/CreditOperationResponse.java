@@ -0,0 +1,9 @@
+package jroullet.mscoursemgmt.dto.credits;
+
+public record CreditOperationResponse(
+        Long userId,
+        Integer previousCredits,
+        Integer newCredits,
+        String operation,
+        Long sessionId
+) {}
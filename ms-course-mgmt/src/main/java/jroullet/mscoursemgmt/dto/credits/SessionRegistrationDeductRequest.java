@@ -0,0 +1,8 @@
+package jroullet.mscoursemgmt.dto.credits;
+
+public record SessionRegistrationDeductRequest(
+        Long userId,
+        Long sessionId,
+        Integer creditsRequired,
+        String internalSecret
+) {}
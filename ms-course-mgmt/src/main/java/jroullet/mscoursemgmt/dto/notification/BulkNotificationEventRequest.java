@@ -0,0 +1,12 @@
+package jroullet.mscoursemgmt.dto.notification;
+
+import java.util.List;
+
+public record BulkNotificationEventRequest(
+        NotificationEventType eventType,
+        NotificationSessionDto session,
+        List<NotificationUserDto> recipients,
+        String internalSecret,
+        // Idempotency key, ms-notification queues each email of an event once
+        String eventKey
+) {}
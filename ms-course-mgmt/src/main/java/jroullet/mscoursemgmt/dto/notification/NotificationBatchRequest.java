@@ -0,0 +1,12 @@
+package jroullet.mscoursemgmt.dto.notification;
+
+import java.util.List;
+
+/**
+ * Several notification events sent to ms-notification in one call by SessionOutboxRelay
+ */
+public record NotificationBatchRequest(
+        List<NotificationEventRequest> events,
+        List<BulkNotificationEventRequest> bulkEvents,
+        String internalSecret
+) {}
@@ -0,0 +1,10 @@
+package jroullet.mscoursemgmt.dto.notification;
+
+import java.time.LocalDateTime;
+
+public record NotificationBatchResponse(
+        Integer receivedEvents,
+        Integer queuedNotifications,
+        Integer duplicateNotifications,
+        LocalDateTime queuedAt
+) {}
@@ -0,0 +1,13 @@
+package jroullet.mscoursemgmt.dto.notification;
+
+import java.util.List;
+
+public record NotificationEventRequest(
+        NotificationEventType eventType,
+        NotificationUserDto user,
+        NotificationSessionDto session,
+        List<NotificationUserDto> additionalParticipants,
+        String internalSecret,
+        // Idempotency key, ms-notification queues each email of an event once
+        String eventKey
+) {}
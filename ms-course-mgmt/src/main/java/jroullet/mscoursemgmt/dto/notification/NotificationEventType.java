@@ -0,0 +1,13 @@
+package jroullet.mscoursemgmt.dto.notification;
+
+/**
+ * Event types of ms-notification used for session lifecycle events
+ */
+public enum NotificationEventType {
+    SESSION_CANCELLED_TO_USER_NOTIFICATION,
+    SESSION_CANCELLED_TO_TEACHER_NOTIFICATION,
+    SESSION_MODIFIED_TO_USER_NOTIFICATION,
+    SESSION_MODIFIED_TO_TEACHER_NOTIFICATION,
+    SESSION_COMPLETED_TO_USER_NOTIFICATION,
+    SESSION_CREATED_TO_TEACHER_NOTIFICATION
+}
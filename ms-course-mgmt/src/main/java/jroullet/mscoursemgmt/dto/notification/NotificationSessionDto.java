@@ -0,0 +1,23 @@
+package jroullet.mscoursemgmt.dto.notification;
+
+import jroullet.mscoursemgmt.model.Subject;
+
+import java.time.LocalDateTime;
+
+public record NotificationSessionDto(
+        Long id,
+        Subject subject,
+        String description,
+        LocalDateTime startDateTime,
+        Integer durationMinutes,
+        String teacherFirstName,
+        String teacherLastName,
+        Boolean isOnline,
+        String roomName,
+        String postalCode,
+        String googleMapsLink,
+        Boolean bringYourMattress,
+        String zoomLink,
+        Integer creditsRequired,
+        String modificationSummary
+) {}
@@ -0,0 +1,11 @@
+package jroullet.mscoursemgmt.dto.notification;
+
+/**
+ * User information for notifications, same structure as UserParticipantDTO of ms-identity
+ */
+public record NotificationUserDto(
+        Long id,
+        String firstName,
+        String lastName,
+        String email
+) {}
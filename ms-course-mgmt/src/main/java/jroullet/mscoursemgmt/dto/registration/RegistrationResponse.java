@@ -0,0 +1,17 @@
+package jroullet.mscoursemgmt.dto.registration;
+
+import jroullet.mscoursemgmt.dto.session.SessionWithParticipantsDTO;
+
+/**
+ * Result of a completed registration saga.
+ * The session is returned so the caller can send its notifications without fetching it again.
+ */
+public record RegistrationResponse(
+        Long sagaId,
+        Long sessionId,
+        Long userId,
+        Integer newCredits,
+        Integer currentParticipantCount,
+        Integer availableSpots,
+        SessionWithParticipantsDTO session
+) {}
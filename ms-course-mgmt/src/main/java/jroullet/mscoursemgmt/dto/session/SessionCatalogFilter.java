@@ -0,0 +1,12 @@
+package jroullet.mscoursemgmt.dto.session;
+
+import jroullet.mscoursemgmt.model.Subject;
+
+// Optional client catalog filters, null means no filtering on that field
+// excludeParticipantId : sessions this user is already registered to are left out
+public record SessionCatalogFilter(
+        Subject subject,
+        Boolean isOnline,
+        boolean onlyWithSpots,
+        Long excludeParticipantId
+) {}
@@ -0,0 +1,34 @@
+package jroullet.mscoursemgmt.dto.session;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Weekly recurring series : the session template is repeated on the given days,
+ * at the template start time, from the template start date until the given date (inclusive)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSeriesCreationDTO {
+
+    @Valid
+    @NotNull(message = "Le modèle de session est obligatoire")
+    private SessionCreationWithTeacherDTO session;
+
+    @NotEmpty(message = "Choisissez au moins un jour de la semaine")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "La date de fin de la série est obligatoire")
+    private LocalDate until;
+}
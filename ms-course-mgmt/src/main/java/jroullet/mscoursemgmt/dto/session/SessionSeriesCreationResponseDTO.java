@@ -0,0 +1,18 @@
+package jroullet.mscoursemgmt.dto.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSeriesCreationResponseDTO {
+    private List<Long> sessionIds;
+    private LocalDateTime createdAt;
+}
@@ -116,6 +116,30 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    // 400 BAD REQUEST
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException e) {
+        log.error("Invalid pagination cursor: {}", e.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                "Invalid pagination cursor",
+                "INVALID_CURSOR",
+                HttpStatus.BAD_REQUEST
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    // 400 BAD REQUEST
+    @ExceptionHandler(InvalidSessionSeriesException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSessionSeriesException(InvalidSessionSeriesException e) {
+        log.error("Invalid session series: {}", e.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                e.getMessage(),
+                "INVALID_SESSION_SERIES",
+                HttpStatus.BAD_REQUEST
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     // 409 CONFLICT
     @ExceptionHandler(SessionFullException.class)
     public ResponseEntity<ErrorResponse> handleSessionFullException(SessionFullException e) {
@@ -170,6 +194,43 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    // 422 UNPROCESSABLE_ENTITY
+    @ExceptionHandler(InsufficientCreditsException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientCreditsException(InsufficientCreditsException e) {
+        log.error("Insufficient credits: {}", e.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                "Insufficient credits",
+                "INSUFFICIENT_CREDITS",
+                HttpStatus.UNPROCESSABLE_ENTITY
+        );
+        return ResponseEntity.status(422).body(error);
+    }
+
+    // 400 BAD REQUEST
+    @ExceptionHandler(RegistrationRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleRegistrationRejectedException(RegistrationRejectedException e) {
+        log.error("Registration rejected: {}", e.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                "Registration rejected",
+                "REGISTRATION_REJECTED",
+                HttpStatus.BAD_REQUEST
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    // 503 SERVICE UNAVAILABLE
+    @ExceptionHandler(RegistrationPendingException.class)
+    public ResponseEntity<ErrorResponse> handleRegistrationPendingException(RegistrationPendingException e) {
+        log.warn("Registration pending: {}", e.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                "Registration is being processed",
+                "REGISTRATION_PENDING",
+                HttpStatus.SERVICE_UNAVAILABLE,
+                Map.of("sagaId", e.getSagaId())
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     // 400 BAD REQUEST
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
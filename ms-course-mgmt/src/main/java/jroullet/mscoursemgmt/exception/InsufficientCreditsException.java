@@ -0,0 +1,15 @@
+package jroullet.mscoursemgmt.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InsufficientCreditsException extends RuntimeException {
+    private final Long userId;
+    private final Long sessionId;
+
+    public InsufficientCreditsException(Long userId, Long sessionId) {
+        super(String.format("User %d does not have enough credits for session %d", userId, sessionId));
+        this.userId = userId;
+        this.sessionId = sessionId;
+    }
+}
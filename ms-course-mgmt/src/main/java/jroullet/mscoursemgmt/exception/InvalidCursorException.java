@@ -0,0 +1,7 @@
+package jroullet.mscoursemgmt.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
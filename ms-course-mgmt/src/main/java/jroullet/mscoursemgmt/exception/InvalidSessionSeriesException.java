@@ -0,0 +1,7 @@
+package jroullet.mscoursemgmt.exception;
+
+public class InvalidSessionSeriesException extends RuntimeException {
+    public InvalidSessionSeriesException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package jroullet.mscoursemgmt.exception;
+
+import lombok.Getter;
+
+/**
+ * The seat is reserved but the credit deduction outcome is unknown,
+ * the registration saga is finished later by RegistrationSagaRecoveryJob.
+ */
+@Getter
+public class RegistrationPendingException extends RuntimeException {
+    private final Long sagaId;
+
+    public RegistrationPendingException(Long sagaId) {
+        super(String.format("Registration saga %d is pending credit confirmation", sagaId));
+        this.sagaId = sagaId;
+    }
+}
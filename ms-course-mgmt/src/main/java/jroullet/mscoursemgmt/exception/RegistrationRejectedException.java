@@ -0,0 +1,7 @@
+package jroullet.mscoursemgmt.exception;
+
+public class RegistrationRejectedException extends RuntimeException {
+    public RegistrationRejectedException(String message) {
+        super(message);
+    }
+}
@@ -14,21 +14,25 @@ public interface SessionMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "teacherId", ignore = true)
-    @Mapping(target = "participantIds", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "endDateTime", ignore = true)
+    @Mapping(target = "participantCount", ignore = true)
     @Mapping(target = "status", expression = "java(jroullet.mscoursemgmt.model.session.SessionStatus.SCHEDULED)")
     Session toEntity(SessionCreationWithTeacherDTO dto);
 
 
     @Mapping(target = "id", ignore = true)
-    @Mapping(target = "participantIds", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "endDateTime", ignore = true)
+    @Mapping(target = "participantCount", ignore = true)
     @Mapping(target = "status", expression = "java(jroullet.mscoursemgmt.model.session.SessionStatus.SCHEDULED)")
     Session toCreateEntity(SessionCreationWithTeacherDTO dto);
 
-    @Mapping(target = "registeredParticipants", expression = "java(session.getParticipantIds().size())")
+    // participantIds are filled by the caller from SessionParticipantRepository when needed (single session only)
+    @Mapping(target = "registeredParticipants", source = "participantCount")
+    @Mapping(target = "participantIds", ignore = true)
     @Mapping(target = "endDateTime", expression = "java(session.getStartDateTime().plusMinutes(session.getDurationMinutes()))")
     @Mapping(target = "statusDisplay", expression = "java(session.getStatus().getDisplayName())")
     SessionWithParticipantsDTO toDTO(Session session);
@@ -37,15 +41,16 @@ public interface SessionMapper {
     // No return needed
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "teacherId", ignore = true)
-    @Mapping(target = "participantIds", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", expression = "java(java.time.LocalDateTime.now())")
+    @Mapping(target = "endDateTime", ignore = true)
+    @Mapping(target = "participantCount", ignore = true)
     @Mapping(target = "status", ignore = true)
     void updateSessionFromDto(SessionUpdateDTO dto, @MappingTarget Session session);
 
 
     // Used to display session information to the client
-    @Mapping(target = "registeredParticipants", expression = "java(session.getParticipantIds() != null ? session.getParticipantIds().size() : 0)")
+    @Mapping(target = "registeredParticipants", source = "participantCount")
     @Mapping(target = "isUserRegistered", ignore = true)
     @Mapping(target = "status", source = "session.status") // For history purpose
     SessionNoParticipantsDTO toSessionGetClientResponseDTO(Session session);
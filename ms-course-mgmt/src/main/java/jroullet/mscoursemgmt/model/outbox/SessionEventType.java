@@ -0,0 +1,8 @@
+package jroullet.mscoursemgmt.model.outbox;
+
+public enum SessionEventType {
+    CREATED,
+    MODIFIED,
+    CANCELLED,
+    COMPLETED
+}
@@ -0,0 +1,50 @@
+package jroullet.mscoursemgmt.model.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Session lifecycle event waiting to be published to ms-notification.
+ * Only the session id is stored, the relay reads the session and its participants when publishing.
+ */
+@Entity
+@Table(name = "session_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private SessionEventType eventType;
+
+    // MODIFIED only : changed fields, as shown in the email
+    @Column(name = "modification_summary", length = 500)
+    private String modificationSummary;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    // Lease of the relay instance publishing the row, null when free
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
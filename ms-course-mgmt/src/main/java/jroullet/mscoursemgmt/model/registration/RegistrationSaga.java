@@ -0,0 +1,58 @@
+package jroullet.mscoursemgmt.model.registration;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saga log entry of one client registration.
+ * The id is part of the Idempotency-Key sent to ms-identity, so a resent deduction is applied once.
+ */
+@Entity
+@Table(name = "registration_saga")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationSaga {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "credits", nullable = false)
+    private Integer credits;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RegistrationSagaStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "new_credits")
+    private Integer newCredits;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public String deductIdempotencyKey() {
+        return "registration-saga:" + id + ":deduct";
+    }
+}
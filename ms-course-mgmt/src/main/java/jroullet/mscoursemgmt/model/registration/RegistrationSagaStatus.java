@@ -0,0 +1,12 @@
+package jroullet.mscoursemgmt.model.registration;
+
+public enum RegistrationSagaStatus {
+    // Seat and participant row committed, credit deduction not confirmed yet
+    SEAT_RESERVED,
+    // Credits deducted, registration done
+    COMPLETED,
+    // Credit deduction rejected, seat released
+    COMPENSATED,
+    // Credit outcome still unknown after all recovery attempts, seat kept for manual handling
+    FAILED
+}
@@ -5,14 +5,16 @@ import jroullet.mscoursemgmt.model.Subject;
 import lombok.Data;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Entity
 @Table(name = "session")
 @Data
 public class Session {
+    // Pooled-lo sequence instead of IDENTITY : ids are allocated in blocks, inserts can be batched.
+    // Block size fixed here : Hibernate only takes it from the mapping, a setting would need a custom generator
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_seq")
+    @SequenceGenerator(name = "session_seq", sequenceName = "session_seq", allocationSize = 50)
     private Long id;
 
     private Long teacherId;
@@ -39,19 +41,21 @@ public class Session {
     private String zoomLink;
 
     private Integer availableSpots;
+
+    // Maintained on participant add/remove, participants live in SessionParticipant
+    @Column(name = "participant_count", nullable = false)
+    private Integer participantCount = 0;
+
     private LocalDateTime startDateTime;
     private Integer durationMinutes;
+
+    // Generated by the database (start_date_time + duration_minutes), read only
+    @Column(name = "end_date_time", insertable = false, updatable = false)
+    private LocalDateTime endDateTime;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Integer creditsRequired;
 
-    @ElementCollection
-    @CollectionTable(
-            name = "session_participants",
-            joinColumns = @JoinColumn(name = "session_id")
-    )
-    @Column(name = "participant_id")
-    private List<Long> participantIds;
-
     private Boolean bringYourMattress;
 }
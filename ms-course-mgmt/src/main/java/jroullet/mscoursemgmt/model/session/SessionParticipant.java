@@ -0,0 +1,26 @@
+package jroullet.mscoursemgmt.model.session;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One registration of a user to a session.
+ * Written and deleted row by row, the Session entity holds no participant collection.
+ */
+@Entity
+@Table(name = "session_participants")
+@IdClass(SessionParticipantId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionParticipant {
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Id
+    @Column(name = "participant_id")
+    private Long participantId;
+}
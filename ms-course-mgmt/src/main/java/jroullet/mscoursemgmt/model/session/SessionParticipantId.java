@@ -0,0 +1,15 @@
+package jroullet.mscoursemgmt.model.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionParticipantId implements Serializable {
+    private Long sessionId;
+    private Long participantId;
+}
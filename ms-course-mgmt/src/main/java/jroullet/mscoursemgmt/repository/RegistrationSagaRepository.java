@@ -0,0 +1,45 @@
+package jroullet.mscoursemgmt.repository;
+
+import jroullet.mscoursemgmt.model.registration.RegistrationSaga;
+import jroullet.mscoursemgmt.model.registration.RegistrationSagaStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RegistrationSagaRepository extends JpaRepository<RegistrationSaga, Long> {
+
+    // Oldest first, sagas still in flight on the request thread are excluded by the updatedAt bound
+    @Query("SELECT s FROM RegistrationSaga s WHERE s.status = :status AND s.updatedAt < :before ORDER BY s.updatedAt, s.id")
+    List<RegistrationSaga> findStale(@Param("status") RegistrationSagaStatus status,
+                                     @Param("before") LocalDateTime before,
+                                     Pageable pageable);
+
+    /**
+     * Moves a saga out of `from` only if it is still there : the request thread and the recovery job
+     * may both finish the same saga, only the first transition is applied.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RegistrationSaga s SET s.status = :to, s.newCredits = :newCredits, s.lastError = :lastError, s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") RegistrationSagaStatus from,
+                   @Param("to") RegistrationSagaStatus to,
+                   @Param("newCredits") Integer newCredits,
+                   @Param("lastError") String lastError,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RegistrationSaga s SET s.attempts = s.attempts + 1, s.lastError = :lastError, s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.status = :status")
+    int recordFailedAttempt(@Param("id") Long id,
+                            @Param("status") RegistrationSagaStatus status,
+                            @Param("lastError") String lastError,
+                            @Param("now") LocalDateTime now);
+}
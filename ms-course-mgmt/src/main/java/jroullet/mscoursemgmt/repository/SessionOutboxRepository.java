@@ -0,0 +1,40 @@
+package jroullet.mscoursemgmt.repository;
+
+import jroullet.mscoursemgmt.model.outbox.SessionOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SessionOutboxRepository extends JpaRepository<SessionOutboxEvent, Long> {
+
+    /**
+     * Oldest free rows, rows locked by another relay instance are skipped instead of waited for.
+     * Must run in a transaction, the lease is taken with claim() before it commits.
+     */
+    @Query(value = "SELECT id FROM session_outbox " +
+            "WHERE attempts < :maxAttempts AND (claimed_until IS NULL OR claimed_until < :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockClaimableIds(@Param("maxAttempts") int maxAttempts,
+                                @Param("now") LocalDateTime now,
+                                @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE SessionOutboxEvent e SET e.claimedUntil = :claimedUntil, e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("UPDATE SessionOutboxEvent e SET e.claimedUntil = NULL, e.lastError = :lastError WHERE e.id IN :ids")
+    int release(@Param("ids") Collection<Long> ids, @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("DELETE FROM SessionOutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,33 @@
+package jroullet.mscoursemgmt.repository;
+
+import jroullet.mscoursemgmt.model.session.SessionParticipant;
+import jroullet.mscoursemgmt.model.session.SessionParticipantId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SessionParticipantRepository extends JpaRepository<SessionParticipant, SessionParticipantId> {
+
+    boolean existsBySessionIdAndParticipantId(Long sessionId, Long participantId);
+
+    @Query("SELECT sp.participantId FROM SessionParticipant sp WHERE sp.sessionId = :sessionId ORDER BY sp.participantId")
+    List<Long> findParticipantIdsBySessionId(@Param("sessionId") Long sessionId);
+
+    List<SessionParticipant> findBySessionIdIn(Collection<Long> sessionIds);
+
+    // Plain INSERT : save() would merge and SELECT first because the id is assigned
+    @Modifying
+    @Query(value = "INSERT INTO session_participants (session_id, participant_id) VALUES (:sessionId, :participantId)",
+            nativeQuery = true)
+    int insertParticipant(@Param("sessionId") Long sessionId, @Param("participantId") Long participantId);
+
+    @Modifying
+    @Query("DELETE FROM SessionParticipant sp WHERE sp.sessionId = :sessionId AND sp.participantId = :participantId")
+    int deleteParticipant(@Param("sessionId") Long sessionId, @Param("participantId") Long participantId);
+}
@@ -1,8 +1,11 @@
 package jroullet.mscoursemgmt.repository;
 
+import jroullet.mscoursemgmt.model.Subject;
 import jroullet.mscoursemgmt.model.session.Session;
 import jroullet.mscoursemgmt.model.session.SessionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,8 +21,35 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
      */
     List<Session> findSessionByTeacherId(Long teacherId);
 
-    // Time conflicting sessions for teacher
-    List<Session> findByTeacherIdAndStartDateTimeBetween(Long teacherId, LocalDateTime sessionStart, LocalDateTime sessionEnd);
+    /**
+     * Time conflicting sessions for teacher : interval overlap (start < newEnd AND end > newStart).
+     * earliestStart (newStart - max duration) bounds the range scan on idx_session_teacher_start,
+     * the probe stops at the first match and never materializes entities.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM session s " +
+            "WHERE s.teacher_id = :teacherId AND s.status = 'SCHEDULED' " +
+            "AND s.start_date_time > :earliestStart AND s.start_date_time < :sessionEnd " +
+            "AND s.end_date_time > :sessionStart " +
+            "AND (:excludeSessionId IS NULL OR s.id <> :excludeSessionId))", nativeQuery = true)
+    Long overlapProbe(@Param("teacherId") Long teacherId,
+                      @Param("earliestStart") LocalDateTime earliestStart,
+                      @Param("sessionStart") LocalDateTime sessionStart,
+                      @Param("sessionEnd") LocalDateTime sessionEnd,
+                      @Param("excludeSessionId") Long excludeSessionId);
+
+    default boolean existsOverlappingSession(Long teacherId, LocalDateTime earliestStart, LocalDateTime sessionStart,
+                                             LocalDateTime sessionEnd, Long excludeSessionId) {
+        Long found = overlapProbe(teacherId, earliestStart, sessionStart, sessionEnd, excludeSessionId);
+        return found != null && found > 0;
+    }
+
+    // Teacher calendar window, a whole recurring series is validated against it in one query
+    @Query(value = "SELECT s FROM Session s WHERE s.teacherId = :teacherId AND s.status = :status " +
+            "AND s.startDateTime > :windowStart AND s.startDateTime < :windowEnd")
+    List<Session> findByTeacherIdAndStatusInWindow(@Param("teacherId") Long teacherId,
+                                                   @Param("status") SessionStatus status,
+                                                   @Param("windowStart") LocalDateTime windowStart,
+                                                   @Param("windowEnd") LocalDateTime windowEnd);
 
     /** Upcoming sessions */
     // Next sessions are first
@@ -27,27 +57,54 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     List<Session> findByTeacherIdAndStatusOrderByStartDateTimeAsc(@Param("teacherId") Long teacherId,
                                                                   @Param("status") SessionStatus status);
 
-    /** History sessions */
+    /** History sessions, keyset paginated on (startDateTime, id) */
     // Most recent sessions are first
-    @Query(value = "SELECT s FROM Session s WHERE s.teacherId = :teacherId AND s.status != :status ORDER BY s.startDateTime DESC")
+    @Query(value = "SELECT s FROM Session s WHERE s.teacherId = :teacherId AND s.status != :status ORDER BY s.startDateTime DESC, s.id DESC")
     List<Session> findByTeacherIdAndStatusNotOrderByStartDateTimeDesc(@Param("teacherId") Long teacherId,
-                                                                      @Param("status") SessionStatus status);
+                                                                      @Param("status") SessionStatus status,
+                                                                      Pageable pageable);
 
-    /** FindAll sessions by teacher*/
-    //General usage
-    @Query(value = "SELECT s FROM Session s WHERE s.teacherId = :teacherId ORDER BY s.startDateTime DESC")
-    List<Session> findByTeacherIdOrderByStartDateTimeDesc(@Param("teacherId") Long teacherId);
+    @Query(value = "SELECT s FROM Session s WHERE s.teacherId = :teacherId AND s.status != :status " +
+            "AND (s.startDateTime < :cursorStart OR (s.startDateTime = :cursorStart AND s.id < :cursorId)) " +
+            "ORDER BY s.startDateTime DESC, s.id DESC")
+    List<Session> findHistoryPageByTeacherIdBefore(@Param("teacherId") Long teacherId,
+                                                   @Param("status") SessionStatus status,
+                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
 
-    /** Next Available sessions for clients */
-    @Query(value = "SELECT s FROM Session s WHERE s.status = :status AND s.startDateTime > :now ORDER BY s.startDateTime ASC")
-    List<Session> findByStatusAndStartDateTimeAfterOrderByStartDateTimeAsc(@Param("status") SessionStatus status,
-                                                                           @Param("now") LocalDateTime now);
+    /** Available sessions catalog for clients, keyset paginated on (startDateTime, id) */
+    // Range scan on (status, start_date_time) : startDateTime >= fromStart, ties broken on id
+    // First page : fromStart = now, afterId = Long.MAX_VALUE (strictly after now)
+    // excludeParticipantId : anti-join probing the session_participants primary key for each candidate row
+    @Query(value = "SELECT s FROM Session s WHERE s.status = :status " +
+            "AND s.startDateTime >= :fromStart AND (s.startDateTime > :fromStart OR s.id > :afterId) " +
+            "AND (:subject IS NULL OR s.subject = :subject) " +
+            "AND (:isOnline IS NULL OR s.isOnline = :isOnline) " +
+            "AND (:onlyWithSpots = false OR s.participantCount < s.availableSpots) " +
+            "AND (:excludeParticipantId IS NULL OR NOT EXISTS (SELECT 1 FROM SessionParticipant sp " +
+            "WHERE sp.sessionId = s.id AND sp.participantId = :excludeParticipantId)) " +
+            "ORDER BY s.startDateTime ASC, s.id ASC")
+    List<Session> findCatalogPage(@Param("status") SessionStatus status,
+                                  @Param("fromStart") LocalDateTime fromStart,
+                                  @Param("afterId") Long afterId,
+                                  @Param("subject") Subject subject,
+                                  @Param("isOnline") Boolean isOnline,
+                                  @Param("onlyWithSpots") boolean onlyWithSpots,
+                                  @Param("excludeParticipantId") Long excludeParticipantId,
+                                  Pageable pageable);
 
-    @Query(value = "SELECT s FROM Session s ORDER BY s.startDateTime DESC")
-    List<Session> findAllOrderByStartDateTimeDesc();
+    /** All sessions for admin, keyset paginated on (startDateTime, id) */
+    // Most recent sessions are first
+    @Query(value = "SELECT s FROM Session s ORDER BY s.startDateTime DESC, s.id DESC")
+    List<Session> findAllFirstPage(Pageable pageable);
 
-    @Query(value = "SELECT s FROM Session s WHERE s.status = :sessionStatus ORDER BY s.startDateTime ASC")
-    List<Session> findByStatusOrderByStartDateTimeAsc(@Param("sessionStatus") SessionStatus sessionStatus);
+    @Query(value = "SELECT s FROM Session s " +
+            "WHERE s.startDateTime < :cursorStart OR (s.startDateTime = :cursorStart AND s.id < :cursorId) " +
+            "ORDER BY s.startDateTime DESC, s.id DESC")
+    List<Session> findAllPageBefore(@Param("cursorStart") LocalDateTime cursorStart,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
 
     /** Upcoming sessions for clients */
     @Query(value = "SELECT * FROM session s INNER JOIN session_participants sp ON s.id = sp.session_id WHERE sp.participant_id = :participantId AND s.status = 'SCHEDULED' ORDER BY s.start_date_time ASC", nativeQuery = true)
@@ -56,4 +113,41 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     /** History : COMPLETED + CANCELLED sessions */
     @Query(value = "SELECT * FROM session s INNER JOIN session_participants sp ON s.id = sp.session_id WHERE sp.participant_id = :participantId AND s.status IN ('COMPLETED', 'CANCELLED') ORDER BY s.start_date_time DESC", nativeQuery = true)
     List<Session> findByParticipantIdOrderByStartDateTimeDesc(@Param("participantId") Long participantId);
+
+    /** Completion sweeper : locks the ended scheduled sessions so their COMPLETED events are written once */
+    @Query(value = "SELECT id FROM session WHERE status = 'SCHEDULED' AND end_date_time < :now FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockEndedSessionIds(@Param("now") LocalDateTime now);
+
+    /** Completion sweeper : single set-based update on ended scheduled sessions */
+    @Modifying
+    @Query(value = "UPDATE Session s SET s.status = :completed WHERE s.status = :scheduled AND s.endDateTime < :now")
+    int completeEndedSessions(@Param("scheduled") SessionStatus scheduled,
+                              @Param("completed") SessionStatus completed,
+                              @Param("now") LocalDateTime now);
+
+    /** Participant counter reconciliation : recomputes drifted participant_count from session_participants */
+    @Modifying
+    @Query(value = "UPDATE session s " +
+            "LEFT JOIN (SELECT session_id, COUNT(*) AS total FROM session_participants GROUP BY session_id) sp ON sp.session_id = s.id " +
+            "SET s.participant_count = COALESCE(sp.total, 0) " +
+            "WHERE s.participant_count <> COALESCE(sp.total, 0)", nativeQuery = true)
+    int reconcileParticipantCounts();
+
+    /**
+     * Seat reservation : capacity is checked and consumed in one conditional UPDATE (row locked),
+     * participant rows are written through SessionParticipantRepository
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Session s SET s.participantCount = s.participantCount + 1 " +
+            "WHERE s.id = :sessionId AND s.participantCount < s.availableSpots")
+    int reserveSeat(@Param("sessionId") Long sessionId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Session s SET s.participantCount = s.participantCount - 1 " +
+            "WHERE s.id = :sessionId AND s.participantCount > 0")
+    int releaseSeat(@Param("sessionId") Long sessionId);
+
+    @Query("SELECT s.participantCount FROM Session s WHERE s.id = :sessionId")
+    Integer findParticipantCountById(@Param("sessionId") Long sessionId);
 }
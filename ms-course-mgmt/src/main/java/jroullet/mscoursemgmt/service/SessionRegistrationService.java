@@ -0,0 +1,9 @@
+package jroullet.mscoursemgmt.service;
+
+import jroullet.mscoursemgmt.dto.registration.RegistrationResponse;
+
+public interface SessionRegistrationService {
+
+    RegistrationResponse registerToSession(Long sessionId, Long userId);
+    int recoverStaleSagas();
+}
@@ -13,18 +13,19 @@ public interface SessionService {
 
      //Teacher methods
     SessionCreationResponseDTO createSession(SessionCreationWithTeacherDTO dto);
+    SessionSeriesCreationResponseDTO createSessionSeries(SessionSeriesCreationDTO dto);
     List<SessionWithParticipantsDTO> getUpcomingSessionsByTeacher(Long teacherId);
-    List<SessionWithParticipantsDTO> getHistorySessionsByTeacher(Long teacherId);
+    SessionPageDTO<SessionWithParticipantsDTO> getHistorySessionsByTeacher(Long teacherId, String cursor, int size);
     void cancelSessionByTeacher(SessionCancelDTO dto);
     SessionWithParticipantsDTO updateSessionByTeacher(Long sessionId, Long teacherId, SessionUpdateDTO sessionUpdateDTO);
 
     //Admin methods
     SessionWithParticipantsDTO updateSessionByAdmin(Long id, SessionUpdateDTO dto);
     void cancelSessionByAdmin(Long sessionId);
-    List<SessionWithParticipantsDTO> getAllSessionsForAdmin();
+    SessionPageDTO<SessionWithParticipantsDTO> getAllSessionsForAdmin(String cursor, int size);
 
     //Client methods
-    List<SessionNoParticipantsDTO> getAvailableSessionsForClient();
+    SessionPageDTO<SessionNoParticipantsDTO> getAvailableSessionsForClient(SessionCatalogFilter filter, String cursor, int size);
     List<SessionNoParticipantsDTO> getUpcomingSessionsForClient(Long participantId);
     List<SessionNoParticipantsDTO> getPastSessionsForClient(Long participantId);
 }
@@ -6,18 +6,24 @@ import jroullet.mscoursemgmt.exception.SessionNotFoundException;
 import jroullet.mscoursemgmt.exception.InvalidSessionStateException;
 import jroullet.mscoursemgmt.exception.UnauthorizedSessionAccessException;
 import jroullet.mscoursemgmt.mapper.SessionMapper;
+import jroullet.mscoursemgmt.model.outbox.SessionEventType;
 import jroullet.mscoursemgmt.model.session.Session;
 import jroullet.mscoursemgmt.model.session.SessionStatus;
+import jroullet.mscoursemgmt.repository.SessionParticipantRepository;
 import jroullet.mscoursemgmt.repository.SessionRepository;
 import jroullet.mscoursemgmt.service.SessionService;
+import jroullet.mscoursemgmt.service.utils.SessionCursor;
 import jroullet.mscoursemgmt.service.utils.SessionJobManagement;
+import jroullet.mscoursemgmt.service.utils.SessionOutbox;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 
@@ -27,8 +33,13 @@ import static java.util.stream.Collectors.toList;
 public class SessionImplService implements SessionService {
 
     private final SessionRepository sessionRepository;
+    private final SessionParticipantRepository sessionParticipantRepository;
     private final SessionMapper sessionMapper;
     private final SessionJobManagement sessionJobManagement;
+    private final SessionOutbox sessionOutbox;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     /**
      * Teacher part
@@ -37,7 +48,9 @@ public class SessionImplService implements SessionService {
     public SessionWithParticipantsDTO getSessionById(Long sessionId) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new SessionNotFoundException("Session not found with ID: " + sessionId));
-        return sessionMapper.toDTO(session);
+        SessionWithParticipantsDTO dto = sessionMapper.toDTO(session);
+        dto.setParticipantIds(sessionParticipantRepository.findParticipantIdsBySessionId(sessionId));
+        return dto;
     }
 
     /**
@@ -70,10 +83,9 @@ public class SessionImplService implements SessionService {
         // Defining missing fields
         session.setCreatedAt(LocalDateTime.now());
         session.setUpdatedAt(LocalDateTime.now());
-        session.setParticipantIds(new ArrayList<>());
 
         Session savedSession = sessionRepository.save(session);
-
+        sessionOutbox.record(savedSession.getId(), SessionEventType.CREATED);
 
         return SessionCreationResponseDTO.builder()
                 .sessionId(savedSession.getId())
@@ -81,6 +93,33 @@ public class SessionImplService implements SessionService {
                 .build();
     }
 
+    @Override
+    public SessionSeriesCreationResponseDTO createSessionSeries(SessionSeriesCreationDTO dto) {
+
+        List<LocalDateTime> occurrences = sessionJobManagement.validateSeriesCreation(dto);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Session> sessions = occurrences.stream()
+                .map(startDateTime -> {
+                    Session session = sessionMapper.toCreateEntity(dto.getSession());
+                    session.setStartDateTime(startDateTime);
+                    session.setCreatedAt(now);
+                    session.setUpdatedAt(now);
+                    return session;
+                })
+                .toList();
+
+        // Ids come from the pooled sequence, inserts are flushed as JDBC batches
+        List<Long> sessionIds = sessionRepository.saveAll(sessions).stream().map(Session::getId).toList();
+        // One CREATED event per session of the series, like sessions created one by one
+        sessionOutbox.recordAll(sessionIds, SessionEventType.CREATED);
+
+        return SessionSeriesCreationResponseDTO.builder()
+                .sessionIds(sessionIds)
+                .createdAt(now)
+                .build();
+    }
+
     @Override
     public SessionWithParticipantsDTO updateSessionByTeacher(Long sessionId, Long requestingUserId, SessionUpdateDTO sessionUpdateDTO) {
         SessionWithParticipantsDTO sessionWithParticipantsDTO = getSessionById(sessionId);
@@ -97,9 +136,6 @@ public class SessionImplService implements SessionService {
     @Override
     public List<SessionWithParticipantsDTO> getUpcomingSessionsByTeacher(Long teacherId) {
 
-        // Update completed sessions before fetching all sessions
-        sessionJobManagement.updateCompletedSessions();
-
         return sessionRepository.findByTeacherIdAndStatusOrderByStartDateTimeAsc(teacherId, SessionStatus.SCHEDULED)
                 .stream()
                 .map(sessionMapper::toDTO)
@@ -107,12 +143,17 @@ public class SessionImplService implements SessionService {
     }
 
     @Override
-    public List<SessionWithParticipantsDTO> getHistorySessionsByTeacher(Long teacherId) {
-        return sessionRepository.findByTeacherIdOrderByStartDateTimeDesc(teacherId)
-                .stream()
-                .filter(session -> session.getStatus() != SessionStatus.SCHEDULED)
-                .map(sessionMapper::toDTO)
-                .collect(toList());
+    public SessionPageDTO<SessionWithParticipantsDTO> getHistorySessionsByTeacher(Long teacherId, String cursor, int size) {
+        SessionCursor position = SessionCursor.decode(cursor);
+        int pageSize = boundedPageSize(size);
+
+        List<Session> rows = position == null
+                ? sessionRepository.findByTeacherIdAndStatusNotOrderByStartDateTimeDesc(
+                        teacherId, SessionStatus.SCHEDULED, pageWindow(pageSize))
+                : sessionRepository.findHistoryPageByTeacherIdBefore(
+                        teacherId, SessionStatus.SCHEDULED, position.startDateTime(), position.id(), pageWindow(pageSize));
+
+        return toPage(rows, pageSize, sessionMapper::toDTO);
     }
 
     @Override
@@ -133,21 +174,22 @@ public class SessionImplService implements SessionService {
 
         session.setStatus(SessionStatus.CANCELLED);
         sessionRepository.save(session);
+        sessionOutbox.record(session.getId(), SessionEventType.CANCELLED);
     }
 
     /**
      * Admin part
      */
     @Override
-    public List<SessionWithParticipantsDTO> getAllSessionsForAdmin() {
+    public SessionPageDTO<SessionWithParticipantsDTO> getAllSessionsForAdmin(String cursor, int size) {
+        SessionCursor position = SessionCursor.decode(cursor);
+        int pageSize = boundedPageSize(size);
 
-        // Update completed sessions before fetching all sessions
-        sessionJobManagement.updateCompletedSessions();
+        List<Session> rows = position == null
+                ? sessionRepository.findAllFirstPage(pageWindow(pageSize))
+                : sessionRepository.findAllPageBefore(position.startDateTime(), position.id(), pageWindow(pageSize));
 
-        List<Session> sessions = sessionRepository.findAllOrderByStartDateTimeDesc();
-        return sessions.stream()
-                .map(sessionMapper::toDTO)
-                .collect(toList());
+        return toPage(rows, pageSize, sessionMapper::toDTO);
     }
 
     @Override
@@ -168,26 +210,33 @@ public class SessionImplService implements SessionService {
         session.setStatus(SessionStatus.CANCELLED);
 
         sessionRepository.save(session);
+        sessionOutbox.record(session.getId(), SessionEventType.CANCELLED);
     }
 
     /**
      * Client part
      */
     @Override
-    public List<SessionNoParticipantsDTO> getAvailableSessionsForClient() {
+    public SessionPageDTO<SessionNoParticipantsDTO> getAvailableSessionsForClient(SessionCatalogFilter filter, String cursor, int size) {
         LocalDateTime now = LocalDateTime.now();
+        SessionCursor position = SessionCursor.decode(cursor);
+        int pageSize = boundedPageSize(size);
+
+        // Seek position : strictly after the cursor, never before now.
+        // A cursor that fell behind now keeps its id tiebreak, only its time is moved up to now
+        LocalDateTime fromStart = now;
+        Long afterId = Long.MAX_VALUE;
+        if (position != null) {
+            fromStart = position.startDateTime().isAfter(now) ? position.startDateTime() : now;
+            afterId = position.id();
+        }
 
-        sessionJobManagement.updateCompletedSessions();
-
-        List<Session> sessions = sessionRepository
-                .findByStatusOrderByStartDateTimeAsc(SessionStatus.SCHEDULED)
-                .stream()
-                .filter(session -> session.getStartDateTime().isAfter(now))
-                .toList();
+        List<Session> rows = sessionRepository.findCatalogPage(
+                SessionStatus.SCHEDULED, fromStart, afterId,
+                filter.subject(), filter.isOnline(), filter.onlyWithSpots(), filter.excludeParticipantId(),
+                pageWindow(pageSize));
 
-        return sessions.stream()
-                .map(sessionMapper::toSessionGetClientResponseDTO)
-                .toList();
+        return toPage(rows, pageSize, sessionMapper::toSessionGetClientResponseDTO);
     }
 
     @Override
@@ -212,4 +261,30 @@ public class SessionImplService implements SessionService {
                 .map(sessionMapper::toSessionGetClientResponseDTO)
                 .collect(toList());
     }
+
+    /**
+     * Keyset pagination helpers
+     */
+    private int boundedPageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // One extra row is fetched to know if a next page exists
+    private Pageable pageWindow(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    private <T> SessionPageDTO<T> toPage(List<Session> rows, int pageSize, Function<Session, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<Session> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return SessionPageDTO.<T>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .nextCursor(hasNext ? SessionCursor.of(pageRows.get(pageRows.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
 }
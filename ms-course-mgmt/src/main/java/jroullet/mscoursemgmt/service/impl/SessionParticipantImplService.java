@@ -3,15 +3,17 @@ package jroullet.mscoursemgmt.service.impl;
 import jroullet.mscoursemgmt.dto.participant.ParticipantOperationResponse;
 import jroullet.mscoursemgmt.exception.*;
 import jroullet.mscoursemgmt.model.session.Session;
+import jroullet.mscoursemgmt.repository.SessionParticipantRepository;
 import jroullet.mscoursemgmt.repository.SessionRepository;
 import jroullet.mscoursemgmt.service.SessionParticipantService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @Slf4j
@@ -19,40 +21,44 @@ import java.util.ArrayList;
 public class SessionParticipantImplService implements SessionParticipantService {
 
     private final SessionRepository sessionRepository;
+    private final SessionParticipantRepository sessionParticipantRepository;
     private static final int CANCELLATION_CUTOFF_HOURS = 48;
 
     /**
      * Adds participant to session with business validations
+     * The seat is taken by a conditional UPDATE on participant_count, concurrent registrations
+     * are serialized on the session row so the session can never be oversold
      */
     @Transactional
     public ParticipantOperationResponse addParticipantToSession(Long sessionId, Long userId) {
         log.info("Adding participant {} to session {}", userId, sessionId);
 
-        Session session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new SessionNotFoundException("Session not found with ID: " + sessionId));
+        Session session = findSession(sessionId);
 
-        validateSessionNotFull(session);
-        validateUserNotAlreadyRegistered(session, userId);
+        validateUserNotAlreadyRegistered(sessionId, userId);
+        reserveSeat(session);
 
-        // Initialize participant list if null
-        if (session.getParticipantIds() == null) {
-            session.setParticipantIds(new ArrayList<>());
+        try {
+            sessionParticipantRepository.insertParticipant(sessionId, userId);
+        } catch (DataIntegrityViolationException e) {
+            // Concurrent registration of the same user, the seat reservation is rolled back with the transaction
+            log.warn("User {} already registered for session {} (concurrent registration)", userId, sessionId);
+            throw new UserAlreadyRegisteredException(userId, sessionId);
         }
 
-        session.getParticipantIds().add(userId);
-        sessionRepository.save(session);
+        List<Long> participantIds = sessionParticipantRepository.findParticipantIdsBySessionId(sessionId);
 
         log.info("Participant {} successfully added to session {}. New count: {}/{}",
-                userId, sessionId, session.getParticipantIds().size(), session.getAvailableSpots());
+                userId, sessionId, participantIds.size(), session.getAvailableSpots());
 
         return new ParticipantOperationResponse(
                 sessionId,
                 userId,
                 "ADD_PARTICIPANT",
                 LocalDateTime.now(),
-                session.getParticipantIds().size(),
+                participantIds.size(),
                 session.getAvailableSpots(),
-                new ArrayList<>(session.getParticipantIds())
+                participantIds
         );
     }
 
@@ -63,29 +69,37 @@ public class SessionParticipantImplService implements SessionParticipantService
     public ParticipantOperationResponse removeParticipantFromSession(Long sessionId, Long userId) {
         log.info("Removing participant {} from session {}", userId, sessionId);
 
-        Session session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new SessionNotFoundException("Session not found with ID: " + sessionId));
+        Session session = findSession(sessionId);
 
         validateCancellationDeadline(session);
-        validateUserIsRegistered(session, userId);
 
-        session.getParticipantIds().remove(userId);
-        sessionRepository.save(session);
+        if (sessionParticipantRepository.deleteParticipant(sessionId, userId) == 0) {
+            log.warn("User {} is not registered for session {}", userId, sessionId);
+            throw new UserNotRegisteredException(userId, sessionId);
+        }
+        sessionRepository.releaseSeat(sessionId);
+
+        List<Long> participantIds = sessionParticipantRepository.findParticipantIdsBySessionId(sessionId);
 
         log.info("Participant {} successfully removed from session {}. New count: {}/{}",
-                userId, sessionId, session.getParticipantIds().size(), session.getAvailableSpots());
+                userId, sessionId, participantIds.size(), session.getAvailableSpots());
 
         return new ParticipantOperationResponse(
                 sessionId,
                 userId,
                 "REMOVE_PARTICIPANT",
                 LocalDateTime.now(),
-                session.getParticipantIds().size(),
+                participantIds.size(),
                 session.getAvailableSpots(),
-                new ArrayList<>(session.getParticipantIds())
+                participantIds
         );
     }
 
+    private Session findSession(Long sessionId) {
+        return sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new SessionNotFoundException("Session not found with ID: " + sessionId));
+    }
+
     private void validateCancellationDeadline(Session session) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime cutoffDateTime = session.getStartDateTime().minusHours(CANCELLATION_CUTOFF_HOURS);
@@ -97,27 +111,19 @@ public class SessionParticipantImplService implements SessionParticipantService
         }
     }
 
-    private void validateSessionNotFull(Session session) {
-        int currentCount = session.getParticipantIds() != null ? session.getParticipantIds().size() : 0;
-
-        if (currentCount >= session.getAvailableSpots()) {
-            log.warn("Session {} is full. Current: {}/{}",
-                    session.getId(), currentCount, session.getAvailableSpots());
-            throw new SessionFullException(session.getId(), currentCount, session.getAvailableSpots());
-        }
-    }
-
-    private void validateUserNotAlreadyRegistered(Session session, Long userId) {
-        if (session.getParticipantIds() != null && session.getParticipantIds().contains(userId)) {
-            log.warn("User {} already registered for session {}", userId, session.getId());
-            throw new UserAlreadyRegisteredException(userId, session.getId());
+    private void reserveSeat(Session session) {
+        if (sessionRepository.reserveSeat(session.getId()) == 0) {
+            // The loaded session may predate concurrent registrations, read the count the UPDATE saw
+            Integer participantCount = sessionRepository.findParticipantCountById(session.getId());
+            log.warn("Session {} is full. Current: {}/{}", session.getId(), participantCount, session.getAvailableSpots());
+            throw new SessionFullException(session.getId(), participantCount, session.getAvailableSpots());
         }
     }
 
-    private void validateUserIsRegistered(Session session, Long userId) {
-        if (session.getParticipantIds() == null || !session.getParticipantIds().contains(userId)) {
-            log.warn("User {} is not registered for session {}", userId, session.getId());
-            throw new UserNotRegisteredException(userId, session.getId());
+    private void validateUserNotAlreadyRegistered(Long sessionId, Long userId) {
+        if (sessionParticipantRepository.existsBySessionIdAndParticipantId(sessionId, userId)) {
+            log.warn("User {} already registered for session {}", userId, sessionId);
+            throw new UserAlreadyRegisteredException(userId, sessionId);
         }
     }
 }
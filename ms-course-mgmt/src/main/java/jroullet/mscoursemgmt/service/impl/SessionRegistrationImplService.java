@@ -0,0 +1,208 @@
+package jroullet.mscoursemgmt.service.impl;
+
+import feign.FeignException;
+import jroullet.mscoursemgmt.clients.IdentityCreditFeignClient;
+import jroullet.mscoursemgmt.dto.credits.CreditOperationResponse;
+import jroullet.mscoursemgmt.dto.credits.SessionRegistrationDeductRequest;
+import jroullet.mscoursemgmt.dto.registration.RegistrationResponse;
+import jroullet.mscoursemgmt.dto.session.SessionWithParticipantsDTO;
+import jroullet.mscoursemgmt.exception.*;
+import jroullet.mscoursemgmt.model.registration.RegistrationSaga;
+import jroullet.mscoursemgmt.model.registration.RegistrationSagaStatus;
+import jroullet.mscoursemgmt.model.session.Session;
+import jroullet.mscoursemgmt.repository.RegistrationSagaRepository;
+import jroullet.mscoursemgmt.repository.SessionParticipantRepository;
+import jroullet.mscoursemgmt.repository.SessionRepository;
+import jroullet.mscoursemgmt.service.SessionParticipantService;
+import jroullet.mscoursemgmt.service.SessionRegistrationService;
+import jroullet.mscoursemgmt.service.SessionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Orchestrates a client registration as a two-step saga logged in registration_saga :
+ * 1. local transaction : seat + participant row + saga entry (SEAT_RESERVED)
+ * 2. credit deduction in ms-identity, keyed by the saga id so it can be resent safely
+ * A rejected deduction compensates step 1, an unknown outcome is left to RegistrationSagaRecoveryJob.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SessionRegistrationImplService implements SessionRegistrationService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final SessionRepository sessionRepository;
+    private final SessionParticipantRepository sessionParticipantRepository;
+    private final RegistrationSagaRepository registrationSagaRepository;
+    private final SessionParticipantService sessionParticipantService;
+    private final SessionService sessionService;
+    private final IdentityCreditFeignClient identityCreditFeignClient;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.internal.secret}")
+    private String internalSecret;
+
+    // Recovery must end well within the Idempotency-Key retention of ms-identity (24h)
+    @Value("${app.registration.saga.stale-after-seconds:120}")
+    private long staleAfterSeconds;
+
+    @Value("${app.registration.saga.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.registration.saga.recovery-batch-size:50}")
+    private int recoveryBatchSize;
+
+    @Override
+    public RegistrationResponse registerToSession(Long sessionId, Long userId) {
+        log.info("Starting registration saga for user {} to session {}", userId, sessionId);
+
+        RegistrationSaga saga = transactionTemplate.execute(status -> reserveSeat(sessionId, userId));
+
+        try {
+            CreditOperationResponse credit = deductCredits(saga);
+            complete(saga, credit.newCredits());
+
+            SessionWithParticipantsDTO session = sessionService.getSessionById(sessionId);
+            log.info("Registration saga {} completed. User {} registered to session {}, credits left: {}",
+                    saga.getId(), userId, sessionId, credit.newCredits());
+
+            return new RegistrationResponse(
+                    saga.getId(),
+                    sessionId,
+                    userId,
+                    credit.newCredits(),
+                    session.getRegisteredParticipants(),
+                    session.getAvailableSpots(),
+                    session
+            );
+        } catch (FeignException e) {
+            if (isRejected(e)) {
+                compensate(saga, e);
+                if (e.status() == 422) {
+                    throw new InsufficientCreditsException(userId, sessionId);
+                }
+                throw new RegistrationRejectedException("Credit deduction rejected with status " + e.status());
+            }
+            recordFailedAttempt(saga, e);
+            throw new RegistrationPendingException(saga.getId());
+        }
+    }
+
+    /**
+     * Resends the deduction of sagas stuck in SEAT_RESERVED with their original Idempotency-Key.
+     * Returns the number of sagas completed or compensated.
+     */
+    @Override
+    public int recoverStaleSagas() {
+        List<RegistrationSaga> staleSagas = registrationSagaRepository.findStale(
+                RegistrationSagaStatus.SEAT_RESERVED,
+                LocalDateTime.now().minusSeconds(staleAfterSeconds),
+                PageRequest.of(0, recoveryBatchSize));
+
+        int settled = 0;
+        for (RegistrationSaga saga : staleSagas) {
+            if (saga.getAttempts() >= maxAttempts) {
+                // Credits may have been deducted, the seat is kept and the saga left for manual handling
+                transactionTemplate.executeWithoutResult(status -> registrationSagaRepository.transition(
+                        saga.getId(), RegistrationSagaStatus.SEAT_RESERVED, RegistrationSagaStatus.FAILED,
+                        null, saga.getLastError(), LocalDateTime.now()));
+                log.error("Registration saga {} failed after {} attempts (user {}, session {}, {} credits)",
+                        saga.getId(), saga.getAttempts(), saga.getUserId(), saga.getSessionId(), saga.getCredits());
+                continue;
+            }
+            try {
+                CreditOperationResponse credit = deductCredits(saga);
+                complete(saga, credit.newCredits());
+                settled++;
+            } catch (FeignException e) {
+                if (isRejected(e)) {
+                    compensate(saga, e);
+                    settled++;
+                } else {
+                    recordFailedAttempt(saga, e);
+                }
+            }
+        }
+        return settled;
+    }
+
+    // Step 1, runs in the template transaction
+    private RegistrationSaga reserveSeat(Long sessionId, Long userId) {
+        Session session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new SessionNotFoundException("Session not found with ID: " + sessionId));
+
+        try {
+            sessionParticipantService.addParticipantToSession(sessionId, userId);
+        } catch (SessionFullException e) {
+            // 423 for the client, 409 is already used for duplicate registrations
+            throw new InsufficientSpotsException(e.getMessage());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return registrationSagaRepository.save(RegistrationSaga.builder()
+                .sessionId(sessionId)
+                .userId(userId)
+                .credits(session.getCreditsRequired())
+                .status(RegistrationSagaStatus.SEAT_RESERVED)
+                .attempts(0)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    // Step 2, outside any local transaction
+    private CreditOperationResponse deductCredits(RegistrationSaga saga) {
+        SessionRegistrationDeductRequest request = new SessionRegistrationDeductRequest(
+                saga.getUserId(), saga.getSessionId(), saga.getCredits(), internalSecret);
+        return identityCreditFeignClient.deductCreditsForSessionRegistration(saga.deductIdempotencyKey(), request);
+    }
+
+    private void complete(RegistrationSaga saga, Integer newCredits) {
+        Integer updated = transactionTemplate.execute(status -> registrationSagaRepository.transition(
+                saga.getId(), RegistrationSagaStatus.SEAT_RESERVED, RegistrationSagaStatus.COMPLETED,
+                newCredits, null, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            log.warn("Registration saga {} was already settled", saga.getId());
+        }
+    }
+
+    // Compensation of step 1, only applied by whoever moves the saga out of SEAT_RESERVED
+    private void compensate(RegistrationSaga saga, FeignException cause) {
+        log.warn("Credit deduction rejected for saga {} (status {}), releasing seat of user {} in session {}",
+                saga.getId(), cause.status(), saga.getUserId(), saga.getSessionId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            int moved = registrationSagaRepository.transition(saga.getId(), RegistrationSagaStatus.SEAT_RESERVED,
+                    RegistrationSagaStatus.COMPENSATED, null, describe(cause), LocalDateTime.now());
+            if (moved == 1 && sessionParticipantRepository.deleteParticipant(saga.getSessionId(), saga.getUserId()) == 1) {
+                sessionRepository.releaseSeat(saga.getSessionId());
+            }
+        });
+    }
+
+    private void recordFailedAttempt(RegistrationSaga saga, FeignException cause) {
+        log.warn("Credit deduction outcome unknown for saga {}: {}", saga.getId(), cause.getMessage());
+        transactionTemplate.executeWithoutResult(status -> registrationSagaRepository.recordFailedAttempt(
+                saga.getId(), RegistrationSagaStatus.SEAT_RESERVED, describe(cause), LocalDateTime.now()));
+    }
+
+    // 4xx answers are final (insufficient credits, unknown user...), timeouts and 5xx may be retried.
+    // 409 : ms-identity is still running a deduction with this key, its outcome is unknown yet
+    private boolean isRejected(FeignException e) {
+        return e.status() >= 400 && e.status() < 500
+                && e.status() != 408 && e.status() != 409 && e.status() != 429;
+    }
+
+    private String describe(FeignException e) {
+        String message = e.status() + " " + e.getMessage();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
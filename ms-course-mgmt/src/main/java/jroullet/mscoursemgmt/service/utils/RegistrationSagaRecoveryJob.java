@@ -0,0 +1,50 @@
+package jroullet.mscoursemgmt.service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jroullet.mscoursemgmt.service.SessionRegistrationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finishes registration sagas left in SEAT_RESERVED (ms-identity unreachable, instance stopped mid-saga...).
+ *
+ * Metrics:
+ * - registrations.saga.recovered : sagas completed or compensated by the job
+ * - registrations.saga.recovery.failures : ticks that failed
+ */
+@Component
+@Slf4j
+public class RegistrationSagaRecoveryJob {
+
+    private final SessionRegistrationService sessionRegistrationService;
+    private final Counter recovered;
+    private final Counter recoveryFailures;
+
+    public RegistrationSagaRecoveryJob(SessionRegistrationService sessionRegistrationService, MeterRegistry meterRegistry) {
+        this.sessionRegistrationService = sessionRegistrationService;
+        this.recovered = Counter.builder("registrations.saga.recovered")
+                .description("Registration sagas settled by the recovery job")
+                .register(meterRegistry);
+        this.recoveryFailures = Counter.builder("registrations.saga.recovery.failures")
+                .description("Failed recovery job ticks")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.registration.saga.recovery-interval-ms:60000}",
+            initialDelayString = "${app.registration.saga.recovery-initial-delay-ms:30000}")
+    public void recoverStaleSagas() {
+        try {
+            int settled = sessionRegistrationService.recoverStaleSagas();
+            recovered.increment(settled);
+
+            if (settled > 0) {
+                log.info("Registration saga recovery: {} saga(s) settled", settled);
+            }
+        } catch (Exception e) {
+            recoveryFailures.increment();
+            log.error("Registration saga recovery failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package jroullet.mscoursemgmt.service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background sweeper moving ended SCHEDULED sessions to COMPLETED.
+ * Read endpoints no longer trigger any write, the status is kept up to date by this job.
+ *
+ * Metrics:
+ * - sessions.completion.sweep.transitioned : rows transitioned per tick (distribution)
+ * - sessions.completion.sweep.total : total rows transitioned since startup
+ * - sessions.completion.sweep.failures : ticks that failed
+ */
+@Component
+@Slf4j
+public class SessionCompletionScheduler {
+
+    private final SessionJobManagement sessionJobManagement;
+    private final DistributionSummary transitionedPerTick;
+    private final Counter transitionedTotal;
+    private final Counter sweepFailures;
+
+    public SessionCompletionScheduler(SessionJobManagement sessionJobManagement, MeterRegistry meterRegistry) {
+        this.sessionJobManagement = sessionJobManagement;
+        this.transitionedPerTick = DistributionSummary.builder("sessions.completion.sweep.transitioned")
+                .description("Sessions moved to COMPLETED per sweeper tick")
+                .register(meterRegistry);
+        this.transitionedTotal = Counter.builder("sessions.completion.sweep.total")
+                .description("Sessions moved to COMPLETED since startup")
+                .register(meterRegistry);
+        this.sweepFailures = Counter.builder("sessions.completion.sweep.failures")
+                .description("Failed sweeper ticks")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sessions.completion-sweep.interval-ms:60000}",
+            initialDelayString = "${app.sessions.completion-sweep.initial-delay-ms:10000}")
+    public void completeEndedSessions() {
+        try {
+            int transitioned = sessionJobManagement.updateCompletedSessions();
+            transitionedPerTick.record(transitioned);
+            transitionedTotal.increment(transitioned);
+
+            if (transitioned > 0) {
+                log.info("Completion sweep: {} session(s) moved to COMPLETED", transitioned);
+            }
+        } catch (Exception e) {
+            sweepFailures.increment();
+            log.error("Completion sweep failed: {}", e.getMessage());
+        }
+    }
+}
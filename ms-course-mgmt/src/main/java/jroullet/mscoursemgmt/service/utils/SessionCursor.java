@@ -0,0 +1,47 @@
+package jroullet.mscoursemgmt.service.utils;
+
+import jroullet.mscoursemgmt.exception.InvalidCursorException;
+import jroullet.mscoursemgmt.model.session.Session;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset (seek) position on (startDateTime, id).
+ * Encoded as an opaque url-safe token, clients only pass it back as received.
+ */
+public record SessionCursor(LocalDateTime startDateTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static SessionCursor of(Session session) {
+        return new SessionCursor(session.getStartDateTime(), session.getId());
+    }
+
+    public String encode() {
+        String raw = startDateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a missing cursor (first page)
+    public static SessionCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidCursorException("Malformed cursor: " + cursor);
+            }
+            return new SessionCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.valueOf(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor: " + cursor);
+        }
+    }
+}
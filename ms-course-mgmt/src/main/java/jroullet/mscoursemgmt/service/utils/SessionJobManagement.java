@@ -1,20 +1,26 @@
 package jroullet.mscoursemgmt.service.utils;
 
 import jroullet.mscoursemgmt.dto.session.SessionCreationWithTeacherDTO;
+import jroullet.mscoursemgmt.dto.session.SessionSeriesCreationDTO;
 import jroullet.mscoursemgmt.dto.session.SessionWithParticipantsDTO;
 import jroullet.mscoursemgmt.dto.session.SessionUpdateDTO;
 import jroullet.mscoursemgmt.exception.*;
 import jroullet.mscoursemgmt.mapper.SessionMapper;
+import jroullet.mscoursemgmt.model.outbox.SessionEventType;
 import jroullet.mscoursemgmt.model.session.Session;
 import jroullet.mscoursemgmt.model.session.SessionStatus;
 import jroullet.mscoursemgmt.repository.SessionRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-
-import static java.util.stream.Collectors.toList;
+import java.util.Objects;
+import java.util.Set;
 
 @Component
 @AllArgsConstructor
@@ -22,22 +28,37 @@ public class SessionJobManagement {
 
     private final SessionRepository sessionRepository;
     private final SessionMapper sessionMapper;
+    private final SessionOutbox sessionOutbox;
+
+    // Same bound as @Max on durationMinutes in the creation/update DTOs
+    private static final int MAX_SESSION_DURATION_MINUTES = 300;
+    private static final int MAX_SERIES_OCCURRENCES = 100;
 
     /**
      * Updates the status of sessions that have ended to 'COMPLETED'.
-     * This method could be called periodically (e.g., via a scheduled cron job for improvement).
+     * Single set-based update on the indexed (status, end_date_time) range, called by SessionCompletionScheduler.
+     * The ended rows are locked first so a concurrent sweep cannot write their COMPLETED events twice.
+     * Returns the number of sessions transitioned.
      */
-    public void updateCompletedSessions() {
+    @Transactional
+    public int updateCompletedSessions() {
         LocalDateTime now = LocalDateTime.now();
-        List<Session> sessionsToComplete = sessionRepository.findAll().stream()
-                .filter(s -> s.getStatus() == SessionStatus.SCHEDULED)
-                .filter(s -> s.getStartDateTime().plusMinutes(s.getDurationMinutes()).isBefore(now))
-                .collect(toList());
-
-        sessionsToComplete.forEach(s -> s.setStatus(SessionStatus.COMPLETED));
-        if (!sessionsToComplete.isEmpty()) {
-            sessionRepository.saveAll(sessionsToComplete);
+        List<Long> endedSessionIds = sessionRepository.lockEndedSessionIds(now);
+        if (endedSessionIds.isEmpty()) {
+            return 0;
         }
+        int transitioned = sessionRepository.completeEndedSessions(SessionStatus.SCHEDULED, SessionStatus.COMPLETED, now);
+        sessionOutbox.recordAll(endedSessionIds, SessionEventType.COMPLETED);
+        return transitioned;
+    }
+
+    /**
+     * Recomputes participant_count from session_participants for drifted rows.
+     * Called by SessionParticipantCountReconciler, returns the number of sessions fixed.
+     */
+    @Transactional
+    public int reconcileParticipantCounts() {
+        return sessionRepository.reconcileParticipantCounts();
     }
 
     /**
@@ -53,14 +74,60 @@ public class SessionJobManagement {
             throw new SessionStartingTimeException("Session start time cannot be in the past");
         }
         //Verify session is not overlapping another session
-        List<Session> conflictingSessions = sessionRepository
-                .findByTeacherIdAndStartDateTimeBetween(dto.getTeacherId(), sessionStart, sessionEnd);
-
-        if (!conflictingSessions.isEmpty()) {
+        if (hasOverlappingSession(dto.getTeacherId(), sessionStart, sessionEnd, null)) {
             throw new SessionOverlappingTimeException("A session already exists at this time for the teacher");
         }
     }
 
+    /**
+     * Session series creation
+     * Expands the weekly pattern and validates every occurrence against the teacher's calendar,
+     * fetched once for the whole series window. Returns the occurrence start times.
+     */
+    public List<LocalDateTime> validateSeriesCreation(SessionSeriesCreationDTO dto) {
+        SessionCreationWithTeacherDTO template = dto.getSession();
+        List<LocalDateTime> occurrences = expandWeekly(template.getStartDateTime(), dto.getDaysOfWeek(), dto.getUntil());
+
+        if (occurrences.isEmpty()) {
+            throw new InvalidSessionSeriesException("The series does not contain any session");
+        }
+        if (occurrences.get(0).isBefore(LocalDateTime.now())) {
+            throw new SessionStartingTimeException("Session start time cannot be in the past");
+        }
+
+        int durationMinutes = template.getDurationMinutes();
+        LocalDateTime windowStart = occurrences.get(0).minusMinutes(MAX_SESSION_DURATION_MINUTES);
+        LocalDateTime windowEnd = occurrences.get(occurrences.size() - 1).plusMinutes(durationMinutes);
+
+        List<Session> calendar = sessionRepository.findByTeacherIdAndStatusInWindow(
+                template.getTeacherId(), SessionStatus.SCHEDULED, windowStart, windowEnd);
+
+        for (LocalDateTime start : occurrences) {
+            LocalDateTime end = start.plusMinutes(durationMinutes);
+            boolean overlapping = calendar.stream().anyMatch(existing ->
+                    existing.getStartDateTime().isBefore(end)
+                            && existing.getStartDateTime().plusMinutes(existing.getDurationMinutes()).isAfter(start));
+            if (overlapping) {
+                throw new SessionOverlappingTimeException("A session already exists on " + start + " for the teacher");
+            }
+        }
+        return occurrences;
+    }
+
+    private List<LocalDateTime> expandWeekly(LocalDateTime firstStart, Set<DayOfWeek> daysOfWeek, LocalDate until) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+
+        for (LocalDate day = firstStart.toLocalDate(); !day.isAfter(until); day = day.plusDays(1)) {
+            if (daysOfWeek.contains(day.getDayOfWeek())) {
+                occurrences.add(day.atTime(firstStart.toLocalTime()));
+            }
+            if (occurrences.size() > MAX_SERIES_OCCURRENCES) {
+                throw new InvalidSessionSeriesException("A series is limited to " + MAX_SERIES_OCCURRENCES + " sessions");
+            }
+        }
+        return occurrences;
+    }
+
     /**
      * Session Update Method
      */
@@ -95,24 +162,69 @@ public class SessionJobManagement {
         // session object now contains sessionDTO data
         // Save changes in entity
         Session savedSession = sessionRepository.save(session);
-        return sessionMapper.toDTO(savedSession);
+        SessionWithParticipantsDTO updatedSession = sessionMapper.toDTO(savedSession);
+        updatedSession.setParticipantIds(sessionWithParticipantsDTO.getParticipantIds());
+
+        // Participants and teacher are only notified of changes visible in the emails
+        String modificationSummary = buildModificationSummary(sessionWithParticipantsDTO, updatedSession);
+        if (modificationSummary != null) {
+            sessionOutbox.record(savedSession.getId(), SessionEventType.MODIFIED, modificationSummary);
+        }
+        return updatedSession;
+    }
+
+    /**
+     * Changed fields shown in the "session modified" email, null when nothing significant changed
+     */
+    public String buildModificationSummary(SessionWithParticipantsDTO original, SessionWithParticipantsDTO updated) {
+        List<String> changes = new ArrayList<>();
+
+        if (!Objects.equals(original.getStartDateTime(), updated.getStartDateTime())) {
+            changes.add("Date et heure");
+        }
+        if (!Objects.equals(original.getDescription(), updated.getDescription())) {
+            changes.add("Description");
+        }
+        if (!Objects.equals(original.getIsOnline(), updated.getIsOnline())) {
+            changes.add("Mode de session");
+        }
+        if (!Objects.equals(original.getDurationMinutes(), updated.getDurationMinutes())) {
+            changes.add("Durée");
+        }
+
+        if (Boolean.TRUE.equals(updated.getIsOnline())) {
+            if (!Objects.equals(original.getZoomLink(), updated.getZoomLink())) {
+                changes.add("Lien Zoom");
+            }
+        } else {
+            if (!Objects.equals(original.getRoomName(), updated.getRoomName())) {
+                changes.add("Lieu de la session");
+            }
+            if (!Objects.equals(original.getGoogleMapsLink(), updated.getGoogleMapsLink())) {
+                changes.add("Localisation GPS");
+            }
+            if (!Objects.equals(original.getBringYourMattress(), updated.getBringYourMattress())) {
+                changes.add("Matériel requis");
+            }
+        }
+
+        return changes.isEmpty() ? null : String.join(", ", changes);
     }
 
     private void validateTimeConflicts(Long teacherId, LocalDateTime startDateTime, Integer durationMinutes, Long excludeSessionId) {
         LocalDateTime endDateTime = startDateTime.plusMinutes(durationMinutes);
 
-        List<Session> conflictingSessions = sessionRepository
-                .findByTeacherIdAndStartDateTimeBetween(teacherId, startDateTime, endDateTime)
-                .stream()
-                .filter(s -> !s.getId().equals(excludeSessionId))
-                .filter(s -> s.getStatus() == SessionStatus.SCHEDULED)
-                .toList();
-
-        if (!conflictingSessions.isEmpty()) {
+        if (hasOverlappingSession(teacherId, startDateTime, endDateTime, excludeSessionId)) {
             throw new SessionOverlappingTimeException("Teacher has overlapping sessions at this time");
         }
     }
 
+    // Sessions overlapping [start, end[ can only start after start - max duration
+    private boolean hasOverlappingSession(Long teacherId, LocalDateTime start, LocalDateTime end, Long excludeSessionId) {
+        return sessionRepository.existsOverlappingSession(
+                teacherId, start.minusMinutes(MAX_SESSION_DURATION_MINUTES), start, end, excludeSessionId);
+    }
+
     private void cleanConflictingSessionFields(Session session) {
         // Clean fields that are not applicable based on session type
         if (session.getIsOnline()) {
@@ -126,8 +238,8 @@ public class SessionJobManagement {
     }
 
     private void validateCreditsModification(SessionWithParticipantsDTO currentSession, SessionUpdateDTO sessionUpdateDTO) {
-        int participantsCount = currentSession.getParticipantIds() != null ?
-                currentSession.getParticipantIds().size() : 0;
+        int participantsCount = currentSession.getRegisteredParticipants() != null ?
+                currentSession.getRegisteredParticipants() : 0;
 
         if (participantsCount > 0 &&
                 !currentSession.getCreditsRequired().equals(sessionUpdateDTO.getCreditsRequired())) {
@@ -0,0 +1,81 @@
+package jroullet.mscoursemgmt.service.utils;
+
+import jroullet.mscoursemgmt.model.outbox.SessionEventType;
+import jroullet.mscoursemgmt.model.outbox.SessionOutboxEvent;
+import jroullet.mscoursemgmt.repository.SessionOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes session lifecycle events to session_outbox and hands them over to SessionOutboxRelay.
+ * Events are recorded in the transaction of the session change : both commit or roll back together.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final SessionOutboxRepository sessionOutboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long sessionId, SessionEventType eventType) {
+        record(sessionId, eventType, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long sessionId, SessionEventType eventType, String modificationSummary) {
+        sessionOutboxRepository.save(newEvent(sessionId, eventType, modificationSummary, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(Collection<Long> sessionIds, SessionEventType eventType) {
+        LocalDateTime now = LocalDateTime.now();
+        sessionOutboxRepository.saveAll(sessionIds.stream()
+                .map(sessionId -> newEvent(sessionId, eventType, null, now))
+                .toList());
+    }
+
+    /**
+     * Claims up to `limit` free events for `leaseSeconds` and returns them.
+     * The row locks only live for this short transaction, publishing happens outside of it.
+     */
+    @Transactional
+    public List<SessionOutboxEvent> claim(int limit, int maxAttempts, long leaseSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = sessionOutboxRepository.lockClaimableIds(maxAttempts, now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        sessionOutboxRepository.claim(ids, now.plusSeconds(leaseSeconds));
+        return sessionOutboxRepository.findAllById(ids);
+    }
+
+    @Transactional
+    public void acknowledge(Collection<Long> ids) {
+        sessionOutboxRepository.deleteByIds(ids);
+    }
+
+    // Frees the rows for the next relay tick, the attempt was counted when claiming
+    @Transactional
+    public void release(Collection<Long> ids, String error) {
+        String lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        sessionOutboxRepository.release(ids, lastError);
+    }
+
+    private SessionOutboxEvent newEvent(Long sessionId, SessionEventType eventType, String modificationSummary, LocalDateTime now) {
+        return SessionOutboxEvent.builder()
+                .sessionId(sessionId)
+                .eventType(eventType)
+                .modificationSummary(modificationSummary)
+                .attempts(0)
+                .createdAt(now)
+                .build();
+    }
+}
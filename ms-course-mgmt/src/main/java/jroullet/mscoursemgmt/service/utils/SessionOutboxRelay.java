@@ -0,0 +1,205 @@
+package jroullet.mscoursemgmt.service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jroullet.mscoursemgmt.clients.IdentityUserFeignClient;
+import jroullet.mscoursemgmt.clients.NotificationFeignClient;
+import jroullet.mscoursemgmt.dto.notification.*;
+import jroullet.mscoursemgmt.model.outbox.SessionOutboxEvent;
+import jroullet.mscoursemgmt.model.session.Session;
+import jroullet.mscoursemgmt.model.session.SessionParticipant;
+import jroullet.mscoursemgmt.repository.SessionParticipantRepository;
+import jroullet.mscoursemgmt.repository.SessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes session_outbox rows to ms-notification.
+ * Each tick claims a batch (several instances share the work through SKIP LOCKED), resolves every
+ * recipient with one ms-identity call and sends all events in one ms-notification call.
+ * ms-notification only queues the emails and answers right away, the call does not wait for SMTP.
+ * Rows are deleted once published, a failed batch is released and published again : every event carries
+ * the id of its row as idempotency key, ms-notification skips the emails it already queued.
+ *
+ * Metrics:
+ * - sessions.outbox.published : events handed over to ms-notification
+ * - sessions.outbox.relay.failures : batches that failed and were released
+ */
+@Component
+@Slf4j
+public class SessionOutboxRelay {
+
+    private final SessionOutbox sessionOutbox;
+    private final SessionRepository sessionRepository;
+    private final SessionParticipantRepository sessionParticipantRepository;
+    private final IdentityUserFeignClient identityUserFeignClient;
+    private final NotificationFeignClient notificationFeignClient;
+    private final Counter published;
+    private final Counter relayFailures;
+
+    @Value("${app.internal.secret}")
+    private String internalSecret;
+
+    @Value("${app.sessions.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.sessions.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    // Longer than a publish call, an expired lease makes the rows claimable again
+    @Value("${app.sessions.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    public SessionOutboxRelay(SessionOutbox sessionOutbox,
+                              SessionRepository sessionRepository,
+                              SessionParticipantRepository sessionParticipantRepository,
+                              IdentityUserFeignClient identityUserFeignClient,
+                              NotificationFeignClient notificationFeignClient,
+                              MeterRegistry meterRegistry) {
+        this.sessionOutbox = sessionOutbox;
+        this.sessionRepository = sessionRepository;
+        this.sessionParticipantRepository = sessionParticipantRepository;
+        this.identityUserFeignClient = identityUserFeignClient;
+        this.notificationFeignClient = notificationFeignClient;
+        this.published = Counter.builder("sessions.outbox.published")
+                .description("Session events published to ms-notification")
+                .register(meterRegistry);
+        this.relayFailures = Counter.builder("sessions.outbox.relay.failures")
+                .description("Outbox batches that failed to publish")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sessions.outbox.relay-interval-ms:5000}",
+            initialDelayString = "${app.sessions.outbox.relay-initial-delay-ms:15000}")
+    public void relay() {
+        List<SessionOutboxEvent> events;
+        try {
+            events = sessionOutbox.claim(batchSize, maxAttempts, leaseSeconds);
+        } catch (Exception e) {
+            relayFailures.increment();
+            log.error("Outbox claim failed: {}", e.getMessage());
+            return;
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = events.stream().map(SessionOutboxEvent::getId).toList();
+        try {
+            NotificationBatchRequest request = buildBatch(events);
+            if (!request.events().isEmpty() || !request.bulkEvents().isEmpty()) {
+                notificationFeignClient.processNotificationBatch(request);
+            }
+            sessionOutbox.acknowledge(ids);
+            published.increment(events.size());
+            log.info("Outbox relay: {} session event(s) published", events.size());
+        } catch (Exception e) {
+            relayFailures.increment();
+            sessionOutbox.release(ids, e.getMessage());
+            log.error("Outbox relay failed for {} event(s): {}", events.size(), e.getMessage());
+        }
+    }
+
+    private NotificationBatchRequest buildBatch(List<SessionOutboxEvent> events) {
+        Set<Long> sessionIds = events.stream().map(SessionOutboxEvent::getSessionId).collect(Collectors.toSet());
+
+        Map<Long, Session> sessions = sessionRepository.findAllById(sessionIds).stream()
+                .collect(Collectors.toMap(Session::getId, Function.identity()));
+        Map<Long, List<Long>> participantIds = sessionParticipantRepository.findBySessionIdIn(sessionIds).stream()
+                .collect(Collectors.groupingBy(SessionParticipant::getSessionId,
+                        Collectors.mapping(SessionParticipant::getParticipantId, Collectors.toList())));
+
+        // Teachers and participants of the whole batch in one lookup
+        Set<Long> userIds = new HashSet<>();
+        sessions.values().forEach(session -> userIds.add(session.getTeacherId()));
+        participantIds.values().forEach(userIds::addAll);
+        Map<Long, NotificationUserDto> users = identityUserFeignClient.getUsersBasicInfo(userIds).stream()
+                .collect(Collectors.toMap(NotificationUserDto::id, Function.identity(), (first, second) -> first));
+
+        List<NotificationEventRequest> singleEvents = new ArrayList<>();
+        List<BulkNotificationEventRequest> bulkEvents = new ArrayList<>();
+
+        for (SessionOutboxEvent event : events) {
+            Session session = sessions.get(event.getSessionId());
+            if (session == null) {
+                log.warn("Outbox event {} skipped, session {} not found", event.getId(), event.getSessionId());
+                continue;
+            }
+            NotificationSessionDto sessionDto = toNotificationSession(session, event.getModificationSummary());
+            NotificationUserDto teacher = users.get(session.getTeacherId());
+            List<NotificationUserDto> participants = participantIds.getOrDefault(session.getId(), List.of()).stream()
+                    .map(users::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            switch (event.getEventType()) {
+                case CREATED -> addTeacherEvent(singleEvents, event, NotificationEventType.SESSION_CREATED_TO_TEACHER_NOTIFICATION,
+                        teacher, sessionDto, null);
+                case MODIFIED -> {
+                    addBulkEvent(bulkEvents, event, NotificationEventType.SESSION_MODIFIED_TO_USER_NOTIFICATION, sessionDto, participants);
+                    addTeacherEvent(singleEvents, event, NotificationEventType.SESSION_MODIFIED_TO_TEACHER_NOTIFICATION,
+                            teacher, sessionDto, participants);
+                }
+                case CANCELLED -> {
+                    addBulkEvent(bulkEvents, event, NotificationEventType.SESSION_CANCELLED_TO_USER_NOTIFICATION, sessionDto, participants);
+                    addTeacherEvent(singleEvents, event, NotificationEventType.SESSION_CANCELLED_TO_TEACHER_NOTIFICATION,
+                            teacher, sessionDto, participants);
+                }
+                case COMPLETED -> addBulkEvent(bulkEvents, event, NotificationEventType.SESSION_COMPLETED_TO_USER_NOTIFICATION,
+                        sessionDto, participants);
+            }
+        }
+        return new NotificationBatchRequest(singleEvents, bulkEvents, internalSecret);
+    }
+
+    private void addTeacherEvent(List<NotificationEventRequest> singleEvents, SessionOutboxEvent event,
+                                 NotificationEventType eventType, NotificationUserDto teacher,
+                                 NotificationSessionDto session, List<NotificationUserDto> participants) {
+        if (teacher == null) {
+            log.warn("{} for session {} skipped, teacher not found", eventType, session.id());
+            return;
+        }
+        singleEvents.add(new NotificationEventRequest(eventType, teacher, session, participants, internalSecret,
+                eventKey(event, eventType)));
+    }
+
+    private void addBulkEvent(List<BulkNotificationEventRequest> bulkEvents, SessionOutboxEvent event,
+                              NotificationEventType eventType, NotificationSessionDto session,
+                              List<NotificationUserDto> participants) {
+        if (!participants.isEmpty()) {
+            bulkEvents.add(new BulkNotificationEventRequest(eventType, session, participants, internalSecret,
+                    eventKey(event, eventType)));
+        }
+    }
+
+    // One outbox row gives several notification events (participants and teacher), one key each
+    private static String eventKey(SessionOutboxEvent event, NotificationEventType eventType) {
+        return "session-outbox-" + event.getId() + ":" + eventType;
+    }
+
+    private NotificationSessionDto toNotificationSession(Session session, String modificationSummary) {
+        return new NotificationSessionDto(
+                session.getId(),
+                session.getSubject(),
+                session.getDescription(),
+                session.getStartDateTime(),
+                session.getDurationMinutes(),
+                session.getTeacherFirstName(),
+                session.getTeacherLastName(),
+                session.getIsOnline(),
+                session.getRoomName(),
+                session.getPostalCode(),
+                session.getGoogleMapsLink(),
+                session.getBringYourMattress(),
+                session.getZoomLink(),
+                session.getCreditsRequired(),
+                modificationSummary
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package jroullet.mscoursemgmt.service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically realigns the denormalized session.participant_count with session_participants.
+ * Add/remove keep the counter in sync, this job only repairs drift (manual SQL fixes, partial failures).
+ *
+ * Metrics:
+ * - sessions.participant-count.reconciled : sessions whose counter had drifted and was fixed
+ * - sessions.participant-count.reconcile.failures : failed runs
+ */
+@Component
+@Slf4j
+public class SessionParticipantCountReconciler {
+
+    private final SessionJobManagement sessionJobManagement;
+    private final Counter reconciledSessions;
+    private final Counter reconcileFailures;
+
+    public SessionParticipantCountReconciler(SessionJobManagement sessionJobManagement, MeterRegistry meterRegistry) {
+        this.sessionJobManagement = sessionJobManagement;
+        this.reconciledSessions = Counter.builder("sessions.participant-count.reconciled")
+                .description("Sessions whose participant_count was realigned")
+                .register(meterRegistry);
+        this.reconcileFailures = Counter.builder("sessions.participant-count.reconcile.failures")
+                .description("Failed reconciliation runs")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.sessions.participant-count-reconcile.cron:0 30 3 * * *}")
+    public void reconcileParticipantCounts() {
+        try {
+            int reconciled = sessionJobManagement.reconcileParticipantCounts();
+            reconciledSessions.increment(reconciled);
+
+            if (reconciled > 0) {
+                log.warn("Participant count reconciliation: {} session(s) had a drifted counter", reconciled);
+            }
+        } catch (Exception e) {
+            reconcileFailures.increment();
+            log.error("Participant count reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
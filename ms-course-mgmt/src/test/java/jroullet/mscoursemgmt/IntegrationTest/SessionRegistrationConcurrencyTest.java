@@ -0,0 +1,115 @@
+package jroullet.mscoursemgmt.IntegrationTest;
+
+import jroullet.mscoursemgmt.exception.SessionFullException;
+import jroullet.mscoursemgmt.model.Subject;
+import jroullet.mscoursemgmt.model.session.Session;
+import jroullet.mscoursemgmt.repository.SessionParticipantRepository;
+import jroullet.mscoursemgmt.repository.SessionRepository;
+import jroullet.mscoursemgmt.service.impl.SessionParticipantImplService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seat reservation against a real database (H2 in MySQL mode) : the conditional UPDATE must
+ * serialize parallel registrations on the session row and never oversell it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SessionParticipantImplService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:registration;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+public class SessionRegistrationConcurrencyTest {
+
+    private static final int CAPACITY = 20;
+    private static final int REGISTRATIONS = 500;
+
+    @Autowired
+    private SessionParticipantImplService sessionParticipantService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Test
+    void addParticipant_500ParallelRegistrations_shouldNeverOversellTest() throws Exception {
+        // Given
+        Long sessionId = sessionRepository.save(session()).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger rejectedAsFull = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        // When
+        List<Future<?>> registrations = new ArrayList<>();
+        for (long userId = 1; userId <= REGISTRATIONS; userId++) {
+            long participantId = userId;
+            registrations.add(executor.submit(() -> {
+                try {
+                    start.await();
+                    sessionParticipantService.addParticipantToSession(sessionId, participantId);
+                    registered.incrementAndGet();
+                } catch (SessionFullException e) {
+                    rejectedAsFull.incrementAndGet();
+                    assertEquals(CAPACITY, e.getCurrentCount());
+                    assertEquals(CAPACITY, e.getMaxCapacity());
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> registration : registrations) {
+            registration.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(CAPACITY, registered.get());
+        assertEquals(REGISTRATIONS - CAPACITY, rejectedAsFull.get());
+        assertEquals(CAPACITY, sessionRepository.findParticipantCountById(sessionId));
+        assertEquals(CAPACITY, sessionParticipantRepository.findParticipantIdsBySessionId(sessionId).size());
+    }
+
+    private Session session() {
+        Session session = new Session();
+        session.setTeacherId(1L);
+        session.setSubject(Subject.values()[0]);
+        session.setAvailableSpots(CAPACITY);
+        session.setStartDateTime(LocalDateTime.now().plusDays(7));
+        session.setDurationMinutes(60);
+        session.setCreditsRequired(1);
+        return session;
+    }
+}
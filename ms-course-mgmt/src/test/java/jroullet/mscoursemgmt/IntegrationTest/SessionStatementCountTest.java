@@ -0,0 +1,134 @@
+package jroullet.mscoursemgmt.IntegrationTest;
+
+import jakarta.persistence.EntityManagerFactory;
+import jroullet.mscoursemgmt.dto.session.SessionWithParticipantsDTO;
+import jroullet.mscoursemgmt.mapper.SessionMapperImpl;
+import jroullet.mscoursemgmt.model.Subject;
+import jroullet.mscoursemgmt.model.session.Session;
+import jroullet.mscoursemgmt.model.session.SessionParticipant;
+import jroullet.mscoursemgmt.repository.SessionParticipantRepository;
+import jroullet.mscoursemgmt.repository.SessionRepository;
+import jroullet.mscoursemgmt.service.impl.SessionImplService;
+import jroullet.mscoursemgmt.service.impl.SessionParticipantImplService;
+import jroullet.mscoursemgmt.service.utils.SessionJobManagement;
+import jroullet.mscoursemgmt.service.utils.SessionOutbox;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement counts (Hibernate statistics) of session listings and registrations : they must not
+ * grow with the number of sessions or participants.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SessionImplService.class, SessionParticipantImplService.class, SessionMapperImpl.class,
+        SessionJobManagement.class, SessionOutbox.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class SessionStatementCountTest {
+
+    private static final Long TEACHER_ID = 1L;
+
+    @Autowired
+    private SessionImplService sessionService;
+
+    @Autowired
+    private SessionParticipantImplService sessionParticipantService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionParticipantRepository.deleteAll();
+        sessionRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getUpcomingSessionsByTeacher_shouldRunOneStatementWhateverTheParticipantsTest() {
+        // Given : 30 sessions of 5 participants each
+        for (int i = 0; i < 30; i++) {
+            createSessionWithParticipants(5);
+        }
+        statistics.clear();
+
+        // When
+        List<SessionWithParticipantsDTO> sessions = sessionService.getUpcomingSessionsByTeacher(TEACHER_ID);
+
+        // Then
+        assertEquals(30, sessions.size());
+        assertEquals(5, sessions.get(0).getRegisteredParticipants());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void addParticipantToSession_shouldNotDependOnParticipantCountTest() {
+        // Given
+        Long smallSessionId = createSessionWithParticipants(1);
+        Long largeSessionId = createSessionWithParticipants(40);
+
+        // When
+        long smallSessionStatements = statementsOf(() -> sessionParticipantService.addParticipantToSession(smallSessionId, 1000L));
+        long largeSessionStatements = statementsOf(() -> sessionParticipantService.addParticipantToSession(largeSessionId, 1000L));
+
+        // Then : one participant row is inserted, the existing ones are neither deleted nor rewritten
+        assertEquals(smallSessionStatements, largeSessionStatements);
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertEquals(0, statistics.getCollectionRemoveCount());
+        assertEquals(41, sessionRepository.findParticipantCountById(largeSessionId));
+    }
+
+    private long statementsOf(Runnable operation) {
+        statistics.clear();
+        operation.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long createSessionWithParticipants(int participants) {
+        Session session = new Session();
+        session.setTeacherId(TEACHER_ID);
+        session.setSubject(Subject.values()[0]);
+        session.setAvailableSpots(50);
+        session.setParticipantCount(participants);
+        session.setStartDateTime(LocalDateTime.now().plusDays(7));
+        session.setDurationMinutes(60);
+        session.setCreditsRequired(1);
+        Long sessionId = sessionRepository.save(session).getId();
+        sessionParticipantRepository.saveAll(LongStream.rangeClosed(1, participants)
+                .mapToObj(userId -> new SessionParticipant(sessionId, userId))
+                .toList());
+        return sessionId;
+    }
+}
@@ -0,0 +1,87 @@
+package jroullet.mscoursemgmt.UnitTest;
+
+import jroullet.mscoursemgmt.dto.session.SessionCatalogFilter;
+import jroullet.mscoursemgmt.mapper.SessionMapper;
+import jroullet.mscoursemgmt.model.session.SessionStatus;
+import jroullet.mscoursemgmt.repository.SessionParticipantRepository;
+import jroullet.mscoursemgmt.repository.SessionRepository;
+import jroullet.mscoursemgmt.service.impl.SessionImplService;
+import jroullet.mscoursemgmt.service.utils.SessionCursor;
+import jroullet.mscoursemgmt.service.utils.SessionJobManagement;
+import jroullet.mscoursemgmt.service.utils.SessionOutbox;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionImplServiceTest {
+
+    private static final SessionCatalogFilter NO_FILTER = new SessionCatalogFilter(null, null, false, null);
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Mock
+    private SessionMapper sessionMapper;
+
+    @Mock
+    private SessionJobManagement sessionJobManagement;
+
+    @Mock
+    private SessionOutbox sessionOutbox;
+
+    @InjectMocks
+    private SessionImplService sessionService;
+
+    @Test
+    void getAvailableSessionsForClient_withFutureCursor_shouldSeekFromCursorTest() {
+        // Given
+        LocalDateTime cursorStart = LocalDateTime.now().plusDays(2);
+        String cursor = new SessionCursor(cursorStart, 42L).encode();
+
+        // When
+        sessionService.getAvailableSessionsForClient(NO_FILTER, cursor, 10);
+
+        // Then
+        verify(sessionRepository).findCatalogPage(eq(SessionStatus.SCHEDULED), eq(cursorStart), eq(42L),
+                isNull(), isNull(), eq(false), isNull(), any());
+    }
+
+    @Test
+    void getAvailableSessionsForClient_withCursorBehindNow_shouldClampTimeAndKeepIdTest() {
+        // Given : the last session of the previous page has started since
+        LocalDateTime before = LocalDateTime.now();
+        String cursor = new SessionCursor(before.minusMinutes(5), 42L).encode();
+
+        // When
+        sessionService.getAvailableSessionsForClient(NO_FILTER, cursor, 10);
+
+        // Then
+        ArgumentCaptor<LocalDateTime> fromStart = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(sessionRepository).findCatalogPage(eq(SessionStatus.SCHEDULED), fromStart.capture(), eq(42L),
+                isNull(), isNull(), eq(false), isNull(), any());
+        assertFalse(fromStart.getValue().isBefore(before));
+    }
+
+    @Test
+    void getAvailableSessionsForClient_withoutCursor_shouldStartStrictlyAfterNowTest() {
+        // When
+        sessionService.getAvailableSessionsForClient(NO_FILTER, null, 10);
+
+        // Then
+        verify(sessionRepository).findCatalogPage(eq(SessionStatus.SCHEDULED), any(LocalDateTime.class), eq(Long.MAX_VALUE),
+                isNull(), isNull(), eq(false), isNull(), any());
+    }
+}
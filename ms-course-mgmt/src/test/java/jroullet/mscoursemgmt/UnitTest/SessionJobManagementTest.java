@@ -0,0 +1,139 @@
+package jroullet.mscoursemgmt.UnitTest;
+
+import jroullet.mscoursemgmt.dto.session.SessionWithParticipantsDTO;
+import jroullet.mscoursemgmt.mapper.SessionMapper;
+import jroullet.mscoursemgmt.repository.SessionRepository;
+import jroullet.mscoursemgmt.service.utils.SessionJobManagement;
+import jroullet.mscoursemgmt.service.utils.SessionOutbox;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionJobManagementTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private SessionMapper sessionMapper;
+
+    @Mock
+    private SessionOutbox sessionOutbox;
+
+    @InjectMocks
+    private SessionJobManagement sessionJobManagement;
+
+    /** Significant changes are:
+     * - startDateTime, description, isOnline, durationMinutes
+     * - zoomLink (if isOnline)
+     * - roomName, googleMapsLink, bringYourMattress (if not isOnline)
+     * */
+
+    @Test
+    void buildModificationSummary_withNoChanges_shouldReturnNullTest() {
+        // Given
+        SessionWithParticipantsDTO original = offlineSession("Salle A");
+        SessionWithParticipantsDTO updated = offlineSession("Salle A");
+
+        // When/Then
+        assertNull(sessionJobManagement.buildModificationSummary(original, updated));
+    }
+
+    @Test
+    void buildModificationSummary_withStartDateTimeChanged_shouldListItTest() {
+        // Given
+        SessionWithParticipantsDTO original = offlineSession("Salle A");
+        SessionWithParticipantsDTO updated = offlineSession("Salle A");
+        updated.setStartDateTime(original.getStartDateTime().plusHours(1));
+
+        // When/Then
+        assertEquals("Date et heure", sessionJobManagement.buildModificationSummary(original, updated));
+    }
+
+    @Test
+    void buildModificationSummary_withDescriptionAndDurationChanged_shouldReturnCommaSeparatedStringTest() {
+        // Given
+        SessionWithParticipantsDTO original = offlineSession("Salle A");
+        SessionWithParticipantsDTO updated = offlineSession("Salle A");
+        updated.setDescription("Updated description");
+        updated.setDurationMinutes(90);
+
+        // When/Then
+        assertEquals("Description, Durée", sessionJobManagement.buildModificationSummary(original, updated));
+    }
+
+    @Test
+    void buildModificationSummary_withOnlineModeChanged_shouldListItTest() {
+        // Given
+        SessionWithParticipantsDTO original = offlineSession("Salle A");
+        SessionWithParticipantsDTO updated = onlineSession("https://zoom.us/new");
+
+        // When
+        String summary = sessionJobManagement.buildModificationSummary(original, updated);
+
+        // Then
+        assertNotNull(summary);
+        assertTrue(summary.contains("Mode de session"));
+    }
+
+    @Test
+    void buildModificationSummary_withZoomLinkChangedForOnlineSession_shouldListItTest() {
+        // Given
+        SessionWithParticipantsDTO original = onlineSession("https://zoom.us/old");
+        SessionWithParticipantsDTO updated = onlineSession("https://zoom.us/new");
+
+        // When/Then
+        assertEquals("Lien Zoom", sessionJobManagement.buildModificationSummary(original, updated));
+    }
+
+    @Test
+    void buildModificationSummary_withRoomNameChangedForOfflineSession_shouldListItTest() {
+        // Given
+        SessionWithParticipantsDTO original = offlineSession("Old Room");
+        SessionWithParticipantsDTO updated = offlineSession("New Room");
+
+        // When/Then
+        assertEquals("Lieu de la session", sessionJobManagement.buildModificationSummary(original, updated));
+    }
+
+    @Test
+    void buildModificationSummary_withRoomNameChangedForOnlineSession_shouldReturnNullTest() {
+        // Given
+        SessionWithParticipantsDTO original = onlineSession("https://zoom.us/same");
+        SessionWithParticipantsDTO updated = onlineSession("https://zoom.us/same");
+        updated.setRoomName("Not shown online");
+
+        // When/Then
+        assertNull(sessionJobManagement.buildModificationSummary(original, updated));
+    }
+
+    private static SessionWithParticipantsDTO offlineSession(String roomName) {
+        return SessionWithParticipantsDTO.builder()
+                .id(5L)
+                .teacherId(1L)
+                .description("Yoga du matin")
+                .startDateTime(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .durationMinutes(60)
+                .isOnline(false)
+                .roomName(roomName)
+                .googleMapsLink("https://maps.google.com/?q=salle")
+                .bringYourMattress(true)
+                .build();
+    }
+
+    private static SessionWithParticipantsDTO onlineSession(String zoomLink) {
+        SessionWithParticipantsDTO session = offlineSession(null);
+        session.setIsOnline(true);
+        session.setZoomLink(zoomLink);
+        session.setGoogleMapsLink(null);
+        session.setBringYourMattress(null);
+        return session;
+    }
+}
@@ -0,0 +1,151 @@
+package jroullet.mscoursemgmt.UnitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jroullet.mscoursemgmt.clients.IdentityUserFeignClient;
+import jroullet.mscoursemgmt.clients.NotificationFeignClient;
+import jroullet.mscoursemgmt.dto.notification.NotificationBatchRequest;
+import jroullet.mscoursemgmt.dto.notification.NotificationEventType;
+import jroullet.mscoursemgmt.dto.notification.NotificationUserDto;
+import jroullet.mscoursemgmt.model.outbox.SessionEventType;
+import jroullet.mscoursemgmt.model.outbox.SessionOutboxEvent;
+import jroullet.mscoursemgmt.model.session.Session;
+import jroullet.mscoursemgmt.model.session.SessionParticipant;
+import jroullet.mscoursemgmt.repository.SessionParticipantRepository;
+import jroullet.mscoursemgmt.repository.SessionRepository;
+import jroullet.mscoursemgmt.service.utils.SessionOutbox;
+import jroullet.mscoursemgmt.service.utils.SessionOutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionOutboxRelayTest {
+
+    private static final Long SESSION_ID = 5L;
+    private static final Long TEACHER_ID = 1L;
+    private static final Long USER_ID = 2L;
+
+    @Mock
+    private SessionOutbox sessionOutbox;
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Mock
+    private IdentityUserFeignClient identityUserFeignClient;
+
+    @Mock
+    private NotificationFeignClient notificationFeignClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SessionOutboxRelay sessionOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        sessionOutboxRelay = new SessionOutboxRelay(sessionOutbox, sessionRepository, sessionParticipantRepository,
+                identityUserFeignClient, notificationFeignClient, meterRegistry);
+        ReflectionTestUtils.setField(sessionOutboxRelay, "internalSecret", "secret");
+        ReflectionTestUtils.setField(sessionOutboxRelay, "batchSize", 100);
+        ReflectionTestUtils.setField(sessionOutboxRelay, "maxAttempts", 10);
+        ReflectionTestUtils.setField(sessionOutboxRelay, "leaseSeconds", 120L);
+    }
+
+    @Test
+    void relay_modifiedEvent_shouldPublishKeyedEventsAndAcknowledgeTest() {
+        // Given
+        givenClaimed(event(7L, SessionEventType.MODIFIED));
+
+        // When
+        sessionOutboxRelay.relay();
+
+        // Then
+        ArgumentCaptor<NotificationBatchRequest> batch = ArgumentCaptor.forClass(NotificationBatchRequest.class);
+        verify(notificationFeignClient).processNotificationBatch(batch.capture());
+        assertEquals(1, batch.getValue().bulkEvents().size());
+        assertEquals(NotificationEventType.SESSION_MODIFIED_TO_USER_NOTIFICATION, batch.getValue().bulkEvents().get(0).eventType());
+        assertEquals("session-outbox-7:SESSION_MODIFIED_TO_USER_NOTIFICATION", batch.getValue().bulkEvents().get(0).eventKey());
+        assertEquals(1, batch.getValue().events().size());
+        assertEquals("session-outbox-7:SESSION_MODIFIED_TO_TEACHER_NOTIFICATION", batch.getValue().events().get(0).eventKey());
+        assertEquals("Durée", batch.getValue().events().get(0).session().modificationSummary());
+        verify(sessionOutbox).acknowledge(List.of(7L));
+        verify(sessionOutbox, never()).release(anyCollection(), anyString());
+        assertEquals(1.0, meterRegistry.counter("sessions.outbox.published").count());
+    }
+
+    @Test
+    void relay_notificationCallFailing_shouldReleaseRowsWithErrorTest() {
+        // Given
+        givenClaimed(event(7L, SessionEventType.CREATED), event(8L, SessionEventType.CANCELLED));
+        when(notificationFeignClient.processNotificationBatch(any(NotificationBatchRequest.class)))
+                .thenThrow(new IllegalStateException("Read timed out"));
+
+        // When
+        sessionOutboxRelay.relay();
+
+        // Then
+        verify(sessionOutbox).release(List.of(7L, 8L), "Read timed out");
+        verify(sessionOutbox, never()).acknowledge(anyCollection());
+        assertEquals(1.0, meterRegistry.counter("sessions.outbox.relay.failures").count());
+    }
+
+    @Test
+    void relay_withNothingClaimed_shouldNotCallNotificationServiceTest() {
+        // Given
+        when(sessionOutbox.claim(100, 10, 120L)).thenReturn(List.of());
+
+        // When
+        sessionOutboxRelay.relay();
+
+        // Then
+        verifyNoInteractions(notificationFeignClient, identityUserFeignClient);
+    }
+
+    private void givenClaimed(SessionOutboxEvent... events) {
+        when(sessionOutbox.claim(100, 10, 120L)).thenReturn(List.of(events));
+        when(sessionRepository.findAllById(Set.of(SESSION_ID))).thenReturn(List.of(session()));
+        when(sessionParticipantRepository.findBySessionIdIn(Set.of(SESSION_ID)))
+                .thenReturn(List.of(new SessionParticipant(SESSION_ID, USER_ID)));
+        when(identityUserFeignClient.getUsersBasicInfo(Set.of(TEACHER_ID, USER_ID))).thenReturn(List.of(
+                new NotificationUserDto(TEACHER_ID, "Anna", "Teacher", "teacher@kundapp.com"),
+                new NotificationUserDto(USER_ID, "Paul", "Client", "client@kundapp.com")));
+    }
+
+    private static SessionOutboxEvent event(Long id, SessionEventType eventType) {
+        return SessionOutboxEvent.builder()
+                .id(id)
+                .sessionId(SESSION_ID)
+                .eventType(eventType)
+                .modificationSummary(eventType == SessionEventType.MODIFIED ? "Durée" : null)
+                .attempts(1)
+                .build();
+    }
+
+    private static Session session() {
+        Session session = new Session();
+        session.setId(SESSION_ID);
+        session.setTeacherId(TEACHER_ID);
+        session.setTeacherFirstName("Anna");
+        session.setTeacherLastName("Teacher");
+        session.setDescription("Yoga du matin");
+        session.setStartDateTime(LocalDateTime.now().plusDays(1));
+        session.setDurationMinutes(60);
+        session.setIsOnline(true);
+        session.setZoomLink("https://zoom.us/j/1");
+        return session;
+    }
+}
@@ -0,0 +1,111 @@
+package jroullet.mscoursemgmt.UnitTest;
+
+import jroullet.mscoursemgmt.model.outbox.SessionEventType;
+import jroullet.mscoursemgmt.model.outbox.SessionOutboxEvent;
+import jroullet.mscoursemgmt.repository.SessionOutboxRepository;
+import jroullet.mscoursemgmt.service.utils.SessionOutbox;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionOutboxTest {
+
+    @Mock
+    private SessionOutboxRepository sessionOutboxRepository;
+
+    @InjectMocks
+    private SessionOutbox sessionOutbox;
+
+    @Test
+    void record_shouldSaveFreeEventWithNoAttemptTest() {
+        // When
+        sessionOutbox.record(5L, SessionEventType.MODIFIED, "Durée");
+
+        // Then
+        ArgumentCaptor<SessionOutboxEvent> event = ArgumentCaptor.forClass(SessionOutboxEvent.class);
+        verify(sessionOutboxRepository).save(event.capture());
+        assertEquals(5L, event.getValue().getSessionId());
+        assertEquals(SessionEventType.MODIFIED, event.getValue().getEventType());
+        assertEquals("Durée", event.getValue().getModificationSummary());
+        assertEquals(0, event.getValue().getAttempts());
+        assertNull(event.getValue().getClaimedUntil());
+    }
+
+    @Test
+    void recordAll_shouldSaveOneEventPerSessionTest() {
+        // When
+        sessionOutbox.recordAll(List.of(5L, 6L, 7L), SessionEventType.CREATED);
+
+        // Then
+        ArgumentCaptor<List<SessionOutboxEvent>> events = ArgumentCaptor.captor();
+        verify(sessionOutboxRepository).saveAll(events.capture());
+        assertEquals(List.of(5L, 6L, 7L), events.getValue().stream().map(SessionOutboxEvent::getSessionId).toList());
+        assertTrue(events.getValue().stream().allMatch(e -> e.getEventType() == SessionEventType.CREATED));
+    }
+
+    @Test
+    void claim_shouldLeaseLockedRowsAndReturnThemTest() {
+        // Given
+        List<SessionOutboxEvent> claimed = List.of(event(1L), event(2L));
+        when(sessionOutboxRepository.lockClaimableIds(eq(10), any(LocalDateTime.class), eq(100))).thenReturn(List.of(1L, 2L));
+        when(sessionOutboxRepository.findAllById(List.of(1L, 2L))).thenReturn(claimed);
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        List<SessionOutboxEvent> result = sessionOutbox.claim(100, 10, 120);
+
+        // Then
+        assertEquals(claimed, result);
+        ArgumentCaptor<LocalDateTime> claimedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(sessionOutboxRepository).claim(eq(List.of(1L, 2L)), claimedUntil.capture());
+        assertFalse(claimedUntil.getValue().isBefore(before.plusSeconds(120)));
+    }
+
+    @Test
+    void claim_withNoFreeRow_shouldNotLeaseAnythingTest() {
+        // Given
+        when(sessionOutboxRepository.lockClaimableIds(anyInt(), any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        // When
+        List<SessionOutboxEvent> result = sessionOutbox.claim(100, 10, 120);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(sessionOutboxRepository, never()).claim(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void release_shouldFreeRowsWithTruncatedErrorTest() {
+        // When
+        sessionOutbox.release(List.of(1L, 2L), "x".repeat(800));
+
+        // Then
+        ArgumentCaptor<String> lastError = ArgumentCaptor.forClass(String.class);
+        verify(sessionOutboxRepository).release(eq(List.of(1L, 2L)), lastError.capture());
+        assertEquals(500, lastError.getValue().length());
+    }
+
+    @Test
+    void acknowledge_shouldDeleteRowsTest() {
+        // When
+        sessionOutbox.acknowledge(List.of(1L, 2L));
+
+        // Then
+        verify(sessionOutboxRepository).deleteByIds(List.of(1L, 2L));
+    }
+
+    private static SessionOutboxEvent event(Long id) {
+        return SessionOutboxEvent.builder().id(id).sessionId(5L).eventType(SessionEventType.CREATED).attempts(1).build();
+    }
+}
@@ -0,0 +1,161 @@
+package jroullet.mscoursemgmt.UnitTest;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import jroullet.mscoursemgmt.clients.IdentityCreditFeignClient;
+import jroullet.mscoursemgmt.dto.credits.SessionRegistrationDeductRequest;
+import jroullet.mscoursemgmt.exception.RegistrationPendingException;
+import jroullet.mscoursemgmt.model.registration.RegistrationSaga;
+import jroullet.mscoursemgmt.model.registration.RegistrationSagaStatus;
+import jroullet.mscoursemgmt.model.session.Session;
+import jroullet.mscoursemgmt.repository.RegistrationSagaRepository;
+import jroullet.mscoursemgmt.repository.SessionParticipantRepository;
+import jroullet.mscoursemgmt.repository.SessionRepository;
+import jroullet.mscoursemgmt.service.SessionParticipantService;
+import jroullet.mscoursemgmt.service.SessionService;
+import jroullet.mscoursemgmt.service.impl.SessionRegistrationImplService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionRegistrationImplServiceTest {
+
+    private static final Long SAGA_ID = 7L;
+    private static final Long SESSION_ID = 5L;
+    private static final Long USER_ID = 2L;
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @Mock
+    private SessionParticipantRepository sessionParticipantRepository;
+
+    @Mock
+    private RegistrationSagaRepository registrationSagaRepository;
+
+    @Mock
+    private SessionParticipantService sessionParticipantService;
+
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private IdentityCreditFeignClient identityCreditFeignClient;
+
+    private SessionRegistrationImplService sessionRegistrationService;
+
+    @BeforeEach
+    void setUp() {
+        sessionRegistrationService = new SessionRegistrationImplService(sessionRepository, sessionParticipantRepository,
+                registrationSagaRepository, sessionParticipantService, sessionService, identityCreditFeignClient,
+                new TransactionTemplate(new NoOpTransactionManager()));
+        ReflectionTestUtils.setField(sessionRegistrationService, "internalSecret", "secret");
+        ReflectionTestUtils.setField(sessionRegistrationService, "staleAfterSeconds", 120L);
+        ReflectionTestUtils.setField(sessionRegistrationService, "maxAttempts", 10);
+        ReflectionTestUtils.setField(sessionRegistrationService, "recoveryBatchSize", 50);
+    }
+
+    @Test
+    void recoverStaleSagas_deductionStillInProgress_shouldKeepSeatAndRetryLaterTest() {
+        // Given : ms-identity is still running the first deduction sent with this key
+        when(registrationSagaRepository.findStale(eq(RegistrationSagaStatus.SEAT_RESERVED), any(LocalDateTime.class), any()))
+                .thenReturn(List.of(saga()));
+        when(identityCreditFeignClient.deductCreditsForSessionRegistration(eq("registration-saga:7:deduct"),
+                any(SessionRegistrationDeductRequest.class))).thenThrow(conflict());
+
+        // When
+        int settled = sessionRegistrationService.recoverStaleSagas();
+
+        // Then
+        assertEquals(0, settled);
+        verify(registrationSagaRepository).recordFailedAttempt(eq(SAGA_ID), eq(RegistrationSagaStatus.SEAT_RESERVED),
+                startsWith("409"), any(LocalDateTime.class));
+        verify(registrationSagaRepository, never()).transition(anyLong(), any(), any(), any(), any(), any());
+        verifyNoInteractions(sessionParticipantRepository);
+        verify(sessionRepository, never()).releaseSeat(anyLong());
+    }
+
+    @Test
+    void registerToSession_deductionStillInProgress_shouldLeaveSagaPendingTest() {
+        // Given
+        Session session = new Session();
+        session.setId(SESSION_ID);
+        session.setCreditsRequired(2);
+        when(sessionRepository.findById(SESSION_ID)).thenReturn(Optional.of(session));
+        when(registrationSagaRepository.save(any(RegistrationSaga.class))).thenReturn(saga());
+        when(identityCreditFeignClient.deductCreditsForSessionRegistration(anyString(),
+                any(SessionRegistrationDeductRequest.class))).thenThrow(conflict());
+
+        // When
+        assertThrows(RegistrationPendingException.class,
+                () -> sessionRegistrationService.registerToSession(SESSION_ID, USER_ID));
+
+        // Then
+        verify(registrationSagaRepository).recordFailedAttempt(eq(SAGA_ID), eq(RegistrationSagaStatus.SEAT_RESERVED),
+                anyString(), any(LocalDateTime.class));
+        verify(registrationSagaRepository, never()).transition(anyLong(), any(), any(), any(), any(), any());
+        verify(sessionParticipantRepository, never()).deleteParticipant(anyLong(), anyLong());
+    }
+
+    private static RegistrationSaga saga() {
+        return RegistrationSaga.builder()
+                .id(SAGA_ID)
+                .sessionId(SESSION_ID)
+                .userId(USER_ID)
+                .credits(2)
+                .status(RegistrationSagaStatus.SEAT_RESERVED)
+                .attempts(1)
+                .build();
+    }
+
+    private static FeignException conflict() {
+        Request request = Request.create(Request.HttpMethod.POST, "/api/internal/credits/session-registration-deduct",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("deductCreditsForSessionRegistration", Response.builder()
+                .status(409)
+                .reason("Idempotency key in progress")
+                .request(request)
+                .headers(Map.of())
+                .build());
+    }
+
+    // Runs the template callbacks without a real transaction
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
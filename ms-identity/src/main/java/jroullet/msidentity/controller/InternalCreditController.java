@@ -2,23 +2,39 @@ package jroullet.msidentity.controller;
 
 import jakarta.validation.Valid;
 import jroullet.msidentity.dto.user.credits.*;
+import jroullet.msidentity.security.SecurityValidator;
 import jroullet.msidentity.service.InternalCreditService;
+import jroullet.msidentity.service.utils.IdempotencyStore;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import static jroullet.msidentity.service.utils.IdempotencyStore.IDEMPOTENCY_KEY_HEADER;
+
+/**
+ * All endpoints accept an optional Idempotency-Key header : a retried call with the same key
+ * returns the first response without applying the operation again.
+ * The internal secret is checked before any replay.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/internal/credits")
 public class InternalCreditController {
 
     private final InternalCreditService internalCreditService;
+    private final IdempotencyStore idempotencyStore;
+    private final SecurityValidator securityValidator;
 
-    public InternalCreditController(InternalCreditService internalCreditService) {
+    public InternalCreditController(InternalCreditService internalCreditService,
+                                    IdempotencyStore idempotencyStore,
+                                    SecurityValidator securityValidator) {
         this.internalCreditService = internalCreditService;
+        this.idempotencyStore = idempotencyStore;
+        this.securityValidator = securityValidator;
     }
 
     /**
@@ -26,10 +42,13 @@ public class InternalCreditController {
      */
     @PostMapping("/session-registration-deduct")
     public ResponseEntity<CreditOperationResponse> deductForSessionRegistration(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody SessionRegistrationDeductRequest request) {
 
-        CreditOperationResponse response = internalCreditService
-                .deductCreditsForSessionRegistration(request);
+        securityValidator.validateInternalSecret(request.internalSecret());
+        CreditOperationResponse response = idempotencyStore.execute(
+                idempotencyKey, "SESSION_REGISTRATION_DEDUCT", CreditOperationResponse.class,
+                () -> internalCreditService.deductCreditsForSessionRegistration(idempotencyKey, request));
 
         return ResponseEntity.ok(response);
     }
@@ -39,10 +58,13 @@ public class InternalCreditController {
      */
     @PostMapping("/session-rollback-refund")
     public ResponseEntity<CreditOperationResponse> refundForSessionRollback(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody SessionRollbackRefundRequest request) {
 
-        CreditOperationResponse response = internalCreditService
-                .refundCreditsForSessionRollback(request);
+        securityValidator.validateInternalSecret(request.internalSecret());
+        CreditOperationResponse response = idempotencyStore.execute(
+                idempotencyKey, "SESSION_ROLLBACK_REFUND", CreditOperationResponse.class,
+                () -> internalCreditService.refundCreditsForSessionRollback(idempotencyKey, request));
 
         return ResponseEntity.ok(response);
     }
@@ -53,9 +75,14 @@ public class InternalCreditController {
      */
     @PostMapping("/batch-deduct")
     public ResponseEntity<Void> batchDeductCreditsForRollback(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody BatchCreditOperationRequest request) {
         try{
-            internalCreditService.batchDeductCreditsForRollback(request);
+            securityValidator.validateInternalSecret(request.internalSecret());
+            idempotencyStore.execute(idempotencyKey, "BATCH_DEDUCT", Void.class, () -> {
+                internalCreditService.batchDeductCreditsForRollback(idempotencyKey, request);
+                return null;
+            });
             return ResponseEntity.ok().build();
         } catch (Exception e){
             log.error("Batch deduct failed : {}", e.getMessage());
@@ -69,9 +96,14 @@ public class InternalCreditController {
      */
     @PostMapping("/batch-refund")
     public ResponseEntity<Void> batchRefundCreditsForCancellation(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody BatchCreditOperationRequest request) {
         try{
-            internalCreditService.batchRefundCreditsForCancellation(request);
+            securityValidator.validateInternalSecret(request.internalSecret());
+            idempotencyStore.execute(idempotencyKey, "BATCH_REFUND", Void.class, () -> {
+                internalCreditService.batchRefundCreditsForCancellation(idempotencyKey, request);
+                return null;
+            });
             return ResponseEntity.ok().build();
         } catch (Exception e){
             log.error("Batch refund failed : {}", e.getMessage());
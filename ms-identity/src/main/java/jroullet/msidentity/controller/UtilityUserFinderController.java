@@ -98,4 +98,13 @@ public class UtilityUserFinderController {
         }
     }
 
+    @GetMapping("/users/{id}/version")
+    ResponseEntity<Long> getUserVersion(@PathVariable Long id){
+        try {
+            return ResponseEntity.ok(userService.findUserVersion(id));
+        } catch (UserNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
 }
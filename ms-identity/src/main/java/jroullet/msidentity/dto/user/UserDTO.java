@@ -23,5 +23,6 @@ public class UserDTO {
     private String biography;
     private SubscriptionStatus subscriptionStatus;
     private Integer credits;
+    private Long version;
 
 }
@@ -5,5 +5,6 @@ public record CreditOperationResponse(
         Integer previousCredits,
         Integer newCredits,
         String operation,
-        Long sessionId
+        Long sessionId,
+        Long version
 ) {}
@@ -51,6 +51,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
     }
 
+    // code 422 : same Idempotency-Key sent for a different operation
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<String> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException e) {
+        log.error("Idempotency key reused : {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<String> handleIdempotencyKeyInProgressException(IdempotencyKeyInProgressException e) {
+        log.warn("Idempotency key in progress : {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
     // Generic exception handler
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception e) {
@@ -0,0 +1,11 @@
+package jroullet.msidentity.model;
+
+public enum CreditOperation {
+    OPENING_BALANCE,
+    SESSION_REGISTRATION_DEDUCT,
+    SESSION_ROLLBACK_REFUND,
+    SESSION_CANCELLATION_REFUND,
+    SESSION_CANCELLATION_ROLLBACK_DEDUCT,
+    ADMIN_TOP_UP,
+    ADMIN_ADJUSTMENT
+}
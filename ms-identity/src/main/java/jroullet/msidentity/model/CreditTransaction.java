@@ -0,0 +1,57 @@
+package jroullet.msidentity.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only credit ledger entry. users.credits stays the materialized balance,
+ * every change to it is recorded here in the same transaction.
+ */
+@Entity
+@Table(name = "credit_transaction")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditTransaction {
+
+    // IDENTITY on purpose : ids must grow in insertion order (snapshot watermark),
+    // which pooled blocks allocated by several instances would not guarantee
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private CreditOperation operation;
+
+    // Signed : negative for deductions
+    @Column(name = "delta", nullable = false)
+    private Integer delta;
+
+    @Column(name = "balance_after")
+    private Integer balanceAfter;
+
+    // operation:operationKey[:userId for batches], unique. Null for operations outside a session
+    @Column(name = "idempotency_key", unique = true, length = 191)
+    private String idempotencyKey;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
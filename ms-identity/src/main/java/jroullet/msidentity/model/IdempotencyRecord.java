@@ -0,0 +1,45 @@
+package jroullet.msidentity.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response of an internal credit call, stored under the Idempotency-Key sent by the caller.
+ * The row is inserted PENDING before the operation runs (it claims the key) and completed in the same transaction.
+ * Kept until expiresAt, purged by IdempotencyStore.
+ */
+@Entity
+@Table(name = "idempotency_record")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "operation", nullable = false)
+    private String operation;
+
+    // PENDING while the first request runs the operation, COMPLETED once its response is stored
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    // JSON body, null for endpoints without response body
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,5 @@
+package jroullet.msidentity.model;
+
+public enum IdempotencyStatus {
+    PENDING, COMPLETED
+}
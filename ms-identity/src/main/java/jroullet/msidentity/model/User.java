@@ -15,8 +15,10 @@ import java.time.LocalDateTime;
 public class User {
 
     // Authentication Part
+    // Pooled-lo sequence instead of IDENTITY : ids are allocated in blocks, inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -66,4 +68,9 @@ public class User {
 
     @Column(name = "credits")
     Integer credits;
+
+    // Also bumped by the native credit UPDATEs of UserRepository
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,48 @@
+package jroullet.msidentity.repository;
+
+import jroullet.msidentity.model.CreditTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CreditTransactionRepository extends JpaRepository<CreditTransaction, Long> {
+
+    /**
+     * Idempotency lookups
+     */
+    Optional<CreditTransaction> findByIdempotencyKey(String idempotencyKey);
+
+    List<CreditTransaction> findByIdempotencyKeyIn(List<String> idempotencyKeys);
+
+    /**
+     * Snapshot and compaction
+     */
+    // Entries older than settledBefore are committed, newer ids may still belong to open transactions
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM credit_transaction WHERE created_at < :settledBefore", nativeQuery = true)
+    long findSettledWatermark(@Param("settledBefore") LocalDateTime settledBefore);
+
+    // Rolls entries up to the watermark into each user's snapshot (previous snapshot + deltas since)
+    @Modifying
+    @Query(value = "INSERT INTO credit_balance_snapshot (user_id, balance, last_transaction_id, snapshot_at) " +
+            "SELECT ct.user_id, COALESCE(MAX(cbs.balance), 0) + SUM(ct.delta), MAX(ct.id), NOW() " +
+            "FROM credit_transaction ct LEFT JOIN credit_balance_snapshot cbs ON cbs.user_id = ct.user_id " +
+            "WHERE ct.id > COALESCE(cbs.last_transaction_id, 0) AND ct.id <= :watermark " +
+            "GROUP BY ct.user_id " +
+            "ON DUPLICATE KEY UPDATE balance = VALUES(balance), last_transaction_id = VALUES(last_transaction_id), " +
+            "snapshot_at = VALUES(snapshot_at)", nativeQuery = true)
+    int snapshotBalances(@Param("watermark") long watermark);
+
+    // Entries covered by a snapshot and older than the retention window
+    @Modifying
+    @Query(value = "DELETE ct FROM credit_transaction ct " +
+            "JOIN credit_balance_snapshot cbs ON cbs.user_id = ct.user_id " +
+            "WHERE ct.id <= cbs.last_transaction_id AND ct.created_at < :retainedAfter", nativeQuery = true)
+    int compactSnapshottedEntries(@Param("retainedAfter") LocalDateTime retainedAfter);
+}
@@ -0,0 +1,42 @@
+package jroullet.msidentity.repository;
+
+import jroullet.msidentity.model.IdempotencyRecord;
+import jroullet.msidentity.model.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey AND r.expiresAt < :now")
+    int deleteExpiredKey(@Param("idempotencyKey") String idempotencyKey, @Param("now") LocalDateTime now);
+
+    /**
+     * Claims the key. Plain INSERT : fails on a key already stored, and waits for the transaction of a
+     * request still holding the key (InnoDB lock on the new row) before failing or succeeding.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_record (idempotency_key, operation, status, created_at, expires_at) " +
+            "VALUES (:idempotencyKey, :operation, 'PENDING', :createdAt, :expiresAt)",
+            nativeQuery = true)
+    int insertPending(@Param("idempotencyKey") String idempotencyKey,
+                      @Param("operation") String operation,
+                      @Param("createdAt") LocalDateTime createdAt,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.responseBody = :responseBody WHERE r.idempotencyKey = :idempotencyKey")
+    int complete(@Param("idempotencyKey") String idempotencyKey,
+                 @Param("status") IdempotencyStatus status,
+                 @Param("responseBody") String responseBody);
+}
@@ -3,6 +3,7 @@ package jroullet.msidentity.repository;
 import jakarta.validation.constraints.Email;
 import jroullet.msidentity.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,4 +20,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query(value = "SELECT * FROM users WHERE id IN (:userIds)", nativeQuery = true)
     List<User> findParticipantsByIds(@Param("userIds") List<Long> userIds);
 
+    // Set-based credit adjustment, returns the number of users updated
+    @Modifying
+    @Query(value = "UPDATE users SET credits = COALESCE(credits, 0) + :delta, version = version + 1 WHERE id IN (:userIds)", nativeQuery = true)
+    int addCreditsToUsers(@Param("userIds") List<Long> userIds, @Param("delta") int delta);
+
+    // Guarded deduction : the balance check and the write are one statement, no lost update
+    @Modifying
+    @Query(value = "UPDATE users SET credits = credits - :credits, version = version + 1 WHERE id = :userId AND credits >= :credits", nativeQuery = true)
+    int deductCreditsIfSufficient(@Param("userId") Long userId, @Param("credits") int credits);
+
+    @Query(value = "SELECT COALESCE(credits, 0) FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Integer> findCreditsById(@Param("userId") Long userId);
+
+    // Rows of [id, credits]
+    @Query(value = "SELECT id, COALESCE(credits, 0) FROM users WHERE id IN (:userIds)", nativeQuery = true)
+    List<Object[]> findCreditsByIds(@Param("userIds") List<Long> userIds);
+
+    @Query(value = "SELECT version FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Long> findVersionById(@Param("userId") Long userId);
+
 }
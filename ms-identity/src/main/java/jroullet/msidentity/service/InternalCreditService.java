@@ -7,8 +7,9 @@ import jroullet.msidentity.dto.user.credits.SessionRollbackRefundRequest;
 
 public interface InternalCreditService {
 
-    CreditOperationResponse deductCreditsForSessionRegistration(SessionRegistrationDeductRequest request);
-    CreditOperationResponse refundCreditsForSessionRollback(SessionRollbackRefundRequest request);
-    void batchDeductCreditsForRollback(BatchCreditOperationRequest request);
-    void batchRefundCreditsForCancellation(BatchCreditOperationRequest request);
+    // operationKey : the caller's Idempotency-Key, identifies the operation in the credit ledger
+    CreditOperationResponse deductCreditsForSessionRegistration(String operationKey, SessionRegistrationDeductRequest request);
+    CreditOperationResponse refundCreditsForSessionRollback(String operationKey, SessionRollbackRefundRequest request);
+    void batchDeductCreditsForRollback(String operationKey, BatchCreditOperationRequest request);
+    void batchRefundCreditsForCancellation(String operationKey, BatchCreditOperationRequest request);
 }
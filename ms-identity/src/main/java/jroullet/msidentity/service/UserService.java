@@ -17,6 +17,7 @@ public interface UserService {
     List<UserParticipantDTO> findAllBasicInfoParticipants(List<Long> userIds);
 
     UserDTO findUserById(Long id);
+    Long findUserVersion(Long id);
     UserDTO createUser(UserCreationDTO dto);
     UserDTO updateUser(Long id, UserUpdateDTO dto);
     UserStatusResponseDTO disableUser(Long id);
@@ -6,16 +6,23 @@ import jroullet.msidentity.dto.user.credits.SessionRegistrationDeductRequest;
 import jroullet.msidentity.dto.user.credits.SessionRollbackRefundRequest;
 import jroullet.msidentity.exception.InsufficientCreditsException;
 import jroullet.msidentity.exception.UserNotFoundException;
-import jroullet.msidentity.model.User;
+import jroullet.msidentity.model.CreditOperation;
+import jroullet.msidentity.model.CreditTransaction;
 import jroullet.msidentity.repository.UserRepository;
 import jroullet.msidentity.security.SecurityValidator;
 import jroullet.msidentity.service.InternalCreditService;
+import jroullet.msidentity.service.utils.CreditLedger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 @Slf4j
@@ -24,32 +31,42 @@ public class InternalCreditServiceImpl implements InternalCreditService {
 
     private final UserRepository userRepository;
     private final SecurityValidator securityValidator;
+    private final CreditLedger creditLedger;
 
+    // Bounds the IN list size of a single UPDATE
+    private static final int BATCH_CHUNK_SIZE = 500;
 
     /**
      * Deducts credits for session registration with security validation
      */
     @Transactional
-    public CreditOperationResponse deductCreditsForSessionRegistration(SessionRegistrationDeductRequest request) {
+    public CreditOperationResponse deductCreditsForSessionRegistration(String operationKey, SessionRegistrationDeductRequest request) {
         log.info("Processing credit deduction for user {} and session {}",
                 request.userId(), request.sessionId());
 
         securityValidator.validateInternalSecret(request.internalSecret());
 
-        User user = userRepository.findById(request.userId())
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + request.userId()));
-
-        Integer previousCredits = user.getCredits();
+        String ledgerOperationKey = resolveOperationKey(operationKey);
+        Optional<CreditTransaction> replay = creditLedger.findReplay(
+                ledgerOperationKey, CreditOperation.SESSION_REGISTRATION_DEDUCT);
+        if (replay.isPresent()) {
+            log.info("Credit deduction already applied for user {} and session {}, returning recorded result",
+                    request.userId(), request.sessionId());
+            return toResponse(replay.get());
+        }
 
-        if (previousCredits < request.creditsRequired()) {
+        // Row is locked by the UPDATE until commit, the balance read afterwards is consistent
+        if (userRepository.deductCreditsIfSufficient(request.userId(), request.creditsRequired()) == 0) {
+            Integer availableCredits = findCredits(request.userId());
             log.warn("Insufficient credits for user {}. Available: {}, Required: {}",
-                    request.userId(), previousCredits, request.creditsRequired());
-            throw new InsufficientCreditsException(request.userId(), previousCredits, request.creditsRequired());
+                    request.userId(), availableCredits, request.creditsRequired());
+            throw new InsufficientCreditsException(request.userId(), availableCredits, request.creditsRequired());
         }
 
-        Integer newCredits = previousCredits - request.creditsRequired();
-        user.setCredits(newCredits);
-        userRepository.save(user);
+        Integer newCredits = findCredits(request.userId());
+        Integer previousCredits = newCredits + request.creditsRequired();
+        creditLedger.record(ledgerOperationKey, request.userId(), request.sessionId(), CreditOperation.SESSION_REGISTRATION_DEDUCT,
+                -request.creditsRequired(), newCredits);
 
         log.info("Credits deducted successfully for user {}. Previous: {}, New: {}",
                 request.userId(), previousCredits, newCredits);
@@ -58,8 +75,9 @@ public class InternalCreditServiceImpl implements InternalCreditService {
                 request.userId(),
                 previousCredits,
                 newCredits,
-                "SESSION_REGISTRATION_DEDUCT",
-                request.sessionId()
+                CreditOperation.SESSION_REGISTRATION_DEDUCT.name(),
+                request.sessionId(),
+                findVersion(request.userId())
         );
     }
 
@@ -67,20 +85,29 @@ public class InternalCreditServiceImpl implements InternalCreditService {
      * Refunds credits after failed session registration (rollback)
      */
     @Transactional
-    public CreditOperationResponse refundCreditsForSessionRollback(SessionRollbackRefundRequest request) {
+    public CreditOperationResponse refundCreditsForSessionRollback(String operationKey, SessionRollbackRefundRequest request) {
         log.info("Processing credit rollback refund for user {} and session {}",
                 request.userId(), request.sessionId());
 
         securityValidator.validateInternalSecret(request.internalSecret());
 
-        User user = userRepository.findById(request.userId())
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + request.userId()));
+        String ledgerOperationKey = resolveOperationKey(operationKey);
+        Optional<CreditTransaction> replay = creditLedger.findReplay(
+                ledgerOperationKey, CreditOperation.SESSION_ROLLBACK_REFUND);
+        if (replay.isPresent()) {
+            log.info("Credit refund already applied for user {} and session {}, returning recorded result",
+                    request.userId(), request.sessionId());
+            return toResponse(replay.get());
+        }
 
-        Integer previousCredits = user.getCredits();
-        Integer newCredits = previousCredits + request.creditsToRefund();
+        if (userRepository.addCreditsToUsers(List.of(request.userId()), request.creditsToRefund()) == 0) {
+            throw new UserNotFoundException("User not found with ID: " + request.userId());
+        }
 
-        user.setCredits(newCredits);
-        userRepository.save(user);
+        Integer newCredits = findCredits(request.userId());
+        Integer previousCredits = newCredits - request.creditsToRefund();
+        creditLedger.record(ledgerOperationKey, request.userId(), request.sessionId(), CreditOperation.SESSION_ROLLBACK_REFUND,
+                request.creditsToRefund(), newCredits);
 
         log.info("Credits refunded successfully for user {}. Previous: {}, New: {}",
                 request.userId(), previousCredits, newCredits);
@@ -89,47 +116,99 @@ public class InternalCreditServiceImpl implements InternalCreditService {
                 request.userId(),
                 previousCredits,
                 newCredits,
-                "SESSION_ROLLBACK_REFUND",
-                request.sessionId()
+                CreditOperation.SESSION_ROLLBACK_REFUND.name(),
+                request.sessionId(),
+                findVersion(request.userId())
         );
     }
 
     @Transactional
-    public void batchDeductCreditsForRollback(BatchCreditOperationRequest request) {
+    public void batchDeductCreditsForRollback(String operationKey, BatchCreditOperationRequest request) {
         log.info("Processing batch credit deduction for {} users and session {}",
                 request.participantIds().size(), request.sessionId());
 
         securityValidator.validateInternalSecret(request.internalSecret());
 
-        List<Long> participantIds = request.participantIds();
-
-        for (Long participantId : participantIds) {
-            User user = userRepository.findById(participantId)
-                    .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + participantId));
-
-            user.setCredits(user.getCredits() - request.creditsPerParticipant());
-            userRepository.save(user);
-        }
+        int updated = applyBatchCredits(operationKey, request, CreditOperation.SESSION_CANCELLATION_ROLLBACK_DEDUCT,
+                -request.creditsPerParticipant());
 
-        log.info("Credits deducted successfully for {} users", participantIds.size());
+        log.info("Credits deducted successfully for {} users", updated);
     }
 
     @Transactional
-    public void batchRefundCreditsForCancellation(BatchCreditOperationRequest request) {
+    public void batchRefundCreditsForCancellation(String operationKey, BatchCreditOperationRequest request) {
         log.info("Processing batch credit refund for {} users and session {}",
                 request.participantIds().size(), request.sessionId());
 
         securityValidator.validateInternalSecret(request.internalSecret());
 
-        for (Long participantId : request.participantIds()) {
-            User user = userRepository.findById(participantId)
-                    .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + participantId));
+        int updated = applyBatchCredits(operationKey, request, CreditOperation.SESSION_CANCELLATION_REFUND,
+                request.creditsPerParticipant());
+
+        log.info("Credits refunded successfully for {} users", updated);
+    }
+
+    private CreditOperationResponse toResponse(CreditTransaction transaction) {
+        return new CreditOperationResponse(
+                transaction.getUserId(),
+                transaction.getBalanceAfter() - transaction.getDelta(),
+                transaction.getBalanceAfter(),
+                transaction.getOperation().name(),
+                transaction.getSessionId(),
+                // The row may have changed since the recorded operation, callers refetch the user
+                null
+        );
+    }
 
-            user.setCredits(user.getCredits() + request.creditsPerParticipant());
-            userRepository.save(user);
+    // Without a key the call cannot be recognized when retried, it is recorded as a new operation
+    private String resolveOperationKey(String operationKey) {
+        return operationKey != null && !operationKey.isBlank() ? operationKey : UUID.randomUUID().toString();
+    }
+
+    private Integer findCredits(Long userId) {
+        return userRepository.findCreditsById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+    }
+
+    private Long findVersion(Long userId) {
+        return userRepository.findVersionById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+    }
+
+    /**
+     * One UPDATE ... WHERE id IN (...) per chunk instead of findById + save per user.
+     * All or nothing : an unknown user id throws and rolls back the chunks already applied.
+     * Users already recorded under this operation key are skipped (retried call).
+     */
+    private int applyBatchCredits(String operationKey, BatchCreditOperationRequest request, CreditOperation operation, int delta) {
+        String ledgerOperationKey = resolveOperationKey(operationKey);
+        List<Long> participantIds = request.participantIds().stream().distinct().toList();
+        Set<Long> replayed = creditLedger.findReplayedUsers(ledgerOperationKey, participantIds, operation);
+        List<Long> userIds = participantIds.stream()
+                .filter(userId -> !replayed.contains(userId))
+                .toList();
+
+        if (!replayed.isEmpty()) {
+            log.info("{} already applied for {} user(s) of session {}, skipped", operation, replayed.size(), request.sessionId());
+        }
+
+        int updated = 0;
+        Map<Long, Integer> balancesAfter = new HashMap<>();
+
+        for (int from = 0; from < userIds.size(); from += BATCH_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, userIds.size()));
+            updated += userRepository.addCreditsToUsers(chunk, delta);
+            // Rows stay locked by the UPDATE until commit, the balances read back are the ones recorded
+            userRepository.findCreditsByIds(chunk)
+                    .forEach(row -> balancesAfter.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue()));
         }
 
-        log.info("Credits refunded successfully for {} users", request.participantIds().size());
+        if (updated != userIds.size()) {
+            log.warn("Batch credit operation matched {} users out of {}", updated, userIds.size());
+            throw new UserNotFoundException("Batch credit operation: " + (userIds.size() - updated) + " user(s) not found");
+        }
+        creditLedger.recordAll(ledgerOperationKey, userIds, request.sessionId(), operation, delta, balancesAfter);
+        return updated;
     }
 
 }
@@ -6,14 +6,17 @@ import jroullet.msidentity.exception.EmailAlreadyExistsException;
 import jroullet.msidentity.exception.RoleNotAllowedException;
 import jroullet.msidentity.exception.UserNotFoundException;
 import jroullet.msidentity.mapper.UserMapper;
+import jroullet.msidentity.model.CreditOperation;
 import jroullet.msidentity.model.Role;
 import jroullet.msidentity.model.User;
 import jroullet.msidentity.repository.UserRepository;
 import jroullet.msidentity.service.UserService;
+import jroullet.msidentity.service.utils.CreditLedger;
 import jroullet.msidentity.service.utils.UpdateUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,6 +29,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final UpdateUtils updateUtils;
+    private final CreditLedger creditLedger;
 
     @Override
     public List<TeacherDTO> findAllTeachers() {
@@ -76,6 +80,13 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserDto(user);
     }
 
+    // Single column read, polled by ms-webapp to expire its cached principal
+    @Override
+    public Long findUserVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+    }
+
     //Works for both CLIENT and TEACHER roles
     @Override
     public UserParticipantDTO findBasicUserById(Long id) {
@@ -88,6 +99,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDTO createUser(UserCreationDTO dto){
         if (userRepository.findByEmail(dto.getEmail()).isPresent()) {
             throw new EmailAlreadyExistsException("Email already exists");
@@ -105,11 +117,16 @@ public class UserServiceImpl implements UserService {
         user.setCredits(dto.getCredits());
 
         User savedUser = userRepository.save(user);
+        if (savedUser.getCredits() != null && savedUser.getCredits() != 0) {
+            creditLedger.record(savedUser.getId(), null, CreditOperation.OPENING_BALANCE,
+                    savedUser.getCredits(), savedUser.getCredits());
+        }
         return userMapper.toUserDto(savedUser);
 
     }
 
     @Override
+    @Transactional
     public UserDTO updateUser(Long id, UserUpdateDTO dto){
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
@@ -123,9 +140,17 @@ public class UserServiceImpl implements UserService {
                 throw new EmailAlreadyExistsException("Email already exists: " + dto.getEmail());
             }
         }
+        int previousCredits = existingUser.getCredits() != null ? existingUser.getCredits() : 0;
         // Verify null fields keep previous value
         updateUtils.updateUserFields(existingUser, dto);
         User savedUser = userRepository.save(existingUser);
+
+        // Admin set an absolute value, the ledger keeps the difference
+        int newCredits = savedUser.getCredits() != null ? savedUser.getCredits() : 0;
+        if (newCredits != previousCredits) {
+            creditLedger.record(savedUser.getId(), null, CreditOperation.ADMIN_ADJUSTMENT,
+                    newCredits - previousCredits, newCredits);
+        }
         return userMapper.toUserDto(savedUser);
     }
 
@@ -166,6 +191,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void addUserCredits(Long id, Integer credits) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
@@ -174,6 +200,7 @@ public class UserServiceImpl implements UserService {
         }
         user.setCredits(user.getCredits() + credits);
         userRepository.save(user);
+        creditLedger.record(user.getId(), null, CreditOperation.ADMIN_TOP_UP, credits, user.getCredits());
     }
 
 }
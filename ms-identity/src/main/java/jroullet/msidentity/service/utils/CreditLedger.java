@@ -0,0 +1,98 @@
+package jroullet.msidentity.service.utils;
+
+import jroullet.msidentity.model.CreditOperation;
+import jroullet.msidentity.model.CreditTransaction;
+import jroullet.msidentity.repository.CreditTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes credit ledger entries and detects retried operations.
+ * Each session operation is keyed by the caller's operation key (the Idempotency-Key it sends) :
+ * a retry resends the same key and finds its entry, a new operation always comes with a new key.
+ * The key column is unique, concurrent retries collide on it and the second transaction rolls back.
+ */
+@Component
+@RequiredArgsConstructor
+public class CreditLedger {
+
+    private final CreditTransactionRepository creditTransactionRepository;
+
+    public Optional<CreditTransaction> findReplay(String operationKey, CreditOperation operation) {
+        return creditTransactionRepository.findByIdempotencyKey(ledgerKey(operation, operationKey));
+    }
+
+    public Set<Long> findReplayedUsers(String operationKey, List<Long> userIds, CreditOperation operation) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        List<String> ledgerKeys = userIds.stream()
+                .map(userId -> ledgerKey(operation, operationKey, userId))
+                .toList();
+        return creditTransactionRepository.findByIdempotencyKeyIn(ledgerKeys)
+                .stream()
+                .map(CreditTransaction::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Entry of an operation outside a session (opening balance, admin changes), never replayed
+     */
+    public CreditTransaction record(Long userId, Long sessionId, CreditOperation operation, int delta, Integer balanceAfter) {
+        return save(userId, sessionId, operation, delta, balanceAfter, null);
+    }
+
+    public CreditTransaction record(String operationKey, Long userId, Long sessionId, CreditOperation operation,
+                                    int delta, Integer balanceAfter) {
+        return save(userId, sessionId, operation, delta, balanceAfter, ledgerKey(operation, operationKey));
+    }
+
+    /**
+     * One entry per user of a batch operation
+     * @param balancesAfter balance of each user once the batch is applied
+     */
+    public void recordAll(String operationKey, List<Long> userIds, Long sessionId, CreditOperation operation,
+                          int delta, Map<Long, Integer> balancesAfter) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<CreditTransaction> entries = userIds.stream()
+                .map(userId -> CreditTransaction.builder()
+                        .userId(userId)
+                        .sessionId(sessionId)
+                        .operation(operation)
+                        .delta(delta)
+                        .balanceAfter(balancesAfter.get(userId))
+                        .idempotencyKey(ledgerKey(operation, operationKey, userId))
+                        .build())
+                .toList();
+
+        creditTransactionRepository.saveAll(entries);
+    }
+
+    private CreditTransaction save(Long userId, Long sessionId, CreditOperation operation, int delta,
+                                   Integer balanceAfter, String idempotencyKey) {
+        return creditTransactionRepository.save(CreditTransaction.builder()
+                .userId(userId)
+                .sessionId(sessionId)
+                .operation(operation)
+                .delta(delta)
+                .balanceAfter(balanceAfter)
+                .idempotencyKey(idempotencyKey)
+                .build());
+    }
+
+    private String ledgerKey(CreditOperation operation, String operationKey) {
+        return operation + ":" + operationKey;
+    }
+
+    private String ledgerKey(CreditOperation operation, String operationKey, Long userId) {
+        return ledgerKey(operation, operationKey) + ":" + userId;
+    }
+}
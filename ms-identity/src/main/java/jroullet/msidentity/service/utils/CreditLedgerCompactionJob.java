@@ -0,0 +1,46 @@
+package jroullet.msidentity.service.utils;
+
+import jroullet.msidentity.repository.CreditTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Nightly roll-up of the credit ledger into credit_balance_snapshot,
+ * then deletion of the snapshotted entries older than the retention window.
+ * snapshot.balance + entries after snapshot.last_transaction_id = users.credits
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CreditLedgerCompactionJob {
+
+    // Entries younger than this may belong to transactions not yet committed
+    private static final int SETTLE_DELAY_MINUTES = 5;
+
+    private final CreditTransactionRepository creditTransactionRepository;
+
+    @Value("${app.credits.ledger.retention-days:180}")
+    private int retentionDays;
+
+    @Scheduled(cron = "${app.credits.ledger.compaction-cron:0 0 4 * * *}")
+    @Transactional
+    public void snapshotAndCompact() {
+        LocalDateTime now = LocalDateTime.now();
+        long watermark = creditTransactionRepository.findSettledWatermark(now.minusMinutes(SETTLE_DELAY_MINUTES));
+        if (watermark == 0) {
+            return;
+        }
+
+        int snapshots = creditTransactionRepository.snapshotBalances(watermark);
+        int compacted = creditTransactionRepository.compactSnapshottedEntries(now.minusDays(retentionDays));
+
+        log.info("Credit ledger snapshot up to entry {}: {} balance(s) updated, {} entry(ies) compacted",
+                watermark, snapshots, compacted);
+    }
+}
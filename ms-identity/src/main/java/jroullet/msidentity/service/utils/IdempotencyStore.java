@@ -0,0 +1,209 @@
+package jroullet.msidentity.service.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jroullet.msidentity.exception.IdempotencyKeyInProgressException;
+import jroullet.msidentity.exception.IdempotencyKeyReusedException;
+import jroullet.msidentity.model.IdempotencyRecord;
+import jroullet.msidentity.model.IdempotencyStatus;
+import jroullet.msidentity.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Server-side dedupe of internal credit calls carrying an Idempotency-Key header.
+ * Lookup order : bounded in-memory LRU, then idempotency_record table. A replayed key returns the
+ * stored response without running the operation again. Records expire after the configured TTL.
+ *
+ * The key is claimed (PENDING row) before the operation runs, in the operation's transaction :
+ * a concurrent request with the same key blocks on that row, then replays the stored response
+ * once the first request committed (or runs the operation if it rolled back).
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final long WAIT_POLL_MS = 50;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, IdempotencyRecord> recentRecords;
+    private final int ttlHours;
+
+    // Bound on the wait for the response of a request holding the key, a 409 asks the caller to retry later
+    @Value("${app.idempotency.wait-ms:5000}")
+    private long waitMs;
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+                            @Value("${app.idempotency.ttl-hours:24}") int ttlHours) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttlHours = ttlHours;
+        this.recentRecords = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Runs the operation once per key. The key is claimed and the response stored in the operation's
+     * transaction, the LRU is only filled after commit.
+     */
+    public <T> T execute(String idempotencyKey, String operation, Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+
+        Optional<IdempotencyRecord> existing = findCompleted(idempotencyKey);
+        if (existing.isPresent()) {
+            return replay(existing.get(), idempotencyKey, operation, responseType);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> runOnce(idempotencyKey, operation, action));
+        } catch (KeyAlreadyClaimedException e) {
+            // The insert waited for the request holding the key : its response is stored, or about to be
+            return replay(awaitCompleted(idempotencyKey), idempotencyKey, operation, responseType);
+        }
+    }
+
+    private <T> T runOnce(String idempotencyKey, String operation, Supplier<T> action) {
+        LocalDateTime now = LocalDateTime.now();
+        // An expired record not purged yet must not block the key
+        idempotencyRecordRepository.deleteExpiredKey(idempotencyKey, now);
+        try {
+            idempotencyRecordRepository.insertPending(idempotencyKey, operation, now, now.plusHours(ttlHours));
+        } catch (DataIntegrityViolationException e) {
+            throw new KeyAlreadyClaimedException();
+        }
+
+        T response = action.get();
+
+        String responseBody = writeBody(response);
+        idempotencyRecordRepository.complete(idempotencyKey, IdempotencyStatus.COMPLETED, responseBody);
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey(idempotencyKey)
+                .operation(operation)
+                .status(IdempotencyStatus.COMPLETED)
+                .responseBody(responseBody)
+                .createdAt(now)
+                .expiresAt(now.plusHours(ttlHours))
+                .build();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentRecords.put(idempotencyKey, record);
+            }
+        });
+        return response;
+    }
+
+    private <T> T replay(IdempotencyRecord record, String idempotencyKey, String operation, Class<T> responseType) {
+        if (!record.getOperation().equals(operation)) {
+            throw new IdempotencyKeyReusedException("Idempotency key " + idempotencyKey + " already used for " + record.getOperation());
+        }
+        log.info("Replaying {} for idempotency key {}", operation, idempotencyKey);
+        return readBody(record.getResponseBody(), responseType);
+    }
+
+    // Usually immediate : the failed insert already waited for the other transaction to end
+    private IdempotencyRecord awaitCompleted(String idempotencyKey) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        while (true) {
+            Optional<IdempotencyRecord> stored = findCompleted(idempotencyKey);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new IdempotencyKeyInProgressException("Request with idempotency key " + idempotencyKey + " still in progress");
+            }
+            try {
+                Thread.sleep(WAIT_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyKeyInProgressException("Interrupted while waiting for idempotency key " + idempotencyKey);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (recentRecords) {
+            recentRecords.values().removeIf(record -> record.getExpiresAt().isBefore(now));
+        }
+        int purged = idempotencyRecordRepository.deleteExpired(now);
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency record(s)", purged);
+        }
+    }
+
+    private Optional<IdempotencyRecord> findCompleted(String idempotencyKey) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord cached = recentRecords.get(idempotencyKey);
+        if (cached != null) {
+            return cached.getExpiresAt().isAfter(now) ? Optional.of(cached) : Optional.empty();
+        }
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(idempotencyKey)
+                .filter(record -> record.getStatus() == IdempotencyStatus.COMPLETED)
+                .filter(record -> record.getExpiresAt().isAfter(now));
+        stored.ifPresent(record -> recentRecords.put(idempotencyKey, record));
+        return stored;
+    }
+
+    private String writeBody(Object response) {
+        if (response == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    private <T> T readBody(String body, Class<T> responseType) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+
+    // Rolls the claiming transaction back, the key belongs to another request
+    private static final class KeyAlreadyClaimedException extends RuntimeException {
+        private KeyAlreadyClaimedException() {
+            super(null, null, false, false);
+        }
+    }
+}
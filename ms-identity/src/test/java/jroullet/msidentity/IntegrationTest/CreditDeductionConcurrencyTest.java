@@ -0,0 +1,117 @@
+package jroullet.msidentity.IntegrationTest;
+
+import jroullet.msidentity.dto.user.credits.SessionRegistrationDeductRequest;
+import jroullet.msidentity.exception.InsufficientCreditsException;
+import jroullet.msidentity.model.Role;
+import jroullet.msidentity.model.User;
+import jroullet.msidentity.repository.CreditTransactionRepository;
+import jroullet.msidentity.repository.UserRepository;
+import jroullet.msidentity.security.SecurityValidator;
+import jroullet.msidentity.service.impl.InternalCreditServiceImpl;
+import jroullet.msidentity.service.utils.CreditLedger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guarded credit deduction against a real database (H2 in MySQL mode) : parallel registrations
+ * of the same user must never spend more credits than the balance holds.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({InternalCreditServiceImpl.class, CreditLedger.class, SecurityValidator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:credits;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.internal.secret=secret"
+})
+public class CreditDeductionConcurrencyTest {
+
+    private static final int INITIAL_CREDITS = 10;
+    private static final int REGISTRATIONS = 200;
+
+    @Autowired
+    private InternalCreditServiceImpl internalCreditService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CreditTransactionRepository creditTransactionRepository;
+
+    @Test
+    void deductCredits_parallelRegistrationsOfOneUser_shouldNeverOverspendTest() throws Exception {
+        // Given
+        Long userId = userRepository.save(user()).getId();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger deducted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        // When : every registration is a distinct session, each one costs a credit
+        List<Future<?>> registrations = new ArrayList<>();
+        for (long sessionId = 1; sessionId <= REGISTRATIONS; sessionId++) {
+            long registeredSessionId = sessionId;
+            registrations.add(executor.submit(() -> {
+                try {
+                    start.await();
+                    internalCreditService.deductCreditsForSessionRegistration(
+                            "registration-saga:" + registeredSessionId + ":deduct",
+                            new SessionRegistrationDeductRequest(userId, registeredSessionId, 1, "secret"));
+                    deducted.incrementAndGet();
+                } catch (InsufficientCreditsException e) {
+                    rejected.incrementAndGet();
+                    assertEquals(0, e.getAvailableCredits());
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> registration : registrations) {
+            registration.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(INITIAL_CREDITS, deducted.get());
+        assertEquals(REGISTRATIONS - INITIAL_CREDITS, rejected.get());
+        assertEquals(0, userRepository.findCreditsById(userId).orElseThrow());
+        assertEquals(INITIAL_CREDITS, creditTransactionRepository.count());
+    }
+
+    private User user() {
+        User user = new User();
+        user.setEmail("student@example.com");
+        user.setPassword("password");
+        user.setRole(Role.values()[0]);
+        user.setCredits(INITIAL_CREDITS);
+        return user;
+    }
+}
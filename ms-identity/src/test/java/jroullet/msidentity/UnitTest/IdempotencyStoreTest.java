@@ -0,0 +1,148 @@
+package jroullet.msidentity.UnitTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jroullet.msidentity.dto.user.credits.CreditOperationResponse;
+import jroullet.msidentity.exception.IdempotencyKeyInProgressException;
+import jroullet.msidentity.exception.IdempotencyKeyReusedException;
+import jroullet.msidentity.model.IdempotencyRecord;
+import jroullet.msidentity.model.IdempotencyStatus;
+import jroullet.msidentity.repository.IdempotencyRecordRepository;
+import jroullet.msidentity.service.utils.IdempotencyStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyStoreTest {
+
+    private static final String KEY = "register-5-2";
+    private static final String OPERATION = "SESSION_REGISTRATION_DEDUCT";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger actionRuns = new AtomicInteger();
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(idempotencyRecordRepository, objectMapper, new NoOpTransactionManager(), 100, 24);
+        ReflectionTestUtils.setField(idempotencyStore, "waitMs", 200L);
+    }
+
+    @Test
+    void execute_firstRequest_shouldClaimKeyThenStoreResponseTest() throws Exception {
+        // Given
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.empty());
+
+        // When
+        CreditOperationResponse response = idempotencyStore.execute(KEY, OPERATION, CreditOperationResponse.class, this::deduct);
+
+        // Then
+        assertEquals(8, response.newCredits());
+        assertEquals(1, actionRuns.get());
+        var order = inOrder(idempotencyRecordRepository);
+        order.verify(idempotencyRecordRepository).insertPending(eq(KEY), eq(OPERATION), any(LocalDateTime.class), any(LocalDateTime.class));
+        order.verify(idempotencyRecordRepository).complete(KEY, IdempotencyStatus.COMPLETED, objectMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void execute_keyClaimedByConcurrentRequest_shouldReplayItsResponseWithoutRunningTest() throws Exception {
+        // Given : the other request committed while our insert was waiting on its row
+        when(idempotencyRecordRepository.findById(KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(completed(OPERATION, objectMapper.writeValueAsString(deduct()))));
+        actionRuns.set(0);
+        when(idempotencyRecordRepository.insertPending(eq(KEY), eq(OPERATION), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When
+        CreditOperationResponse response = idempotencyStore.execute(KEY, OPERATION, CreditOperationResponse.class, this::deduct);
+
+        // Then
+        assertEquals(8, response.newCredits());
+        assertEquals(0, actionRuns.get());
+        verify(idempotencyRecordRepository, never()).complete(anyString(), any(IdempotencyStatus.class), any());
+    }
+
+    @Test
+    void execute_keyStillPending_shouldFailWithInProgressTest() {
+        // Given
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .idempotencyKey(KEY)
+                .operation(OPERATION)
+                .status(IdempotencyStatus.PENDING)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build()));
+        when(idempotencyRecordRepository.insertPending(eq(KEY), eq(OPERATION), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When/Then
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> idempotencyStore.execute(KEY, OPERATION, CreditOperationResponse.class, this::deduct));
+        assertEquals(0, actionRuns.get());
+    }
+
+    @Test
+    void execute_keyUsedForAnotherOperation_shouldFailTest() {
+        // Given
+        when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(completed("SESSION_ROLLBACK_REFUND", null)));
+
+        // When/Then
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyStore.execute(KEY, OPERATION, CreditOperationResponse.class, this::deduct));
+        assertEquals(0, actionRuns.get());
+    }
+
+    private CreditOperationResponse deduct() {
+        actionRuns.incrementAndGet();
+        return new CreditOperationResponse(2L, 10, 8, "DEDUCT", 5L, 4L);
+    }
+
+    private static IdempotencyRecord completed(String operation, String responseBody) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey(KEY)
+                .operation(operation)
+                .status(IdempotencyStatus.COMPLETED)
+                .responseBody(responseBody)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
+    // Runs the callbacks with transaction synchronization active, no database
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package jroullet.msidentity.UnitTest;
+
+import jroullet.msidentity.dto.user.credits.BatchCreditOperationRequest;
+import jroullet.msidentity.dto.user.credits.CreditOperationResponse;
+import jroullet.msidentity.dto.user.credits.SessionRegistrationDeductRequest;
+import jroullet.msidentity.model.CreditOperation;
+import jroullet.msidentity.model.CreditTransaction;
+import jroullet.msidentity.repository.CreditTransactionRepository;
+import jroullet.msidentity.repository.UserRepository;
+import jroullet.msidentity.security.SecurityValidator;
+import jroullet.msidentity.service.impl.InternalCreditServiceImpl;
+import jroullet.msidentity.service.utils.CreditLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InternalCreditServiceImplTest {
+
+    private static final Long USER_ID = 2L;
+    private static final Long SESSION_ID = 5L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SecurityValidator securityValidator;
+
+    @Mock
+    private CreditTransactionRepository creditTransactionRepository;
+
+    private InternalCreditServiceImpl internalCreditService;
+
+    @BeforeEach
+    void setUp() {
+        internalCreditService = new InternalCreditServiceImpl(userRepository, securityValidator,
+                new CreditLedger(creditTransactionRepository));
+    }
+
+    @Test
+    void deductCredits_newKeyAfterEarlierDeduct_shouldDeductAgainTest() {
+        // Given : the user was removed without refund and registers again, with a new saga key
+        when(creditTransactionRepository.findByIdempotencyKey("SESSION_REGISTRATION_DEDUCT:registration-saga:8:deduct"))
+                .thenReturn(Optional.empty());
+        when(userRepository.deductCreditsIfSufficient(USER_ID, 2)).thenReturn(1);
+        when(userRepository.findCreditsById(USER_ID)).thenReturn(Optional.of(6));
+        when(userRepository.findVersionById(USER_ID)).thenReturn(Optional.of(4L));
+
+        // When
+        CreditOperationResponse response = internalCreditService.deductCreditsForSessionRegistration(
+                "registration-saga:8:deduct", deductRequest());
+
+        // Then
+        assertEquals(8, response.previousCredits());
+        assertEquals(6, response.newCredits());
+        ArgumentCaptor<CreditTransaction> entry = ArgumentCaptor.forClass(CreditTransaction.class);
+        verify(creditTransactionRepository).save(entry.capture());
+        assertEquals("SESSION_REGISTRATION_DEDUCT:registration-saga:8:deduct", entry.getValue().getIdempotencyKey());
+        assertEquals(6, entry.getValue().getBalanceAfter());
+    }
+
+    @Test
+    void deductCredits_retriedKey_shouldReplayRecordedEntryTest() {
+        // Given
+        when(creditTransactionRepository.findByIdempotencyKey("SESSION_REGISTRATION_DEDUCT:registration-saga:7:deduct"))
+                .thenReturn(Optional.of(CreditTransaction.builder()
+                        .userId(USER_ID)
+                        .sessionId(SESSION_ID)
+                        .operation(CreditOperation.SESSION_REGISTRATION_DEDUCT)
+                        .delta(-2)
+                        .balanceAfter(8)
+                        .build()));
+
+        // When
+        CreditOperationResponse response = internalCreditService.deductCreditsForSessionRegistration(
+                "registration-saga:7:deduct", deductRequest());
+
+        // Then
+        assertEquals(10, response.previousCredits());
+        assertEquals(8, response.newCredits());
+        verify(userRepository, never()).deductCreditsIfSufficient(anyLong(), anyInt());
+        verify(creditTransactionRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchRefund_shouldSkipReplayedUsersAndRecordBalancesTest() {
+        // Given : user 3 was already refunded under this key
+        when(creditTransactionRepository.findByIdempotencyKeyIn(anyList()))
+                .thenReturn(List.of(CreditTransaction.builder().userId(3L).build()));
+        when(userRepository.addCreditsToUsers(List.of(USER_ID, 4L), 2)).thenReturn(2);
+        when(userRepository.findCreditsByIds(List.of(USER_ID, 4L)))
+                .thenReturn(List.of(new Object[]{USER_ID, 12}, new Object[]{4L, 3}));
+
+        // When
+        internalCreditService.batchRefundCreditsForCancellation("cancel-5", BatchCreditOperationRequest.builder()
+                .sessionId(SESSION_ID)
+                .participantIds(List.of(USER_ID, 3L, 4L))
+                .creditsPerParticipant(2)
+                .internalSecret("secret")
+                .build());
+
+        // Then
+        ArgumentCaptor<List<CreditTransaction>> entries = ArgumentCaptor.forClass(List.class);
+        verify(creditTransactionRepository).saveAll(entries.capture());
+        Map<Long, CreditTransaction> byUser = entries.getValue().stream()
+                .collect(Collectors.toMap(CreditTransaction::getUserId, entry -> entry));
+        assertEquals(2, byUser.size());
+        assertEquals(12, byUser.get(USER_ID).getBalanceAfter());
+        assertEquals(3, byUser.get(4L).getBalanceAfter());
+        assertEquals("SESSION_CANCELLATION_REFUND:cancel-5:4", byUser.get(4L).getIdempotencyKey());
+    }
+
+    private SessionRegistrationDeductRequest deductRequest() {
+        return new SessionRegistrationDeductRequest(USER_ID, SESSION_ID, 2, "secret");
+    }
+}
@@ -7,10 +7,12 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @RequiredArgsConstructor
 @EnableMongoRepositories(basePackages = "jroullet.msnotification.repository")
+@EnableScheduling
 @Slf4j
 public class MsNotificationApplication implements CommandLineRunner {
 
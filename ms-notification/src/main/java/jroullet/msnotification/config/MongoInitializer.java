@@ -22,7 +22,7 @@ public class MongoInitializer {
 
     @EventListener(ApplicationReadyEvent.class)
     public void initializeIndexes() {
-        log.info("Creating MongoDB index for optimal query performance");
+        log.info("Creating MongoDB indexes for optimal query performance");
 
         try {
             IndexOperations indexOps = mongoTemplate.indexOps(Notification.class);
@@ -34,11 +34,48 @@ public class MongoInitializer {
             indexOps.createIndex(sessionIdIndex);
             log.info("Index created : idx_sessionId");
 
+            // findBySessionIdAndEventType : enrollment notifications of a session
+            Index sessionIdEventTypeIndex = new Index()
+                    .on("sessionId", Sort.Direction.ASC)
+                    .on("eventType", Sort.Direction.ASC)
+                    .named("idx_sessionId_eventType");
+
+            indexOps.createIndex(sessionIdEventTypeIndex);
+            log.info("Index created : idx_sessionId_eventType");
+
+            // findByStatus : FAILED notifications for retries, oldest first
+            Index statusCreatedAtIndex = new Index()
+                    .on("status", Sort.Direction.ASC)
+                    .on("createdAt", Sort.Direction.ASC)
+                    .named("idx_status_createdAt");
+
+            indexOps.createIndex(statusCreatedAtIndex);
+            log.info("Index created : idx_status_createdAt");
+
+            // Delivery queue : due FAILED and queued notifications, see NotificationDeliveryQueue
+            Index statusNextAttemptAtIndex = new Index()
+                    .on("status", Sort.Direction.ASC)
+                    .on("nextAttemptAt", Sort.Direction.ASC)
+                    .named("idx_status_nextAttemptAt");
+
+            indexOps.createIndex(statusNextAttemptAtIndex);
+            log.info("Index created : idx_status_nextAttemptAt");
+
+            // Batch idempotency : an email of a source event is queued once, direct events have no key
+            Index deliveryKeyIndex = new Index()
+                    .on("deliveryKey", Sort.Direction.ASC)
+                    .unique()
+                    .sparse()
+                    .named("idx_deliveryKey");
+
+            indexOps.createIndex(deliveryKeyIndex);
+            log.info("Index created : idx_deliveryKey");
+
             var indexes = indexOps.getIndexInfo();
             log.info("Total indexes: {}", indexes.size());
 
         } catch (Exception e) {
-            log.error("Error creating MongoDB index", e);
+            log.error("Error creating MongoDB indexes", e);
         }
     }
 
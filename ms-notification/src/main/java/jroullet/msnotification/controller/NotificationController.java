@@ -3,6 +3,7 @@ package jroullet.msnotification.controller;
 import jakarta.validation.Valid;
 import jroullet.msnotification.dto.request.*;
 import jroullet.msnotification.dto.response.BulkNotificationEventResponse;
+import jroullet.msnotification.dto.response.NotificationBatchResponse;
 import jroullet.msnotification.dto.response.NotificationEventResponse;
 import jroullet.msnotification.security.SecurityValidator;
 import jroullet.msnotification.service.notification.NotificationService;
@@ -70,6 +71,23 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Queue a batch of single and bulk notification events, returns before any email is sent
+     *
+     * USAGE:
+     * - Session outbox of ms-course-mgmt: session created/modified/cancelled/completed events
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<NotificationBatchResponse> processNotificationBatch(
+            @Valid @RequestBody NotificationBatchRequest batchRequest) {
+
+        securityValidator.validateInternalSecret(batchRequest.internalSecret());
+
+        NotificationBatchResponse response = notificationService.processNotificationBatch(batchRequest);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get notification history for specific session
      *
@@ -125,11 +143,11 @@ public class NotificationController {
     }
 
     /**
-     * Retry all failed notifications
+     * Queue all failed notifications for retry
      *
      * USAGE:
      * - Bulk retry after SMTP service recovery
-     * - Scheduled retry job for failed deliveries
+     * - Returns once queued, the delivery workers send them in the background
      */
     @PostMapping("/retry-all")
     public ResponseEntity<BulkNotificationEventResponse> retryAllFailedNotifications(
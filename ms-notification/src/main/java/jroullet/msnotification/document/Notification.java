@@ -84,4 +84,26 @@ public class Notification {
      */
     private List<NotificationRecipient> additionalParticipants;
 
+    /**
+     * Delivery attempts made so far
+     */
+    private Integer attempts;
+
+    /**
+     * When a worker may (re)try the delivery of a FAILED or queued PENDING notification
+     * Null once SENT or when all attempts are exhausted
+     */
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Worker currently delivering the notification, its lease ends at nextAttemptAt
+     */
+    private String leaseOwner;
+
+    /**
+     * Idempotency key of a notification queued from a batch : source event key + recipient id
+     * Unique, a batch delivered twice queues each email once. Null for direct events
+     */
+    private String deliveryKey;
+
 }
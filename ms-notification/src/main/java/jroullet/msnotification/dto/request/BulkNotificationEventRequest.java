@@ -22,5 +22,8 @@ public record BulkNotificationEventRequest(
         List<NotificationUserDto> recipients,
 
         @NotNull(message = "Internal secret is required")
-        String internalSecret
+        String internalSecret,
+
+        // Idempotency key of the source event (batch only), null for direct calls
+        String eventKey
 ) {}
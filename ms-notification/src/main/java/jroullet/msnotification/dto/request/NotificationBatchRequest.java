@@ -0,0 +1,22 @@
+package jroullet.msnotification.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * REQUEST : several notification events received from the session outbox of ms-course-mgmt
+ * The internalSecret of the batch is the one checked, the nested events carry the same value
+ * Every event carries an eventKey (idempotency key of its outbox row)
+ */
+public record NotificationBatchRequest(
+        @Valid
+        List<NotificationEventRequest> events,
+
+        @Valid
+        List<BulkNotificationEventRequest> bulkEvents,
+
+        @NotNull(message = "Internal secret is required")
+        String internalSecret
+) {}
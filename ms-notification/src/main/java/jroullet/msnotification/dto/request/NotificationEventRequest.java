@@ -30,6 +30,9 @@ public record NotificationEventRequest (
     @NotNull(message = "Internal secret is required")
     String internalSecret,
 
-    List<NotificationRecipient> additionalParticipants
+    List<NotificationRecipient> additionalParticipants,
+
+    // Idempotency key of the source event (batch only), null for direct calls
+    String eventKey
 
 ){}
@@ -0,0 +1,13 @@
+package jroullet.msnotification.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * RESPONSE : batch queued for delivery, duplicates are notifications already queued by an earlier delivery of the batch
+ */
+public record NotificationBatchResponse(
+        Integer receivedEvents,
+        Integer queuedNotifications,
+        Integer duplicateNotifications,
+        LocalDateTime queuedAt
+) {}
@@ -36,6 +36,10 @@ public interface NotificationMapper {
     @Mapping(target = "status", constant = "PENDING")
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "sentAt", ignore = true)
+    @Mapping(target = "attempts", constant = "0")
+    @Mapping(target = "nextAttemptAt", ignore = true)
+    @Mapping(target = "leaseOwner", ignore = true)
+    @Mapping(target = "deliveryKey", ignore = true)
     @Mapping(target = "templateName", source = "eventType", qualifiedByName = "mapEventTypeToTemplate")
     @Mapping(target = "emailSubject", source = "eventType", qualifiedByName = "mapEventTypeToSubject")
     @Mapping(target = "sessionId", source = "session.id")
@@ -0,0 +1,36 @@
+package jroullet.msnotification.repository;
+
+import jroullet.msnotification.document.Notification;
+
+import java.util.List;
+
+/**
+ * Bulk write path for bulk events : one round trip per step instead of one per recipient
+ */
+public interface NotificationBulkRepository {
+
+    /**
+     * Insert all notifications with a single insertMany, ids are set on the given documents
+     *
+     * @param notifications The PENDING notifications of a bulk event
+     * @return The inserted notifications
+     */
+    List<Notification> insertAll(List<Notification> notifications);
+
+    /**
+     * Insert all notifications with a single unordered insertMany, skipping the ones whose deliveryKey is already stored
+     *
+     * @param notifications Notifications carrying a deliveryKey
+     * @return Number of notifications inserted
+     */
+    int insertAbsent(List<Notification> notifications);
+
+    /**
+     * Apply the delivery fields (status, sentAt, errorMessage, attempts, nextAttemptAt) of every notification with a single unordered bulkWrite
+     * and release their lease, a notification no longer leased by leaseOwner is left alone
+     *
+     * @param notifications Notifications carrying their delivery result
+     * @param leaseOwner    Owner of the lease taken when the notifications were inserted
+     */
+    void updateDeliveryStatuses(List<Notification> notifications, String leaseOwner);
+}
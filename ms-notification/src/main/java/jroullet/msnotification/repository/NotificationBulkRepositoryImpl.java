@@ -0,0 +1,68 @@
+package jroullet.msnotification.repository;
+
+import jroullet.msnotification.document.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class NotificationBulkRepositoryImpl implements NotificationBulkRepository {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Notification> insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return notifications;
+        }
+        return new ArrayList<>(mongoTemplate.insertAll(notifications));
+    }
+
+    @Override
+    public int insertAbsent(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        // Unordered : a duplicate does not stop the inserts after it
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class);
+        bulkOps.insert(notifications);
+        try {
+            return bulkOps.execute().getInsertedCount();
+        } catch (BulkOperationException e) {
+            // Duplicate deliveryKey (idx_deliveryKey) : already queued, anything else is a real failure
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw e;
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+
+    @Override
+    public void updateDeliveryStatuses(List<Notification> notifications, String leaseOwner) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        // Unordered : each update targets its own document, the server can apply them in any order
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class);
+        notifications.forEach(notification -> bulkOps.updateOne(
+                Query.query(Criteria.where("_id").is(notification.getId())
+                        .and("leaseOwner").is(leaseOwner)),
+                new Update()
+                        .set("status", notification.getStatus())
+                        .set("sentAt", notification.getSentAt())
+                        .set("errorMessage", notification.getErrorMessage())
+                        .set("attempts", notification.getAttempts())
+                        .set("nextAttemptAt", notification.getNextAttemptAt())
+                        .unset("leaseOwner")));
+        bulkOps.execute();
+    }
+}
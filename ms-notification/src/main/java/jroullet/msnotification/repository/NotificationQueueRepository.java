@@ -0,0 +1,35 @@
+package jroullet.msnotification.repository;
+
+import jroullet.msnotification.document.Notification;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * FAILED notifications used as delivery jobs, see NotificationDeliveryQueue.
+ * A leased job is PENDING until its outcome is stored.
+ */
+public interface NotificationQueueRepository {
+
+    /**
+     * Atomically lease the oldest due job (findAndModify) : it becomes PENDING and its nextAttemptAt moves to leaseUntil.
+     * Enqueued PENDING notifications and the ones whose in-flight lease expired are due as well
+     *
+     * @return The leased notification, empty when no job is due
+     */
+    Optional<Notification> claimNextDue(String leaseOwner, LocalDateTime now, LocalDateTime leaseUntil);
+
+    /**
+     * Store the outcome of a leased job, only if the lease is still held by leaseOwner
+     *
+     * @return false when the lease expired and another worker took the job
+     */
+    boolean completeLeased(Notification notification, String leaseOwner);
+
+    /**
+     * Make every FAILED notification due now with a fresh attempt budget
+     *
+     * @return Number of notifications enqueued
+     */
+    long requeueFailed(LocalDateTime now);
+}
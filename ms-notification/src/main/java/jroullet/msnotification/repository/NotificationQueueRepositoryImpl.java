@@ -0,0 +1,62 @@
+package jroullet.msnotification.repository;
+
+import jroullet.msnotification.document.Notification;
+import jroullet.msnotification.enums.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class NotificationQueueRepositoryImpl implements NotificationQueueRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Notification> claimNextDue(String leaseOwner, LocalDateTime now, LocalDateTime leaseUntil) {
+        // Served by idx_status_nextAttemptAt. A due PENDING notification was enqueued by a batch,
+        // or its in-flight lease expired : its sender died before storing the outcome
+        Query query = Query.query(Criteria.where("status").in(NotificationStatus.FAILED, NotificationStatus.PENDING)
+                        .and("nextAttemptAt").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        Update update = new Update()
+                .set("status", NotificationStatus.PENDING)
+                .set("nextAttemptAt", leaseUntil)
+                .set("leaseOwner", leaseOwner);
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Notification.class));
+    }
+
+    @Override
+    public boolean completeLeased(Notification notification, String leaseOwner) {
+        Query query = Query.query(Criteria.where("_id").is(notification.getId())
+                .and("leaseOwner").is(leaseOwner));
+        Update update = new Update()
+                .set("status", notification.getStatus())
+                .set("sentAt", notification.getSentAt())
+                .set("errorMessage", notification.getErrorMessage())
+                .set("attempts", notification.getAttempts())
+                .set("nextAttemptAt", notification.getNextAttemptAt())
+                .unset("leaseOwner");
+
+        return mongoTemplate.updateFirst(query, update, Notification.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public long requeueFailed(LocalDateTime now) {
+        // Leased jobs are PENDING until their outcome is stored, a FAILED notification is never leased
+        Query query = Query.query(Criteria.where("status").is(NotificationStatus.FAILED));
+        Update update = new Update()
+                .set("nextAttemptAt", now)
+                .set("attempts", 0);
+
+        return mongoTemplate.updateMulti(query, update, Notification.class).getModifiedCount();
+    }
+}
@@ -7,7 +7,8 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface NotificationRepository extends MongoRepository<Notification, String> {
+public interface NotificationRepository extends MongoRepository<Notification, String>,
+        NotificationBulkRepository, NotificationQueueRepository {
 
     /**
      * Find all notifications for a specific session
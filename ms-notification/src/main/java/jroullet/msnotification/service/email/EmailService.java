@@ -11,8 +11,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import jakarta.mail.internet.MimeMessage;
 import java.time.format.DateTimeFormatter;
@@ -24,10 +22,16 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class EmailService {
 
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
     // Will generate emails based on Thymeleaf templates
-    private final TemplateEngine templateEngine;
+    private final EmailTemplateRenderer emailTemplateRenderer;
     // JavaMailSender for sending emails via SMTP
     private final JavaMailSender mailSender;
+    // Reuses open SMTP connections instead of one handshake per email
+    private final SmtpTransportPool smtpTransportPool;
 
     @Value("${notification.email.enabled:false}")
     private boolean emailEnabled;
@@ -47,10 +51,11 @@ public class EmailService {
      */
     public boolean sendNotificationEmail(Notification notification) {
         try {
-            // Build email content from template
-            String emailContent = buildEmailContent(
+            // Build email content from template, session content is rendered once per bulk event
+            String emailContent = emailTemplateRenderer.render(
                     notification.getTemplateName(),
-                    createTemplateVariables(notification)
+                    createSessionVariables(notification),
+                    createRecipientVariables(notification)
             );
 
             // Send email (mock or real)
@@ -120,36 +125,32 @@ public class EmailService {
         //HTML content
         helper.setText(emailContent, true);
 
-        mailSender.send(message);
+        smtpTransportPool.send(message);
     }
 
     /**
-     * Build email content using Thymeleaf template
+     * Recipient variables for Thymeleaf, see EmailTemplateRenderer.RECIPIENT_VARIABLES
      */
-    private String buildEmailContent(String templateName, Map<String, Object> variables) {
-        Context context = new Context();
-        context.setVariables(variables);
+    private Map<String, String> createRecipientVariables(Notification notification) {
+        NotificationRecipient recipient = notification.getRecipient();
 
-        String templatePath = "emails/users/" + templateName;
-        return templateEngine.process(templatePath, context);
+        Map<String, String> variables = new HashMap<>();
+        variables.put("firstName", recipient.getFirstName());
+        variables.put("lastName", recipient.getLastName());
+        variables.put("fullName", getFullName(recipient));
+        variables.put("email", recipient.getEmail());
+        variables.put("notificationDate", formatDateTime(notification.getCreatedAt()));
+        return variables;
     }
 
     /**
-     * Create template variables for Thymeleaf
-     * All data needed for email generation
+     * Template variables shared by every recipient of the event
      */
-    private Map<String, Object> createTemplateVariables(Notification notification) {
+    private Map<String, Object> createSessionVariables(Notification notification) {
         Map<String, Object> variables = new HashMap<>();
 
-        NotificationRecipient recipient = notification.getRecipient();
         NotificationSession session = notification.getSession();
 
-        // Recipient variables
-        variables.put("firstName", recipient.getFirstName());
-        variables.put("lastName", recipient.getLastName());
-        variables.put("fullName", getFullName(recipient));
-        variables.put("email", recipient.getEmail());
-
         // Session variables
         variables.put("sessionSubject", session.getSubject().toString());
         variables.put("sessionDescription", session.getDescription());
@@ -174,7 +175,6 @@ public class EmailService {
 
         // Event specific variables
         variables.put("eventType", notification.getEventType().toString());
-        variables.put("notificationDate", formatDateTime(notification.getCreatedAt()));
 
         // Session gets modified
         if ((notification.getEventType() == NotificationEventType.SESSION_MODIFIED_TO_USER_NOTIFICATION
@@ -208,15 +208,15 @@ public class EmailService {
     }
     private String formatDateTime(java.time.LocalDateTime dateTime) {
         if (dateTime == null) return "";
-        return dateTime.format(DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm"));
+        return dateTime.format(DATE_TIME_FORMATTER);
     }
     private String formatDate(java.time.LocalDateTime dateTime) {
         if (dateTime == null) return "";
-        return dateTime.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        return dateTime.format(DATE_FORMATTER);
     }
     private String formatTime(java.time.LocalDateTime dateTime) {
         if (dateTime == null) return "";
-        return dateTime.format(DateTimeFormatter.ofPattern("HH:mm"));
+        return dateTime.format(TIME_FORMATTER);
     }
 
     /**
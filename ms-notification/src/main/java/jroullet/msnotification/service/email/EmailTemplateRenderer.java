@@ -0,0 +1,120 @@
+package jroullet.msnotification.service.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Renders the email templates under templates/emails/users.
+ *
+ * The recipients of a bulk event get the same session content : a template is rendered once per
+ * (template, session variables) with placeholders for the recipient variables, then each email only
+ * splices its HTML-escaped recipient values into the cached page.
+ * Recipient variables must only be used through th:text in the templates (no th:if / th:href).
+ *
+ * Templates are parsed at startup so the first email does not pay the parsing cost.
+ */
+@Component
+@Slf4j
+public class EmailTemplateRenderer {
+
+    public static final Set<String> RECIPIENT_VARIABLES = Set.of("firstName", "lastName", "fullName", "email", "notificationDate");
+
+    private static final String TEMPLATE_PREFIX = "emails/users/";
+    private static final String TEMPLATE_LOCATION = "classpath:templates/" + TEMPLATE_PREFIX + "**/*.html";
+
+    private final TemplateEngine templateEngine;
+    // Random per instance, so session content can not forge a placeholder
+    private final String placeholderPrefix = "rcpt-" + UUID.randomUUID() + "-";
+    private final Map<RenderKey, String> renderedPages;
+
+    public EmailTemplateRenderer(TemplateEngine templateEngine,
+                                 @Value("${notification.email.render-cache-size:200}") int renderCacheSize) {
+        this.templateEngine = templateEngine;
+        this.renderedPages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RenderKey, String> eldest) {
+                return size() > renderCacheSize;
+            }
+        };
+    }
+
+    /**
+     * @param templateName       template path under emails/users, e.g. student/session-cancelled-student
+     * @param sessionVariables   variables shared by every recipient of the event
+     * @param recipientVariables values of RECIPIENT_VARIABLES for this email
+     */
+    public String render(String templateName, Map<String, Object> sessionVariables, Map<String, String> recipientVariables) {
+        RenderKey key = new RenderKey(templateName, sessionVariables);
+        String page;
+        synchronized (renderedPages) {
+            page = renderedPages.get(key);
+        }
+        if (page == null) {
+            page = renderWithPlaceholders(templateName, sessionVariables);
+            synchronized (renderedPages) {
+                renderedPages.put(key, page);
+            }
+        }
+        return splice(page, recipientVariables);
+    }
+
+    // Parses every template once, Thymeleaf keeps the parsed templates in its own cache
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            Resource[] templates = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION);
+            for (Resource template : templates) {
+                String templateName = templateName(template);
+                try {
+                    templateEngine.process(TEMPLATE_PREFIX + templateName, new Context());
+                } catch (Exception e) {
+                    log.warn("Failed to warm up email template {}: {}", templateName, e.getMessage());
+                }
+            }
+            log.info("{} email templates parsed at startup", templates.length);
+        } catch (IOException e) {
+            log.warn("Failed to list email templates for warmup: {}", e.getMessage());
+        }
+    }
+
+    private String renderWithPlaceholders(String templateName, Map<String, Object> sessionVariables) {
+        Map<String, Object> variables = new HashMap<>(sessionVariables);
+        RECIPIENT_VARIABLES.forEach(name -> variables.put(name, placeholderPrefix + name));
+
+        Context context = new Context();
+        context.setVariables(variables);
+        return templateEngine.process(TEMPLATE_PREFIX + templateName, context);
+    }
+
+    private String splice(String page, Map<String, String> recipientVariables) {
+        String email = page;
+        for (String name : RECIPIENT_VARIABLES) {
+            String value = recipientVariables.get(name);
+            email = email.replace(placeholderPrefix + name, value != null ? HtmlUtils.htmlEscape(value) : "");
+        }
+        return email;
+    }
+
+    private static String templateName(Resource template) throws IOException {
+        String path = template.getURL().getPath();
+        String name = path.substring(path.lastIndexOf(TEMPLATE_PREFIX) + TEMPLATE_PREFIX.length());
+        return name.substring(0, name.length() - ".html".length());
+    }
+
+    private record RenderKey(String templateName, Map<String, Object> sessionVariables) {}
+}
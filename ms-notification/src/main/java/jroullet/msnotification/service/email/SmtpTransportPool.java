@@ -0,0 +1,229 @@
+package jroullet.msnotification.service.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps authenticated SMTP connections open and reuses them across emails.
+ * JavaMailSenderImpl.send opens a new TCP + STARTTLS + AUTH session for every message,
+ * the pool only pays this handshake once per connection.
+ *
+ * - At most `size` connections are open, a sender waits up to borrow-timeout-seconds for one
+ * - A connection idle for more than validate-after-idle-seconds is checked (NOOP) before reuse
+ * - A connection is recycled after max-messages-per-connection messages or when idle longer than idle-timeout-seconds
+ * - A connection that failed a send (any exception) is closed, never put back
+ *
+ * Metrics:
+ * - smtp.pool.connections.active / idle : connections in use / waiting in the pool
+ * - smtp.pool.handshakes : new SMTP sessions opened
+ * - smtp.pool.handshakes.avoided : messages sent on a reused connection
+ * - smtp.pool.connections.recycled : connections closed by the pool (expired, broken, idle)
+ */
+@Component
+@Slf4j
+public class SmtpTransportPool {
+
+    private final JavaMailSender mailSender;
+    private final Semaphore permits;
+    // Most recently used first : warm connections are reused, cold ones age at the tail
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter handshakes;
+    private final Counter handshakesAvoided;
+    private final Counter recycled;
+
+    @Value("${notification.email.pool.borrow-timeout-seconds:30}")
+    private long borrowTimeoutSeconds;
+
+    @Value("${notification.email.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${notification.email.pool.idle-timeout-seconds:60}")
+    private long idleTimeoutSeconds;
+
+    @Value("${notification.email.pool.validate-after-idle-seconds:5}")
+    private long validateAfterIdleSeconds;
+
+    public SmtpTransportPool(JavaMailSender mailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${notification.email.pool.size:8}") int size) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(size, true);
+        Gauge.builder("smtp.pool.connections.active", active, AtomicInteger::get)
+                .description("SMTP connections currently sending")
+                .register(meterRegistry);
+        Gauge.builder("smtp.pool.connections.idle", idle, BlockingDeque::size)
+                .description("Open SMTP connections waiting in the pool")
+                .register(meterRegistry);
+        this.handshakes = Counter.builder("smtp.pool.handshakes")
+                .description("SMTP sessions opened (TCP + STARTTLS + AUTH)")
+                .register(meterRegistry);
+        this.handshakesAvoided = Counter.builder("smtp.pool.handshakes.avoided")
+                .description("Messages sent on a reused SMTP connection")
+                .register(meterRegistry);
+        this.recycled = Counter.builder("smtp.pool.connections.recycled")
+                .description("SMTP connections closed by the pool")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends the message on a pooled connection.
+     * Falls back to JavaMailSender.send when the sender does not expose its SMTP session.
+     */
+    public void send(MimeMessage message) throws MessagingException {
+        if (!(mailSender instanceof JavaMailSenderImpl sender)) {
+            mailSender.send(message);
+            return;
+        }
+
+        acquirePermit();
+        active.incrementAndGet();
+        PooledTransport pooled = null;
+        boolean sent = false;
+        try {
+            pooled = borrow(sender);
+            message.saveChanges();
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+            pooled.messagesSent++;
+            pooled.lastUsedAt = System.nanoTime();
+            sent = true;
+        } finally {
+            // Every exit returns the connection or closes it, whatever was thrown
+            if (pooled != null) {
+                if (sent) {
+                    giveBack(pooled);
+                } else {
+                    close(pooled);
+                }
+            }
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    // Closes connections nobody used for idle-timeout-seconds
+    @Scheduled(fixedDelayString = "${notification.email.pool.eviction-interval-ms:30000}")
+    public void evictIdleConnections() {
+        for (PooledTransport pooled : List.copyOf(idle)) {
+            if (idleFor(pooled) > TimeUnit.SECONDS.toNanos(idleTimeoutSeconds) && idle.remove(pooled)) {
+                close(pooled);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private void acquirePermit() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new MessagingException("No SMTP connection available after " + borrowTimeoutSeconds + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+    }
+
+    private PooledTransport borrow(JavaMailSenderImpl sender) throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            boolean reusable = false;
+            try {
+                reusable = isReusable(pooled);
+            } finally {
+                if (!reusable) {
+                    close(pooled);
+                }
+            }
+            if (reusable) {
+                handshakesAvoided.increment();
+                return pooled;
+            }
+        }
+        return connect(sender);
+    }
+
+    private boolean isReusable(PooledTransport pooled) {
+        long idleNanos = idleFor(pooled);
+        if (idleNanos > TimeUnit.SECONDS.toNanos(idleTimeoutSeconds)) {
+            return false;
+        }
+        // isConnected sends a NOOP, only worth it when the server may have dropped the connection
+        return idleNanos < TimeUnit.SECONDS.toNanos(validateAfterIdleSeconds) || pooled.transport.isConnected();
+    }
+
+    private void giveBack(PooledTransport pooled) {
+        if (pooled.messagesSent >= maxMessagesPerConnection) {
+            close(pooled);
+        } else {
+            idle.offerFirst(pooled);
+        }
+    }
+
+    private PooledTransport connect(JavaMailSenderImpl sender) throws MessagingException {
+        Transport transport = sender.getSession().getTransport(sender.getProtocol() != null ? sender.getProtocol() : "smtp");
+        // Same credentials handling as JavaMailSenderImpl.connectTransport
+        String username = sender.getUsername() == null || sender.getUsername().isEmpty() ? null : sender.getUsername();
+        String password = sender.getPassword() == null || sender.getPassword().isEmpty() ? null : sender.getPassword();
+        try {
+            transport.connect(sender.getHost(), sender.getPort(), username, password);
+        } catch (MessagingException | RuntimeException e) {
+            closeQuietly(transport);
+            throw e;
+        }
+        handshakes.increment();
+        log.debug("Opened SMTP connection to {}:{}", sender.getHost(), sender.getPort());
+        return new PooledTransport(transport);
+    }
+
+    private void close(PooledTransport pooled) {
+        recycled.increment();
+        closeQuietly(pooled.transport);
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException | RuntimeException e) {
+            log.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private static long idleFor(PooledTransport pooled) {
+        return System.nanoTime() - pooled.lastUsedAt;
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private int messagesSent;
+        private volatile long lastUsedAt = System.nanoTime();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package jroullet.msnotification.service.notification;
 
 import jroullet.msnotification.dto.request.BulkNotificationEventRequest;
+import jroullet.msnotification.dto.request.NotificationBatchRequest;
 import jroullet.msnotification.dto.request.NotificationEventRequest;
 import jroullet.msnotification.dto.response.BulkNotificationEventResponse;
+import jroullet.msnotification.dto.response.NotificationBatchResponse;
 import jroullet.msnotification.dto.response.NotificationEventResponse;
 
 import java.util.List;
@@ -30,6 +32,17 @@ public interface NotificationService {
      */
     BulkNotificationEventResponse processBulkNotificationEvent(BulkNotificationEventRequest bulkRequest);
 
+    /**
+     * Queue a batch of single and bulk notification events, the emails are sent in the background
+     * USAGE :
+     * - Session outbox of ms-course-mgmt : SESSION_CREATED/MODIFIED/CANCELLED/COMPLETED events in one call
+     * Every event carries an eventKey : a batch delivered again queues each email only once
+     *
+     * @param batchRequest Single and bulk events to queue
+     * @return Totals of the queued batch
+     */
+    NotificationBatchResponse processNotificationBatch(NotificationBatchRequest batchRequest);
+
     /**
      * Get notification history for a specific session
      * USAGE :
@@ -63,11 +76,11 @@ public interface NotificationService {
     NotificationEventResponse retryNotification(String notificationId);
 
     /**
-     * Retry all failed notifications
+     * Queue all failed notifications for a background retry
      * USAGE :
-     * - Retry all notifications that failed to send
+     * - Retry all notifications that failed to send, with a fresh attempt budget
      *
-     * @return Bulk response with retry results
+     * @return Bulk response, totalRecipients is the number of queued notifications
      */
     BulkNotificationEventResponse retryAllFailedNotifications();
 
@@ -0,0 +1,113 @@
+package jroullet.msnotification.service.notification.delivery;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Delivers the recipients of a bulk event in parallel on a bounded worker pool.
+ * A bulk event of N recipients takes about ceil(N / concurrency) sends instead of N.
+ *
+ * Each recipient has its own timeout, started when its send starts (time spent in the queue does not count).
+ * A recipient that throws is mapped to a failure and does not affect the others.
+ * A recipient still sending at the timeout is not a failure : the send is not interrupted (the SMTP
+ * timeouts of EmailConfig bound it), the caller gets an "in flight" result and the real result is
+ * handed to `onLateCompletion` when the send ends.
+ */
+@Component
+@Slf4j
+public class BulkDeliveryEngine {
+
+    private final ThreadPoolExecutor executor;
+    private final long recipientTimeoutSeconds;
+
+    public BulkDeliveryEngine(@Value("${notification.bulk.concurrency:8}") int concurrency,
+                              @Value("${notification.bulk.queue-capacity:500}") int queueCapacity,
+                              @Value("${notification.bulk.recipient-timeout-seconds:60}") long recipientTimeoutSeconds) {
+        this.recipientTimeoutSeconds = recipientTimeoutSeconds;
+        AtomicInteger threadIndex = new AtomicInteger();
+        // CallerRunsPolicy : when the queue is full the request thread sends the email itself (backpressure)
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-delivery-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Runs `delivery` for every recipient and waits for all of them, at most recipient-timeout-seconds after each send started.
+     * Results keep the order of `recipients` :
+     * - `onFailure` builds the result of a recipient whose delivery threw
+     * - `onTimeout` builds the result of a recipient still sending at the timeout, its real result goes to `onLateCompletion`
+     */
+    public <T, R> List<R> deliverAll(List<T> recipients,
+                                     Function<T, R> delivery,
+                                     BiFunction<T, Throwable, R> onFailure,
+                                     Function<T, R> onTimeout,
+                                     BiConsumer<T, R> onLateCompletion) {
+        List<CompletableFuture<R>> deliveries = recipients.stream()
+                .map(recipient -> deliver(recipient, delivery, onFailure, onTimeout, onLateCompletion))
+                .toList();
+
+        return deliveries.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private <T, R> CompletableFuture<R> deliver(T recipient,
+                                                Function<T, R> delivery,
+                                                BiFunction<T, Throwable, R> onFailure,
+                                                Function<T, R> onTimeout,
+                                                BiConsumer<T, R> onLateCompletion) {
+        CompletableFuture<R> reported = new CompletableFuture<>();
+        executor.execute(() -> {
+            // The timer starts with the send : a recipient waiting for a worker is never reported as timed out
+            reported.completeOnTimeout(onTimeout.apply(recipient), recipientTimeoutSeconds, TimeUnit.SECONDS);
+            R result;
+            try {
+                result = delivery.apply(recipient);
+            } catch (Throwable e) {
+                result = onFailure.apply(recipient, unwrap(e));
+            }
+            // complete is atomic with the timeout : exactly one of the two results is reported
+            if (!reported.complete(result)) {
+                try {
+                    onLateCompletion.accept(recipient, result);
+                } catch (Exception e) {
+                    log.error("Failed to handle a late delivery result: {}", e.getMessage(), e);
+                }
+            }
+        });
+        return reported;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return (e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null
+                ? e.getCause() : e;
+    }
+
+    // Lets in-flight emails finish (and their late results be stored) on a graceful shutdown
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(recipientTimeoutSeconds, TimeUnit.SECONDS)) {
+            log.warn("{} bulk email(s) not sent before shutdown", executor.shutdownNow().size());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package jroullet.msnotification.service.notification.delivery;
+
+/**
+ * Result of one delivery attempt of a notification.
+ * An in flight attempt is neither sent nor failed yet : the send outlived the delivery timeout and
+ * its real outcome is stored when it ends.
+ */
+public record DeliveryOutcome(boolean sent, boolean inFlight, String errorMessage) {
+
+    public static DeliveryOutcome success() {
+        return new DeliveryOutcome(true, false, null);
+    }
+
+    public static DeliveryOutcome failure(String errorMessage) {
+        return new DeliveryOutcome(false, false, errorMessage);
+    }
+
+    public static DeliveryOutcome stillSending() {
+        return new DeliveryOutcome(false, true, null);
+    }
+}
@@ -0,0 +1,134 @@
+package jroullet.msnotification.service.notification.delivery;
+
+import jroullet.msnotification.document.Notification;
+import jroullet.msnotification.enums.NotificationStatus;
+import jroullet.msnotification.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delivery queue backed by the notifications collection.
+ * A FAILED notification with a nextAttemptAt is a job : NotificationDeliveryWorker leases due jobs and
+ * retries them in the background with exponential backoff and jitter, until max-attempts is reached.
+ * Batches are enqueued as PENDING jobs due right away (first attempt made by the worker).
+ *
+ * A leased job is PENDING and its nextAttemptAt moves to the end of the lease, so the job of a crashed worker
+ * becomes due again. Bulk events lease their PENDING notifications the same way while sending them.
+ * A send that outlives its delivery timeout keeps the lease and stores its real outcome when it ends (completeLate) :
+ * only sends that really failed become FAILED and are retried, delivered emails are never sent twice.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationDeliveryQueue {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final NotificationRepository notificationRepository;
+
+    @Value("${notification.delivery.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${notification.delivery.base-backoff-seconds:30}")
+    private long baseBackoffSeconds;
+
+    @Value("${notification.delivery.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${notification.delivery.lease-seconds:300}")
+    private long leaseSeconds;
+
+    /**
+     * Record a delivery attempt on the notification (not saved) :
+     * SENT, FAILED with its next attempt, or FAILED for good once max-attempts is reached
+     */
+    public void applyOutcome(Notification notification, DeliveryOutcome outcome) {
+        LocalDateTime now = LocalDateTime.now();
+        int attempts = (notification.getAttempts() != null ? notification.getAttempts() : 0) + 1;
+        notification.setAttempts(attempts);
+
+        if (outcome.sent()) {
+            notification.setStatus(NotificationStatus.SENT);
+            notification.setSentAt(now);
+            notification.setErrorMessage(null);
+            notification.setNextAttemptAt(null);
+            return;
+        }
+
+        notification.setStatus(NotificationStatus.FAILED);
+        notification.setErrorMessage(truncate(outcome.errorMessage()));
+        notification.setNextAttemptAt(attempts < maxAttempts ? now.plus(backoff(attempts)) : null);
+    }
+
+    /**
+     * Make notifications due now (not saved) : stored PENDING, NotificationDeliveryWorker sends them in the background
+     */
+    public void enqueue(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        notifications.forEach(notification -> notification.setNextAttemptAt(now));
+    }
+
+    /**
+     * Mark notifications about to be sent by `leaseOwner` (not saved) : they stay PENDING under a lease
+     * until their outcome is stored, a send outliving its delivery timeout is never seen as FAILED
+     */
+    public void lease(List<Notification> notifications, String leaseOwner) {
+        LocalDateTime leaseUntil = LocalDateTime.now().plusSeconds(leaseSeconds);
+        notifications.forEach(notification -> {
+            notification.setLeaseOwner(leaseOwner);
+            notification.setNextAttemptAt(leaseUntil);
+        });
+    }
+
+    /**
+     * Store the outcome of a send that ended after its delivery timeout, if `leaseOwner` still holds the lease
+     */
+    public boolean completeLate(Notification notification, DeliveryOutcome outcome, String leaseOwner) {
+        applyOutcome(notification, outcome);
+        return complete(notification, leaseOwner);
+    }
+
+    /**
+     * Lease up to `limit` due jobs for `leaseOwner`, one findAndModify each
+     */
+    public List<Notification> claim(String leaseOwner, int limit) {
+        List<Notification> jobs = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+        while (jobs.size() < limit) {
+            Optional<Notification> job = notificationRepository.claimNextDue(leaseOwner, now, leaseUntil);
+            if (job.isEmpty()) {
+                break;
+            }
+            jobs.add(job.get());
+        }
+        return jobs;
+    }
+
+    public boolean complete(Notification notification, String leaseOwner) {
+        return notificationRepository.completeLeased(notification, leaseOwner);
+    }
+
+    public long requeueAllFailed() {
+        return notificationRepository.requeueFailed(LocalDateTime.now());
+    }
+
+    // base * 2^(attempts - 1) capped at max, "equal jitter" : between half and all of it
+    private Duration backoff(int attempts) {
+        long exponential = baseBackoffSeconds << Math.min(attempts - 1, 20);
+        long capped = Math.min(exponential, maxBackoffSeconds);
+        long half = capped / 2;
+        return Duration.ofSeconds(half + ThreadLocalRandom.current().nextLong(capped - half + 1));
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
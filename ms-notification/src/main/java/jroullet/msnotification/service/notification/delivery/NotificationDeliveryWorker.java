@@ -0,0 +1,132 @@
+package jroullet.msnotification.service.notification.delivery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jroullet.msnotification.document.Notification;
+import jroullet.msnotification.enums.NotificationStatus;
+import jroullet.msnotification.service.email.EmailUtilityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delivers due notifications in the background : queued batches and retries of failed deliveries.
+ * Every instance runs a worker with its own lease owner id, jobs are leased atomically
+ * so several instances share the queue without sending twice (unless a lease expires mid-send).
+ * A send outliving the delivery timeout keeps its lease, its outcome is stored when it ends :
+ * a job is only rescheduled once its send really failed.
+ *
+ * Metrics:
+ * - notifications.delivery.claimed : jobs leased
+ * - notifications.delivery.sent : jobs delivered
+ * - notifications.delivery.rescheduled : jobs failed again, retried later
+ * - notifications.delivery.exhausted : jobs failed for good (max-attempts reached)
+ * - notifications.delivery.lease.lost : outcomes dropped because the lease expired
+ */
+@Component
+@Slf4j
+public class NotificationDeliveryWorker {
+
+    private final NotificationDeliveryQueue deliveryQueue;
+    private final EmailUtilityService emailUtilityService;
+    private final BulkDeliveryEngine bulkDeliveryEngine;
+    private final String workerId = "delivery-worker-" + UUID.randomUUID();
+    private final Counter claimed;
+    private final Counter sent;
+    private final Counter rescheduled;
+    private final Counter exhausted;
+    private final Counter leaseLost;
+
+    @Value("${notification.delivery.batch-size:16}")
+    private int batchSize;
+
+    public NotificationDeliveryWorker(NotificationDeliveryQueue deliveryQueue,
+                                      EmailUtilityService emailUtilityService,
+                                      BulkDeliveryEngine bulkDeliveryEngine,
+                                      MeterRegistry meterRegistry) {
+        this.deliveryQueue = deliveryQueue;
+        this.emailUtilityService = emailUtilityService;
+        this.bulkDeliveryEngine = bulkDeliveryEngine;
+        this.claimed = counter(meterRegistry, "notifications.delivery.claimed", "Delivery jobs leased");
+        this.sent = counter(meterRegistry, "notifications.delivery.sent", "Delivery jobs sent");
+        this.rescheduled = counter(meterRegistry, "notifications.delivery.rescheduled", "Delivery jobs failed and rescheduled");
+        this.exhausted = counter(meterRegistry, "notifications.delivery.exhausted", "Delivery jobs failed after the last attempt");
+        this.leaseLost = counter(meterRegistry, "notifications.delivery.lease.lost", "Delivery outcomes dropped after a lease expired");
+    }
+
+    @Scheduled(fixedDelayString = "${notification.delivery.poll-interval-ms:10000}",
+            initialDelayString = "${notification.delivery.initial-delay-ms:30000}")
+    public void deliverDueNotifications() {
+        // Drains the due jobs batch after batch, a queued notification batch is not held back by the poll interval
+        while (deliverBatch() == batchSize) {
+            log.debug("Delivery batch full, claiming the next one");
+        }
+    }
+
+    // Returns the number of jobs claimed
+    private int deliverBatch() {
+        List<Notification> jobs;
+        try {
+            jobs = deliveryQueue.claim(workerId, batchSize);
+        } catch (Exception e) {
+            log.error("Failed to claim delivery jobs: {}", e.getMessage());
+            return 0;
+        }
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        claimed.increment(jobs.size());
+        log.info("Delivering {} queued notification(s)", jobs.size());
+
+        List<DeliveryOutcome> outcomes = bulkDeliveryEngine.deliverAll(
+                jobs,
+                job -> emailUtilityService.sendEmailWithRetry(job)
+                        ? DeliveryOutcome.success()
+                        : DeliveryOutcome.failure("Email delivery failed"),
+                (job, e) -> DeliveryOutcome.failure(e.getMessage()),
+                job -> DeliveryOutcome.stillSending(),
+                this::completeLate);
+
+        for (int i = 0; i < jobs.size(); i++) {
+            Notification job = jobs.get(i);
+            if (outcomes.get(i).inFlight()) {
+                // Still sending : the job keeps its lease and stays PENDING, completeLate stores its outcome
+                continue;
+            }
+            deliveryQueue.applyOutcome(job, outcomes.get(i));
+            try {
+                recordCompletion(job, deliveryQueue.complete(job, workerId));
+            } catch (Exception e) {
+                // The lease expires and the job is retried
+                log.error("Failed to store delivery outcome of notification {}: {}", job.getId(), e.getMessage());
+            }
+        }
+        return jobs.size();
+    }
+
+    // Outcome of a send that ended after the delivery timeout
+    private void completeLate(Notification job, DeliveryOutcome outcome) {
+        recordCompletion(job, deliveryQueue.completeLate(job, outcome, workerId));
+    }
+
+    private void recordCompletion(Notification job, boolean stored) {
+        if (!stored) {
+            leaseLost.increment();
+            log.warn("Lease lost for notification {}, outcome dropped", job.getId());
+        } else if (job.getStatus() == NotificationStatus.SENT) {
+            sent.increment();
+        } else if (job.getNextAttemptAt() != null) {
+            rescheduled.increment();
+        } else {
+            exhausted.increment();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder(name).description(description).register(meterRegistry);
+    }
+}
@@ -1,9 +1,12 @@
 package jroullet.msnotification.service.notification.impl;
 
 import jroullet.msnotification.document.Notification;
+import jroullet.msnotification.dto.NotificationUserDto;
 import jroullet.msnotification.dto.request.BulkNotificationEventRequest;
+import jroullet.msnotification.dto.request.NotificationBatchRequest;
 import jroullet.msnotification.dto.request.NotificationEventRequest;
 import jroullet.msnotification.dto.response.BulkNotificationEventResponse;
+import jroullet.msnotification.dto.response.NotificationBatchResponse;
 import jroullet.msnotification.dto.response.NotificationEventResponse;
 import jroullet.msnotification.enums.NotificationEventType;
 import jroullet.msnotification.enums.NotificationStatus;
@@ -12,6 +15,9 @@ import jroullet.msnotification.exception.NotificationProcessingException;
 import jroullet.msnotification.mapper.NotificationMapper;
 import jroullet.msnotification.repository.NotificationRepository;
 import jroullet.msnotification.service.email.EmailUtilityService;
+import jroullet.msnotification.service.notification.delivery.BulkDeliveryEngine;
+import jroullet.msnotification.service.notification.delivery.DeliveryOutcome;
+import jroullet.msnotification.service.notification.delivery.NotificationDeliveryQueue;
 import jroullet.msnotification.service.notification.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +38,8 @@ public class NotificationServiceImpl implements NotificationService {
     private final NotificationRepository notificationRepository;
     private final NotificationMapper notificationMapper;
     private final EmailUtilityService emailUtilityService;
+    private final BulkDeliveryEngine bulkDeliveryEngine;
+    private final NotificationDeliveryQueue deliveryQueue;
 
     // Single Notification Event Processing
     @Override
@@ -52,11 +61,10 @@ public class NotificationServiceImpl implements NotificationService {
             // 3. Send email with retry logic
             boolean emailSent = emailUtilityService.sendEmailWithRetry(notification);
 
-            // 4. Update notification status to SENT or FAILED
-            notification.setStatus(emailSent ? NotificationStatus.SENT : NotificationStatus.FAILED);
-            if (emailSent) {
-                notification.setSentAt(LocalDateTime.now());
-            }
+            // 4. Update notification status to SENT or FAILED (queued for a background retry)
+            deliveryQueue.applyOutcome(notification, emailSent
+                    ? DeliveryOutcome.success()
+                    : DeliveryOutcome.failure("Email delivery failed"));
             notification = notificationRepository.save(notification);
 
             // 5. Return response
@@ -83,34 +91,40 @@ public class NotificationServiceImpl implements NotificationService {
                 bulkRequest.session().id()
         );
 
-        List<NotificationEventResponse> responses = new ArrayList<>();
         try {
-            // Process each recipient individually
-            bulkRequest.recipients().forEach(recipient -> {
-                try {
-                    // Convert bulk request to individual request
-                    NotificationEventRequest individualRequest = notificationMapper.toSingleBulkEventDto(bulkRequest, recipient);
-
-                    // Process individual notification
-                    NotificationEventResponse response = processNotificationEvent(individualRequest);
-                    responses.add(response);
-
-                } catch (Exception e) {
-                    log.error("Failed to process notification for recipient: {}", recipient.email(), e);
-
-                    // Create failed response for this recipient
-                    NotificationEventResponse failedResponse = new NotificationEventResponse(
-                            null,
-                            bulkRequest.eventType(),
-                            bulkRequest.session().id(),
-                            recipient.email(),
-                            NotificationStatus.FAILED,
-                            LocalDateTime.now(),
-                            null
-                            );
-                    responses.add(failedResponse);
+            // 1. Insert every PENDING notification in one round trip, leased while this request sends them
+            String leaseOwner = "bulk-" + UUID.randomUUID();
+            List<Notification> pending = bulkRequest.recipients().stream()
+                    .map(recipient -> notificationMapper.toEntity(notificationMapper.toSingleBulkEventDto(bulkRequest, recipient)))
+                    .toList();
+            deliveryQueue.lease(pending, leaseOwner);
+            List<Notification> notifications = notificationRepository.insertAll(pending);
+
+            // 2. Send emails in parallel, a failed recipient is FAILED, one still sending at the timeout stays PENDING
+            List<DeliveryOutcome> outcomes = bulkDeliveryEngine.deliverAll(
+                    notifications,
+                    notification -> emailUtilityService.sendEmailWithRetry(notification)
+                            ? DeliveryOutcome.success()
+                            : DeliveryOutcome.failure("Email delivery failed"),
+                    (notification, e) -> {
+                        log.error("Failed to process notification for recipient: {}", notification.getRecipient().getEmail(), e);
+                        return DeliveryOutcome.failure(e.getMessage());
+                    },
+                    notification -> DeliveryOutcome.stillSending(),
+                    (notification, outcome) -> storeLateOutcome(notification, outcome, leaseOwner));
+
+            // 3. Apply every status transition in one round trip, FAILED ones are queued for a background retry,
+            //    the ones still sending keep their lease and store their outcome when they end
+            List<Notification> completed = new ArrayList<>();
+            for (int i = 0; i < notifications.size(); i++) {
+                if (!outcomes.get(i).inFlight()) {
+                    deliveryQueue.applyOutcome(notifications.get(i), outcomes.get(i));
+                    completed.add(notifications.get(i));
                 }
-            });
+            }
+            notificationRepository.updateDeliveryStatuses(completed, leaseOwner);
+
+            List<NotificationEventResponse> responses = notificationMapper.toResponseDtos(notifications);
             BulkNotificationEventResponse bulkResponse = notificationMapper.toBulkResponse(bulkRequest, responses);
             log.info("Bulk notification processed successfully - Total recipients(): {}, Successful: {}, Failed: {}",
                     bulkRequest.recipients().size(),
@@ -126,6 +140,49 @@ public class NotificationServiceImpl implements NotificationService {
 
     }
 
+    private void storeLateOutcome(Notification notification, DeliveryOutcome outcome, String leaseOwner) {
+        if (deliveryQueue.completeLate(notification, outcome, leaseOwner)) {
+            log.info("Late delivery result stored - ID: {}, Status: {}", notification.getId(), notification.getStatus());
+        } else {
+            log.warn("Lease lost for notification {}, late delivery result dropped", notification.getId());
+        }
+    }
+
+    // Batch of events published by the session outbox of ms-course-mgmt : only queued, NotificationDeliveryWorker sends the emails
+    @Override
+    public NotificationBatchResponse processNotificationBatch(NotificationBatchRequest batchRequest) {
+        List<NotificationEventRequest> events = batchRequest.events() != null ? batchRequest.events() : List.of();
+        List<BulkNotificationEventRequest> bulkEvents = batchRequest.bulkEvents() != null ? batchRequest.bulkEvents() : List.of();
+        log.info("Queuing notification batch - Single events: {}, Bulk events: {}", events.size(), bulkEvents.size());
+
+        List<Notification> notifications = new ArrayList<>();
+        for (NotificationEventRequest event : events) {
+            notifications.add(withDeliveryKey(notificationMapper.toEntity(event), event.eventKey(), event.user()));
+        }
+        for (BulkNotificationEventRequest bulkEvent : bulkEvents) {
+            for (NotificationUserDto recipient : bulkEvent.recipients()) {
+                notifications.add(withDeliveryKey(
+                        notificationMapper.toEntity(notificationMapper.toSingleBulkEventDto(bulkEvent, recipient)),
+                        bulkEvent.eventKey(), recipient));
+            }
+        }
+
+        // One insert, notifications already queued by an earlier delivery of the same events are skipped
+        deliveryQueue.enqueue(notifications);
+        int queued = notificationRepository.insertAbsent(notifications);
+
+        log.info("Notification batch queued - Queued: {}, Duplicates: {}", queued, notifications.size() - queued);
+        return new NotificationBatchResponse(events.size() + bulkEvents.size(), queued, notifications.size() - queued, LocalDateTime.now());
+    }
+
+    private static Notification withDeliveryKey(Notification notification, String eventKey, NotificationUserDto recipient) {
+        if (eventKey == null) {
+            throw new IllegalArgumentException("Batch event without eventKey for recipient " + recipient.id());
+        }
+        notification.setDeliveryKey(eventKey + ":" + recipient.id());
+        return notification;
+    }
+
     @Override
     public List<NotificationEventResponse> getNotificationHistory (Long sessionId){
         log.debug("Getting notification history for session: {}", sessionId);
@@ -156,21 +213,17 @@ public class NotificationServiceImpl implements NotificationService {
         // Make local variable for notification if exists
         Notification notification = optionalNotification.get();
 
-        // Ensure notification is in FAILED state
+        // Ensure notification is in FAILED state (a notification being sent or retried in the background is PENDING)
         if (notification.getStatus() != NotificationStatus.FAILED) {
             log.warn("⚠️ Cannot retry notification {} - Status: {}", notificationId, notification.getStatus());
             return notificationMapper.toResponseDto(notification);
         }
 
-        // Reset status and retry sending
-        notification.setStatus(NotificationStatus.PENDING);
+        // Retry sending and update status based on result
         boolean emailSent = emailUtilityService.sendEmailWithRetry(notification);
-
-        // Update status based on result
-        notification.setStatus(emailSent ? NotificationStatus.SENT : NotificationStatus.FAILED);
-        if (emailSent) {
-            notification.setSentAt(LocalDateTime.now());
-        }
+        deliveryQueue.applyOutcome(notification, emailSent
+                ? DeliveryOutcome.success()
+                : DeliveryOutcome.failure("Email delivery failed"));
 
         notification = notificationRepository.save(notification);
 
@@ -180,45 +233,22 @@ public class NotificationServiceImpl implements NotificationService {
         return notificationMapper.toResponseDto(notification);
     }
 
+    // Only enqueues : NotificationDeliveryWorker sends them in the background
     @Override
-    @Transactional
     public BulkNotificationEventResponse retryAllFailedNotifications () {
-        List<Notification> failedNotifications = notificationRepository.findByStatus(NotificationStatus.FAILED);
-        List<NotificationEventResponse> responses = new ArrayList<>();
-
-        log.info("Retrying all failed notifications - Total: {}", failedNotifications.size());
-
-        //retrying each failed notification
-        failedNotifications.forEach(notification -> {
-            try {
-                NotificationEventResponse failedResponse = retryNotification(notification.getId());
-                responses.add(failedResponse);
-            } catch (Exception e) {
-                log.error("Failed to retry notification: {}", notification.getId(), e);
-            }
-        });
-
-        // making 2 responses categories: successful and failed
-            long successfulRetries = responses.stream()
-                    .filter(r -> r.status() == NotificationStatus.SENT)
-                    .count();
-            long failedRetries = responses.size() - successfulRetries;
-
-            // Building bulk response with retry results to return
-            BulkNotificationEventResponse bulkResponse = new BulkNotificationEventResponse(
-                    null,
-                    NotificationEventType.SESSION_CANCELLED_TO_USER_NOTIFICATION,
-                    responses.size(),
-                    (int) successfulRetries,
-                    (int) failedRetries,
-                    responses,
-                    LocalDateTime.now()
-            );
-
-            log.info("Bulk retry completed - Total: {}, Successful: {}, Failed: {}",
-                    responses.size(), successfulRetries, failedRetries);
-
-            return bulkResponse;
+        long queued = deliveryQueue.requeueAllFailed();
+
+        log.info("Failed notifications queued for retry - Total: {}", queued);
+
+        return new BulkNotificationEventResponse(
+                null,
+                null,
+                (int) queued,
+                0,
+                0,
+                List.of(),
+                LocalDateTime.now()
+        );
     }
 
     @Override
@@ -229,6 +259,4 @@ public class NotificationServiceImpl implements NotificationService {
                 sessionId, NotificationEventType.USER_ENROLLED_TO_USER_NOTIFICATION);
         return notificationMapper.toResponseDtos(notifications);
     }
-
-
 }
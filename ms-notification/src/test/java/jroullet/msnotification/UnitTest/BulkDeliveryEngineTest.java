@@ -0,0 +1,87 @@
+package jroullet.msnotification.UnitTest;
+
+import jroullet.msnotification.service.notification.delivery.BulkDeliveryEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkDeliveryEngineTest {
+
+    private BulkDeliveryEngine engine;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.shutdown();
+    }
+
+    @Test
+    void deliverAll_queuedRecipient_shouldNotTimeOutWhileWaitingTest() {
+        // One worker, 1s timeout : the second send starts after 700ms and ends after 1.4s
+        engine = new BulkDeliveryEngine(1, 10, 1);
+
+        List<String> results = engine.deliverAll(
+                List.of("a@kundapp.com", "b@kundapp.com"),
+                recipient -> {
+                    sleep(700);
+                    return "sent";
+                },
+                (recipient, e) -> "failed",
+                recipient -> "in flight",
+                (recipient, result) -> fail("No send outlived its timeout"));
+
+        assertEquals(List.of("sent", "sent"), results);
+    }
+
+    @Test
+    void deliverAll_slowRecipient_shouldReportInFlightThenLateResultTest() throws Exception {
+        engine = new BulkDeliveryEngine(2, 10, 1);
+        CompletableFuture<String> lateResult = new CompletableFuture<>();
+
+        List<String> results = engine.deliverAll(
+                List.of("slow@kundapp.com", "fast@kundapp.com"),
+                recipient -> {
+                    if (recipient.startsWith("slow")) {
+                        sleep(1500);
+                    }
+                    return "sent";
+                },
+                (recipient, e) -> "failed",
+                recipient -> "in flight",
+                (recipient, result) -> lateResult.complete(recipient + ":" + result));
+
+        assertEquals(List.of("in flight", "sent"), results);
+        assertEquals("slow@kundapp.com:sent", lateResult.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deliverAll_failingRecipient_shouldUseFailureResultTest() {
+        engine = new BulkDeliveryEngine(2, 10, 1);
+
+        List<String> results = engine.deliverAll(
+                List.of("ok@kundapp.com", "ko@kundapp.com"),
+                recipient -> {
+                    if (recipient.startsWith("ko")) {
+                        throw new IllegalStateException("SMTP down");
+                    }
+                    return "sent";
+                },
+                (recipient, e) -> "failed: " + e.getMessage(),
+                recipient -> "in flight",
+                (recipient, result) -> fail("No send outlived its timeout"));
+
+        assertEquals(List.of("sent", "failed: SMTP down"), results);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
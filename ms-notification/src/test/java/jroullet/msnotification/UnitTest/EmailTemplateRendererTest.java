@@ -0,0 +1,78 @@
+package jroullet.msnotification.UnitTest;
+
+import jroullet.msnotification.service.email.EmailTemplateRenderer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class EmailTemplateRendererTest {
+
+    private static final String TEMPLATE = "student/session-cancelled-student";
+
+    private TemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        TemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        templateEngine = spy(engine);
+        renderer = new EmailTemplateRenderer(templateEngine, 10);
+    }
+
+    @Test
+    void render_sameSessionForManyRecipients_shouldRenderTemplateOnceTest() {
+        // Given
+        Map<String, Object> session = sessionVariables("Yoga");
+
+        // When
+        String alice = renderer.render(TEMPLATE, session, Map.of("firstName", "Alice"));
+        String bob = renderer.render(TEMPLATE, session, Map.of("firstName", "Bob"));
+        String eve = renderer.render(TEMPLATE, session, Map.of("firstName", "<Eve>"));
+
+        // Then
+        verify(templateEngine, times(1)).process(anyString(), any(IContext.class));
+        assertTrue(alice.contains("Bonjour <span>Alice</span>"));
+        assertTrue(bob.contains("Bonjour <span>Bob</span>"));
+        assertTrue(eve.contains("Bonjour <span>&lt;Eve&gt;</span>"));
+        assertTrue(alice.contains("Marie Curie"));
+        assertFalse(bob.contains("rcpt-"));
+    }
+
+    @Test
+    void render_otherSessionVariables_shouldRenderAgainTest() {
+        // When
+        String yoga = renderer.render(TEMPLATE, sessionVariables("Yoga"), Map.of("firstName", "Alice"));
+        String pilates = renderer.render(TEMPLATE, sessionVariables("Pilates"), Map.of("firstName", "Alice"));
+
+        // Then
+        verify(templateEngine, times(2)).process(anyString(), any(IContext.class));
+        assertTrue(yoga.contains("Yoga"));
+        assertTrue(pilates.contains("Pilates"));
+    }
+
+    private static Map<String, Object> sessionVariables(String subject) {
+        return Map.of(
+                "teacherName", "Marie Curie",
+                "sessionSubject", subject,
+                "sessionDateTime", "18/10/2026 10:00",
+                "isOnline", true,
+                "companyName", "KundApp",
+                "supportEmail", "support@kundapp.com");
+    }
+}
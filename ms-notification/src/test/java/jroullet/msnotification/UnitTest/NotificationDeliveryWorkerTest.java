@@ -0,0 +1,124 @@
+package jroullet.msnotification.UnitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jroullet.msnotification.document.Notification;
+import jroullet.msnotification.document.notificationSubObjects.NotificationRecipient;
+import jroullet.msnotification.enums.NotificationStatus;
+import jroullet.msnotification.repository.NotificationRepository;
+import jroullet.msnotification.service.email.EmailUtilityService;
+import jroullet.msnotification.service.notification.delivery.BulkDeliveryEngine;
+import jroullet.msnotification.service.notification.delivery.NotificationDeliveryQueue;
+import jroullet.msnotification.service.notification.delivery.NotificationDeliveryWorker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationDeliveryWorkerTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private EmailUtilityService emailUtilityService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BulkDeliveryEngine bulkDeliveryEngine;
+    private NotificationDeliveryWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        // 1s delivery timeout, the send takes 1.5s
+        bulkDeliveryEngine = new BulkDeliveryEngine(2, 10, 1);
+        NotificationDeliveryQueue deliveryQueue = new NotificationDeliveryQueue(notificationRepository);
+        ReflectionTestUtils.setField(deliveryQueue, "maxAttempts", 6);
+        ReflectionTestUtils.setField(deliveryQueue, "baseBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(deliveryQueue, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(deliveryQueue, "leaseSeconds", 300L);
+        worker = new NotificationDeliveryWorker(deliveryQueue, emailUtilityService, bulkDeliveryEngine, meterRegistry);
+        ReflectionTestUtils.setField(worker, "batchSize", 16);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bulkDeliveryEngine.shutdown();
+    }
+
+    @Test
+    void deliverDueNotifications_slowSendEndingAfterTimeout_shouldBeStoredSentAndNotRetriedTest() throws Exception {
+        Notification job = leasedJob();
+        when(notificationRepository.claimNextDue(anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(job), Optional.empty());
+        when(emailUtilityService.sendEmailWithRetry(job)).thenAnswer(invocation -> {
+            Thread.sleep(1500);
+            return true;
+        });
+        CompletableFuture<Notification> stored = new CompletableFuture<>();
+        when(notificationRepository.completeLeased(any(Notification.class), anyString())).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            stored.complete(Notification.builder()
+                    .id(notification.getId())
+                    .status(notification.getStatus())
+                    .nextAttemptAt(notification.getNextAttemptAt())
+                    .build());
+            return true;
+        });
+
+        worker.deliverDueNotifications();
+
+        // The run ended at the timeout : nothing is stored, the job is not rescheduled
+        assertFalse(stored.isDone());
+        assertEquals(0.0, meterRegistry.counter("notifications.delivery.rescheduled").count());
+
+        // The send ends : SENT with no next attempt, the queue never hands it out again
+        Notification result = stored.get(5, TimeUnit.SECONDS);
+        assertEquals(NotificationStatus.SENT, result.getStatus());
+        assertNull(result.getNextAttemptAt());
+        assertEquals(1, job.getAttempts());
+        // Waits for the late completion to finish counting
+        bulkDeliveryEngine.shutdown();
+        assertEquals(1.0, meterRegistry.counter("notifications.delivery.sent").count());
+        assertEquals(0.0, meterRegistry.counter("notifications.delivery.rescheduled").count());
+        verify(emailUtilityService, times(1)).sendEmailWithRetry(any(Notification.class));
+    }
+
+    @Test
+    void deliverDueNotifications_failedSend_shouldBeRescheduledTest() {
+        Notification job = leasedJob();
+        when(notificationRepository.claimNextDue(anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(job), Optional.empty());
+        when(emailUtilityService.sendEmailWithRetry(job)).thenReturn(false);
+        when(notificationRepository.completeLeased(any(Notification.class), anyString())).thenReturn(true);
+
+        worker.deliverDueNotifications();
+
+        assertEquals(NotificationStatus.FAILED, job.getStatus());
+        assertNotNull(job.getNextAttemptAt());
+        assertEquals(1.0, meterRegistry.counter("notifications.delivery.rescheduled").count());
+    }
+
+    // A job as claimNextDue returns it : PENDING under the worker lease
+    private static Notification leasedJob() {
+        return Notification.builder()
+                .id("notification-1")
+                .status(NotificationStatus.PENDING)
+                .recipient(NotificationRecipient.builder().email("client@kundapp.com").build())
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now().plusMinutes(5))
+                .build();
+    }
+}
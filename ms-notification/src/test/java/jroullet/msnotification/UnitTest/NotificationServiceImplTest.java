@@ -0,0 +1,156 @@
+package jroullet.msnotification.UnitTest;
+
+import jroullet.msnotification.document.Notification;
+import jroullet.msnotification.dto.NotificationSessionDto;
+import jroullet.msnotification.dto.NotificationUserDto;
+import jroullet.msnotification.dto.request.BulkNotificationEventRequest;
+import jroullet.msnotification.dto.request.NotificationBatchRequest;
+import jroullet.msnotification.dto.response.BulkNotificationEventResponse;
+import jroullet.msnotification.dto.response.NotificationBatchResponse;
+import jroullet.msnotification.enums.NotificationEventType;
+import jroullet.msnotification.enums.NotificationStatus;
+import jroullet.msnotification.enums.Subject;
+import jroullet.msnotification.mapper.NotificationMapperImpl;
+import jroullet.msnotification.repository.NotificationRepository;
+import jroullet.msnotification.service.email.EmailUtilityService;
+import jroullet.msnotification.service.notification.delivery.BulkDeliveryEngine;
+import jroullet.msnotification.service.notification.delivery.NotificationDeliveryQueue;
+import jroullet.msnotification.service.notification.impl.NotificationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationServiceImplTest {
+
+    private static final String SLOW_EMAIL = "slow@kundapp.com";
+    private static final String FAST_EMAIL = "fast@kundapp.com";
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private EmailUtilityService emailUtilityService;
+
+    private BulkDeliveryEngine bulkDeliveryEngine;
+    private NotificationServiceImpl notificationService;
+
+    @BeforeEach
+    void setUp() {
+        // 1s recipient timeout, the slow recipient takes 1.5s
+        bulkDeliveryEngine = new BulkDeliveryEngine(2, 10, 1);
+        NotificationDeliveryQueue deliveryQueue = new NotificationDeliveryQueue(notificationRepository);
+        ReflectionTestUtils.setField(deliveryQueue, "maxAttempts", 6);
+        ReflectionTestUtils.setField(deliveryQueue, "baseBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(deliveryQueue, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(deliveryQueue, "leaseSeconds", 300L);
+        notificationService = new NotificationServiceImpl(notificationRepository, new NotificationMapperImpl(),
+                emailUtilityService, bulkDeliveryEngine, deliveryQueue);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bulkDeliveryEngine.shutdown();
+    }
+
+    @Test
+    void processBulkNotificationEvent_slowSend_shouldStayPendingThenStoreLateResultTest() throws Exception {
+        when(notificationRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            notifications.forEach(n -> n.setId("id-" + n.getRecipient().getEmail()));
+            return notifications;
+        });
+        when(emailUtilityService.sendEmailWithRetry(any(Notification.class))).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            if (SLOW_EMAIL.equals(notification.getRecipient().getEmail())) {
+                Thread.sleep(1500);
+            }
+            return true;
+        });
+        // Snapshot of what the late completion stores
+        CompletableFuture<Notification> lateWrite = new CompletableFuture<>();
+        when(notificationRepository.completeLeased(any(Notification.class), anyString())).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            lateWrite.complete(Notification.builder()
+                    .id(notification.getId())
+                    .status(notification.getStatus())
+                    .nextAttemptAt(notification.getNextAttemptAt())
+                    .leaseOwner(invocation.getArgument(1))
+                    .build());
+            return true;
+        });
+
+        BulkNotificationEventResponse response = notificationService.processBulkNotificationEvent(bulkRequest());
+
+        // The slow recipient is neither sent nor failed yet
+        assertEquals(1, response.successfulNotifications());
+        assertEquals(0, response.failedNotifications());
+        assertEquals(NotificationStatus.PENDING, response.notifications().get(0).status());
+
+        // Only the completed recipient is written by the request, under the lease taken at insert
+        ArgumentCaptor<List<Notification>> completed = ArgumentCaptor.captor();
+        ArgumentCaptor<String> leaseOwner = ArgumentCaptor.captor();
+        verify(notificationRepository).updateDeliveryStatuses(completed.capture(), leaseOwner.capture());
+        assertEquals(List.of("id-" + FAST_EMAIL), completed.getValue().stream().map(Notification::getId).toList());
+        assertTrue(leaseOwner.getValue().startsWith("bulk-"));
+
+        // The late result is stored as SENT, with no next attempt : it is never retried
+        Notification stored = lateWrite.get(5, TimeUnit.SECONDS);
+        assertEquals("id-" + SLOW_EMAIL, stored.getId());
+        assertEquals(NotificationStatus.SENT, stored.getStatus());
+        assertNull(stored.getNextAttemptAt());
+        assertEquals(leaseOwner.getValue(), stored.getLeaseOwner());
+        verify(emailUtilityService, times(2)).sendEmailWithRetry(any(Notification.class));
+    }
+
+    @Test
+    void processNotificationBatch_shouldQueueWithoutSendingTest() {
+        // The second recipient was queued by an earlier delivery of the same outbox event
+        when(notificationRepository.insertAbsent(anyList())).thenReturn(1);
+
+        NotificationBatchResponse response = notificationService.processNotificationBatch(
+                new NotificationBatchRequest(List.of(), List.of(bulkRequest("outbox-42")), "secret"));
+
+        assertEquals(1, response.queuedNotifications());
+        assertEquals(1, response.duplicateNotifications());
+        ArgumentCaptor<List<Notification>> queued = ArgumentCaptor.captor();
+        verify(notificationRepository).insertAbsent(queued.capture());
+        assertEquals(List.of("outbox-42:2", "outbox-42:3"),
+                queued.getValue().stream().map(Notification::getDeliveryKey).toList());
+        queued.getValue().forEach(notification -> {
+            assertEquals(NotificationStatus.PENDING, notification.getStatus());
+            assertNotNull(notification.getNextAttemptAt());
+        });
+        verifyNoInteractions(emailUtilityService);
+    }
+
+    private static BulkNotificationEventRequest bulkRequest() {
+        return bulkRequest(null);
+    }
+
+    private static BulkNotificationEventRequest bulkRequest(String eventKey) {
+        NotificationSessionDto session = new NotificationSessionDto(5L, Subject.YOGA, "Yoga du matin",
+                LocalDateTime.now().plusDays(1), 60, "Anna", "Teacher", true,
+                null, null, null, null, "https://zoom.us/j/1", 1, "Horaire modifié");
+        return new BulkNotificationEventRequest(NotificationEventType.SESSION_MODIFIED_TO_USER_NOTIFICATION, session,
+                List.of(new NotificationUserDto(2L, "Slow", "Client", SLOW_EMAIL),
+                        new NotificationUserDto(3L, "Fast", "Client", FAST_EMAIL)),
+                "secret", eventKey);
+    }
+}
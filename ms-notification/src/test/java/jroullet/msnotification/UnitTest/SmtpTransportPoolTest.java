@@ -0,0 +1,108 @@
+package jroullet.msnotification.UnitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import jroullet.msnotification.service.email.SmtpTransportPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SmtpTransportPoolTest {
+
+    @Mock
+    private JavaMailSenderImpl mailSender;
+
+    @Mock
+    private Session mailSession;
+
+    @Mock
+    private Transport firstTransport;
+
+    @Mock
+    private Transport secondTransport;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SmtpTransportPool smtpTransportPool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(mailSender.getSession()).thenReturn(mailSession);
+        when(mailSender.getProtocol()).thenReturn("smtp");
+        when(mailSession.getTransport("smtp")).thenReturn(firstTransport, secondTransport);
+
+        // Pool of one connection : a leaked connection or permit would block the next send
+        smtpTransportPool = new SmtpTransportPool(mailSender, meterRegistry, 1);
+        ReflectionTestUtils.setField(smtpTransportPool, "borrowTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(smtpTransportPool, "maxMessagesPerConnection", 100);
+        ReflectionTestUtils.setField(smtpTransportPool, "idleTimeoutSeconds", 60L);
+        ReflectionTestUtils.setField(smtpTransportPool, "validateAfterIdleSeconds", 5L);
+    }
+
+    @Test
+    void send_manyMessages_shouldReuseOneConnectionTest() throws Exception {
+        // When
+        for (int i = 0; i < 50; i++) {
+            smtpTransportPool.send(message());
+        }
+
+        // Then
+        verify(firstTransport, times(50)).sendMessage(any(Message.class), any(Address[].class));
+        verify(firstTransport, never()).close();
+        assertEquals(1.0, meterRegistry.counter("smtp.pool.handshakes").count());
+        assertEquals(49.0, meterRegistry.counter("smtp.pool.handshakes.avoided").count());
+    }
+
+    @Test
+    void send_runtimeExceptionDuringSend_shouldCloseConnectionAndReleasePermitTest() throws Exception {
+        // Given
+        doThrow(new IllegalStateException("connection reset"))
+                .when(firstTransport).sendMessage(any(Message.class), any(Address[].class));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> smtpTransportPool.send(message()));
+        smtpTransportPool.send(message());
+
+        // Then
+        verify(firstTransport).close();
+        verify(secondTransport).sendMessage(any(Message.class), any(Address[].class));
+        assertEquals(0.0, meterRegistry.get("smtp.pool.connections.active").gauge().value());
+        assertEquals(1.0, meterRegistry.get("smtp.pool.connections.idle").gauge().value());
+    }
+
+    @Test
+    void send_connectFailure_shouldCloseTransportTest() throws Exception {
+        // Given
+        doThrow(new IllegalStateException("handshake failed"))
+                .when(firstTransport).connect(any(), anyInt(), any(), any());
+
+        // When
+        assertThrows(IllegalStateException.class, () -> smtpTransportPool.send(message()));
+
+        // Then
+        verify(firstTransport).close();
+        assertEquals(0.0, meterRegistry.get("smtp.pool.connections.active").gauge().value());
+    }
+
+    private static MimeMessage message() throws Exception {
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("student@example.com"));
+        message.setText("Bonjour");
+        return message;
+    }
+}
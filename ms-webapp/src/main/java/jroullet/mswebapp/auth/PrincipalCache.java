@@ -0,0 +1,95 @@
+package jroullet.mswebapp.auth;
+
+import jroullet.mswebapp.dto.user.UserDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Logged-in users by id, with the ms-identity row version they were read at.
+ * An entry is trusted for probe-interval-seconds, after that SessionService compares its version
+ * with ms-identity (single column read) and reloads the user only when it changed.
+ * Credit operations made by the webapp update the balance right away.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Duration probeInterval;
+    private final Clock clock;
+    private final Map<Long, CachedPrincipal> entries;
+
+    @Autowired
+    public PrincipalCache(@Value("${app.users.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${app.users.principal-cache.probe-interval-seconds:30}") long probeIntervalSeconds) {
+        this(maxSize, Duration.ofSeconds(probeIntervalSeconds), Clock.systemUTC());
+    }
+
+    // Tests give their own clock to move past the probe interval
+    public PrincipalCache(int maxSize, Duration probeInterval, Clock clock) {
+        this.probeInterval = probeInterval;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedPrincipal> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Optional<CachedPrincipal> find(Long userId) {
+        synchronized (entries) {
+            return Optional.ofNullable(entries.get(userId));
+        }
+    }
+
+    public boolean isProbeDue(CachedPrincipal principal) {
+        return !principal.verifiedAt().plus(probeInterval).isAfter(clock.instant());
+    }
+
+    public void put(UserDTO user) {
+        synchronized (entries) {
+            entries.put(user.getId(), new CachedPrincipal(user, user.getVersion(), clock.instant()));
+        }
+    }
+
+    // The version probe matched, trust the entry for another interval
+    public void confirm(Long userId) {
+        synchronized (entries) {
+            entries.computeIfPresent(userId, (id, principal) ->
+                    new CachedPrincipal(principal.user(), principal.version(), clock.instant()));
+        }
+    }
+
+    /**
+     * Applies a credit operation result.
+     * The version is only taken when it directly follows the cached one : with a gap (or no version),
+     * something else changed the user and the next probe reloads it.
+     */
+    public void applyCredits(Long userId, Integer newCredits, Long newVersion) {
+        synchronized (entries) {
+            entries.computeIfPresent(userId, (id, principal) -> {
+                boolean consecutive = newVersion != null && principal.version() != null
+                        && newVersion == principal.version() + 1;
+                Long version = consecutive ? newVersion : principal.version();
+                // New instance, requests in flight keep reading the previous one
+                UserDTO user = principal.user().toBuilder().credits(newCredits).version(version).build();
+                return new CachedPrincipal(user, version, principal.verifiedAt());
+            });
+        }
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    public record CachedPrincipal(UserDTO user, Long version, Instant verifiedAt) {}
+}
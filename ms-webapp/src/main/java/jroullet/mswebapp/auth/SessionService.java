@@ -14,21 +14,30 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Objects;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class SessionService {
 
+    // The HTTP session only keeps the user id, the user itself lives in PrincipalCache
+    private static final String CURRENT_USER_ID = "currentUserId";
+
     private final IdentityFeignClient identityFeignClient;
     private final HttpServletRequest request;
+    private final PrincipalCache principalCache;
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     public UserDTO getCurrentUser() {
 
         // Try catching active session user
-        Object sessionUser = request.getSession().getAttribute("currentUserDTO");
-        if (sessionUser instanceof UserDTO dto) {
-            logger.info("UserDTO found in session: {}", dto.getEmail());
-            return dto;
+        Object sessionUserId = request.getSession().getAttribute(CURRENT_USER_ID);
+        if (sessionUserId instanceof Long userId) {
+            Optional<PrincipalCache.CachedPrincipal> cached = principalCache.find(userId);
+            if (cached.isPresent() && isUpToDate(cached.get())) {
+                return cached.get().user();
+            }
         }
 
         // Get User from authentication
@@ -43,7 +52,8 @@ public class SessionService {
 
         try{
             UserDTO userDto = identityFeignClient.findUserDtoByEmail(email);
-            request.getSession().setAttribute("currentUserDTO", userDto);
+            principalCache.put(userDto);
+            request.getSession().setAttribute(CURRENT_USER_ID, userDto.getId());
             return userDto;
 
         }
@@ -57,4 +67,32 @@ public class SessionService {
         }
 
     }
+
+    /**
+     * Keeps the cached balance in line with a credit operation made by the webapp
+     * @param version user version returned with the operation, null when unknown
+     */
+    public void applyCreditChange(Long userId, Integer newCredits, Long version) {
+        principalCache.applyCredits(userId, newCredits, version);
+    }
+
+    // Version probe once per interval, the user is reloaded only when ms-identity changed it
+    private boolean isUpToDate(PrincipalCache.CachedPrincipal cached) {
+        if (!principalCache.isProbeDue(cached)) {
+            return true;
+        }
+        Long userId = cached.user().getId();
+        try {
+            if (Objects.equals(identityFeignClient.getUserVersion(userId), cached.version())) {
+                principalCache.confirm(userId);
+                return true;
+            }
+            logger.info("User {} changed in ms-identity, reloading it", userId);
+            return false;
+        } catch (FeignException e) {
+            // Same behaviour as before the cache : keep serving the known user while ms-identity is unreachable
+            logger.warn("Version probe failed for user {}: {}", userId, e.getMessage());
+            return true;
+        }
+    }
 }
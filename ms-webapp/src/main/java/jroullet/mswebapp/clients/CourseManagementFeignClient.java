@@ -6,6 +6,8 @@ import jroullet.mswebapp.dto.session.create.SessionCreationResponseDTO;
 import jroullet.mswebapp.dto.session.create.SessionCreationWithTeacherDTO;
 import jroullet.mswebapp.dto.session.participant.AddParticipantRequest;
 import jroullet.mswebapp.dto.session.participant.ParticipantOperationResponse;
+import jroullet.mswebapp.dto.session.participant.RegistrationResponse;
+import jroullet.mswebapp.enums.Subject;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,9 +29,11 @@ public interface CourseManagementFeignClient {
     @GetMapping("/teacher/{teacherId}/upcoming")
     List<SessionWithParticipantsDTO> getUpcomingSessionsByTeacher(@PathVariable("teacherId") Long teacherId);
 
-    // History of sessions
+    // History of sessions, keyset paginated
     @GetMapping("/teacher/{teacherId}/past")
-    List<SessionWithParticipantsDTO> getPastSessionsByTeacher(@PathVariable("teacherId") Long teacherId);
+    SessionPageDTO<SessionWithParticipantsDTO> getPastSessionsByTeacher(@PathVariable("teacherId") Long teacherId,
+                                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                                       @RequestParam("size") int size);
 
     @PutMapping("/{sessionId}/teacher/{teacherId}")
     SessionWithParticipantsDTO updateSessionByTeacher(@PathVariable Long sessionId,
@@ -49,14 +53,23 @@ public interface CourseManagementFeignClient {
     @PostMapping("/admin/cancel")
     Void cancelSessionByAdmin(@RequestParam Long sessionId);
 
+    // All sessions, keyset paginated
     @GetMapping("/all")
-    List<SessionWithParticipantsDTO> getAllSessionsForAdmin();
+    SessionPageDTO<SessionWithParticipantsDTO> getAllSessionsForAdmin(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                     @RequestParam("size") int size);
 
     /**
      * Client session methods
      **/
-    @GetMapping("/client/available")
-    List<SessionNoParticipantsDTO> getAvailableSessionsForClient();
+    // Available sessions, keyset paginated, filters applied by ms-course-mgmt (null = no filter)
+    // Sessions the participant is registered to are excluded by ms-course-mgmt
+    @GetMapping("/client/available/{participantId}")
+    SessionPageDTO<SessionNoParticipantsDTO> getAvailableSessionsForClient(@PathVariable("participantId") Long participantId,
+                                                                          @RequestParam(value = "subject", required = false) Subject subject,
+                                                                          @RequestParam(value = "isOnline", required = false) Boolean isOnline,
+                                                                          @RequestParam("onlyWithSpots") boolean onlyWithSpots,
+                                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                                          @RequestParam("size") int size);
 
     @GetMapping("/client/upcoming/{participantId}")
     List<SessionNoParticipantsDTO> getUpcomingSessionsForClient(@PathVariable("participantId") Long participantId);
@@ -69,6 +82,12 @@ public interface CourseManagementFeignClient {
             @PathVariable Long sessionId,
             @RequestBody AddParticipantRequest request);
 
+    // Registration saga : seat reservation and credit deduction orchestrated by ms-course-mgmt
+    @PostMapping("/client/{sessionId}/registrations")
+    RegistrationResponse registerToSession(
+            @PathVariable Long sessionId,
+            @RequestBody AddParticipantRequest request);
+
     @PostMapping("/client/{sessionId}/participants/remove/{userId}")
     ParticipantOperationResponse removeParticipantFromSession(
             @PathVariable Long sessionId,
@@ -54,6 +54,10 @@ public interface IdentityFeignClient {
     @GetMapping("/users/{id}/basic-info")
     UserParticipantDTO getUserBasicInfo(@PathVariable Long id);
 
+    // Row version, changes whenever the user does
+    @GetMapping("/users/{id}/version")
+    Long getUserVersion(@PathVariable Long id);
+
     //Admin endpoints for user management
     @GetMapping("/admin/users/{id}")
     UserDTO getUserById(@PathVariable("id") Long id);
@@ -91,19 +95,24 @@ public interface IdentityFeignClient {
     /**
      *     CREDITS SECTION
       */
+    // Idempotency-Key : same value on a retry, ms-identity then replays the first response
     @PostMapping("/internal/credits/session-registration-deduct")
     CreditOperationResponse deductCreditsForSessionRegistration(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
             @RequestBody SessionRegistrationDeductRequest request);
 
     @PostMapping("/internal/credits/session-rollback-refund")
     CreditOperationResponse refundCreditsForSessionRollback(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
             @RequestBody SessionRollbackRefundRequest request);
 
     @PostMapping("/internal/credits/batch-deduct")
-    void batchDeductCreditsForRollback(@RequestBody BatchCreditOperationRequest request);
+    void batchDeductCreditsForRollback(@RequestHeader("Idempotency-Key") String idempotencyKey,
+                                       @RequestBody BatchCreditOperationRequest request);
 
     @PostMapping("/internal/credits/batch-refund")
-    void batchRefundCreditsForCancellation(@RequestBody BatchCreditOperationRequest request);
+    void batchRefundCreditsForCancellation(@RequestHeader("Idempotency-Key") String idempotencyKey,
+                                           @RequestBody BatchCreditOperationRequest request);
 
 
     /**
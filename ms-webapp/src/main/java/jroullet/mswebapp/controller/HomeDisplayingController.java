@@ -4,9 +4,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import jroullet.mswebapp.auth.SessionService;
 import jroullet.mswebapp.clients.IdentityFeignClient;
 import jroullet.mswebapp.dto.session.SessionNoParticipantsDTO;
+import jroullet.mswebapp.dto.session.SessionPageDTO;
 import jroullet.mswebapp.dto.session.SessionWithParticipantsDTO;
 import jroullet.mswebapp.dto.user.UserDTO;
 import jroullet.mswebapp.service.SessionManagementService;
+import jroullet.mswebapp.service.utils.DashboardComposer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,10 +16,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 // Home Pages
 @Controller
@@ -27,59 +30,95 @@ public class HomeDisplayingController {
     private final SessionService sessionService;
     private final IdentityFeignClient identityFeignClient;
     private final SessionManagementService sessionManagementService;
+    private final DashboardComposer dashboardComposer;
     private final static Logger logger = LoggerFactory.getLogger(HomeDisplayingController.class);
 
     @GetMapping("/client")
-    public ModelAndView showClientHome(Model model) {
+    public ModelAndView showClientHome(@RequestParam(required = false) String cursor, Model model) {
         logger.info("Fetching client home");
         UserDTO userDTO = sessionService.getCurrentUser();
-        List<SessionNoParticipantsDTO> sessions = sessionManagementService.getAvailableSessionsForClient();
-        List<SessionNoParticipantsDTO> upcomingSessions = sessionManagementService.getUpcomingSessionsForClient();
-        List<SessionNoParticipantsDTO> historySessions = sessionManagementService.getPastSessionsForClient();
+        Long userId = userDTO.getId();
+
+        DashboardComposer.Composition composition = dashboardComposer.compose();
+        CompletableFuture<SessionPageDTO<SessionNoParticipantsDTO>> available = composition.fetch("available:" + userId + ":" + cursor,
+                () -> sessionManagementService.findAvailableSessions(userId, null, null, false, cursor), SessionPageDTO.empty());
+        CompletableFuture<List<SessionNoParticipantsDTO>> upcoming = composition.fetch("upcoming:" + userId,
+                () -> sessionManagementService.findUpcomingSessionsForClient(userId), List.of());
+        CompletableFuture<List<SessionNoParticipantsDTO>> history = composition.fetch("history:" + userId,
+                () -> sessionManagementService.findPastSessionsForClient(userId), List.of());
+
+        SessionPageDTO<SessionNoParticipantsDTO> sessions = available.join();
+        List<SessionNoParticipantsDTO> upcomingSessions = upcoming.join();
+        List<SessionNoParticipantsDTO> historySessions = history.join();
 
         logger.info("User credits loaded: {}", userDTO.getCredits());
 
         model.addAttribute("user", userDTO);
-        model.addAttribute("sessions", sessions);
+        model.addAttribute("sessions", sessions.getContent());
+        model.addAttribute("sessionsNextCursor", sessions.getNextCursor());
+        model.addAttribute("sessionsFirstPage", cursor == null);
         model.addAttribute("upcomingSessions", upcomingSessions);
         model.addAttribute("historySessions", historySessions);
+        addDegradedNotice(composition, model);
 
         return new ModelAndView("home-client");
     }
 
     @GetMapping("/admin")
-    public ModelAndView showAdminPage(Model model) {
+    public ModelAndView showAdminPage(@RequestParam(required = false) String cursor, Model model) {
         logger.info("Fetching admin home");
         UserDTO userDTO = sessionService.getCurrentUser();
-        List<UserDTO> allUsers = identityFeignClient.getAllUsers();
-        List<SessionWithParticipantsDTO> sessions = sessionManagementService.getAllSessionsForAdmin();
+
+        DashboardComposer.Composition composition = dashboardComposer.compose();
+        CompletableFuture<List<UserDTO>> users = composition.fetch("users",
+                identityFeignClient::getAllUsers, List.of());
+        CompletableFuture<SessionPageDTO<SessionWithParticipantsDTO>> adminSessions = composition.fetch("sessions:" + cursor,
+                () -> sessionManagementService.getAllSessionsForAdmin(cursor), SessionPageDTO.empty());
+        List<UserDTO> allUsers = users.join();
+        SessionPageDTO<SessionWithParticipantsDTO> sessions = adminSessions.join();
 
         model.addAttribute("user", userDTO);
         model.addAttribute("users", allUsers);
-        model.addAttribute("sessions", sessions);
+        model.addAttribute("sessions", sessions.getContent());
+        model.addAttribute("sessionsNextCursor", sessions.getNextCursor());
+        model.addAttribute("sessionsFirstPage", cursor == null);
+        addDegradedNotice(composition, model);
 
         return new ModelAndView("home-admin");
     }
 
     @GetMapping("/teacher")
-    public ModelAndView showTeacherHome(Model model) {
+    public ModelAndView showTeacherHome(@RequestParam(required = false) String historyCursor, Model model) {
         logger.info("Fetching teacher home");
         UserDTO userDTO = sessionService.getCurrentUser();
-        // Loading upcoming sessions
-        List<SessionWithParticipantsDTO> upcomingSessions = sessionManagementService
-                .getUpcomingSessionsForCurrentTeacher(userDTO.getId());
-        List<SessionWithParticipantsDTO> pastSessions = sessionManagementService
-                .getPastSessionsForCurrentTeacher(userDTO.getId());
+        Long teacherId = userDTO.getId();
+
+        // Upcoming and past sessions are loaded in parallel
+        DashboardComposer.Composition composition = dashboardComposer.compose();
+        CompletableFuture<List<SessionWithParticipantsDTO>> upcoming = composition.fetch("upcoming:" + teacherId,
+                () -> sessionManagementService.getUpcomingSessionsForCurrentTeacher(teacherId), List.of());
+        CompletableFuture<SessionPageDTO<SessionWithParticipantsDTO>> past = composition.fetch("history:" + teacherId + ":" + historyCursor,
+                () -> sessionManagementService.getPastSessionsForCurrentTeacher(teacherId, historyCursor), SessionPageDTO.empty());
+        List<SessionWithParticipantsDTO> upcomingSessions = upcoming.join();
+        SessionPageDTO<SessionWithParticipantsDTO> pastSessions = past.join();
 
         model.addAttribute("user", userDTO);
         model.addAttribute("sessions", upcomingSessions);
-        model.addAttribute("historySessions", pastSessions);
-
-
+        model.addAttribute("historySessions", pastSessions.getContent());
+        model.addAttribute("historyNextCursor", pastSessions.getNextCursor());
+        model.addAttribute("historyFirstPage", historyCursor == null);
+        addDegradedNotice(composition, model);
 
         return new ModelAndView("home-teacher");
     }
 
+    // Keeps a flash error from a redirect, it is more specific
+    private void addDegradedNotice(DashboardComposer.Composition composition, Model model) {
+        if (composition.isDegraded() && !model.containsAttribute("error")) {
+            model.addAttribute("error", "Certaines données n'ont pas pu être chargées, veuillez rafraîchir la page");
+        }
+    }
+
     @GetMapping("/favicon.ico")
     public void favicon(HttpServletResponse response) {
         response.setStatus(HttpStatus.NO_CONTENT.value());
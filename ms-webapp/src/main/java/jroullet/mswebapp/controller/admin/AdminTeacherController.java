@@ -6,6 +6,7 @@ import jroullet.mswebapp.dto.teacher.TeacherDTO;
 import jroullet.mswebapp.dto.teacher.TeacherRegistrationDTO;
 import jroullet.mswebapp.dto.teacher.TeacherUpdateDTO;
 import jroullet.mswebapp.dto.user.*;
+import jroullet.mswebapp.service.utils.UserDirectoryCache;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +23,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class AdminTeacherController {
 
     private final IdentityFeignClient identityFeignClient;
+    private final UserDirectoryCache userDirectoryCache;
     private final Logger logger = LoggerFactory.getLogger(AdminTeacherController.class);
 
 
@@ -73,6 +75,7 @@ public class AdminTeacherController {
                                       RedirectAttributes redirectAttributes) {
         try {
             TeacherDTO updatedTeacher = identityFeignClient.updateTeacher(id, teacherUpdateDTO);
+            userDirectoryCache.invalidate(id);
             redirectAttributes.addFlashAttribute("success",
                     "Teacher modifié avec succès : " + updatedTeacher.getFirstName() + " " + updatedTeacher.getLastName());
         } catch (FeignException.NotFound e) {
@@ -92,6 +95,7 @@ public class AdminTeacherController {
     public ModelAndView disableTeacher(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
             UserStatusResponseDTO response = identityFeignClient.disableTeacher(id);
+            userDirectoryCache.invalidate(id);
             String userName = response.getFirstName() + " " + response.getLastName();
             redirectAttributes.addFlashAttribute("success", "Utilisateur " + userName + " désactivé avec succès");
         } catch (FeignException.NotFound e) {
@@ -109,6 +113,7 @@ public class AdminTeacherController {
     public ModelAndView enableTeacher(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
             UserStatusResponseDTO response = identityFeignClient.enableTeacher(id);
+            userDirectoryCache.invalidate(id);
             String userName = response.getFirstName() + " " + response.getLastName();
             redirectAttributes.addFlashAttribute("success", "Utilisateur " + userName + " activé avec succès");
         } catch (FeignException.NotFound e) {
@@ -124,6 +129,7 @@ public class AdminTeacherController {
     public ModelAndView deleteTeacher(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
             identityFeignClient.deleteTeacher(id);
+            userDirectoryCache.invalidate(id);
             redirectAttributes.addFlashAttribute("success", "Teacher supprimé avec succès");
         } catch (FeignException.NotFound e) {
             redirectAttributes.addFlashAttribute("error", "Teacher non trouvé");
@@ -7,6 +7,7 @@ import jroullet.mswebapp.dto.user.UserDTO;
 import jroullet.mswebapp.dto.user.UserStatusResponseDTO;
 import jroullet.mswebapp.dto.user.UserUpdateDTO;
 import jroullet.mswebapp.service.UserService;
+import jroullet.mswebapp.service.utils.UserDirectoryCache;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +24,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class AdminUserController {
 
     private final IdentityFeignClient identityFeignClient;
+    private final UserDirectoryCache userDirectoryCache;
     private final UserService userService;
     private final Logger logger = LoggerFactory.getLogger(AdminUserController.class);
 
@@ -69,6 +71,7 @@ public class AdminUserController {
                                    RedirectAttributes redirectAttributes) {
         try {
             UserDTO updatedUser = identityFeignClient.updateUser(id, dto);
+            userDirectoryCache.invalidate(id);
             redirectAttributes.addFlashAttribute("success", "User " + updatedUser.getFirstName() + " " + updatedUser.getLastName() + " mis à jour avec succès");
         } catch (FeignException.NotFound e) {
             redirectAttributes.addFlashAttribute("error", "User non trouvé");
@@ -89,6 +92,7 @@ public class AdminUserController {
     public ModelAndView disableUser(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
             UserStatusResponseDTO response = identityFeignClient.disableUser(id);
+            userDirectoryCache.invalidate(id);
             String userName = response.getFirstName() + " " + response.getLastName();
             redirectAttributes.addFlashAttribute("success", "Utilisateur " + userName + " désactivé avec succès");
         } catch (FeignException.NotFound e) {
@@ -106,6 +110,7 @@ public class AdminUserController {
     public ModelAndView enableUser(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
             UserStatusResponseDTO response = identityFeignClient.enableUser(id);
+            userDirectoryCache.invalidate(id);
             String userName = response.getFirstName() + " " + response.getLastName();
             redirectAttributes.addFlashAttribute("success", "Utilisateur " + userName + " activé avec succès");
         } catch (FeignException.NotFound e) {
@@ -121,6 +126,7 @@ public class AdminUserController {
     public ModelAndView deleteUser(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
             identityFeignClient.deleteUser(id);
+            userDirectoryCache.invalidate(id);
             redirectAttributes.addFlashAttribute("success", "User supprimé avec succès");
         } catch (FeignException.NotFound e) {
             redirectAttributes.addFlashAttribute("error", "User non trouvé");
@@ -2,6 +2,8 @@ package jroullet.mswebapp.controller.user;
 
 import feign.FeignException;
 import jroullet.mswebapp.dto.session.SessionNoParticipantsDTO;
+import jroullet.mswebapp.dto.session.SessionPageDTO;
+import jroullet.mswebapp.enums.Subject;
 import jroullet.mswebapp.exception.SessionValidationException;
 import jroullet.mswebapp.service.SessionManagementService;
 import lombok.RequiredArgsConstructor;
@@ -24,8 +26,13 @@ public class UserSessionManagementController {
 
     @GetMapping("/available")
     @ResponseBody
-    public ResponseEntity<List<SessionNoParticipantsDTO>> getAvailableSessions() {
-        List<SessionNoParticipantsDTO> sessions = sessionManagementService.getAvailableSessionsForClient();
+    public ResponseEntity<SessionPageDTO<SessionNoParticipantsDTO>> getAvailableSessions(
+            @RequestParam(required = false) Subject subject,
+            @RequestParam(required = false) Boolean isOnline,
+            @RequestParam(defaultValue = "false") boolean onlyWithSpots,
+            @RequestParam(required = false) String cursor) {
+        SessionPageDTO<SessionNoParticipantsDTO> sessions = sessionManagementService
+                .getAvailableSessionsForClient(subject, isOnline, onlyWithSpots, cursor);
         return ResponseEntity.ok(sessions);
     }
 
@@ -69,6 +76,7 @@ public class UserSessionManagementController {
                 case 404 -> "Session introuvable";
                 case 403 -> "Accès non autorisé à cette session";
                 case 400 -> "Données d'inscription invalides";
+                case 503 -> "Inscription en cours de traitement, elle apparaîtra bientôt dans vos sessions à venir";
                 default -> "Erreur lors de l'inscription";
             };
             redirectAttributes.addFlashAttribute("error", errorMessage);
@@ -0,0 +1,25 @@
+package jroullet.mswebapp.dto.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionPageDTO<T> {
+    private List<T> content;
+
+    // Opaque keyset cursor on (startDateTime, id), null on last page
+    private String nextCursor;
+    private boolean hasNext;
+
+    public static <T> SessionPageDTO<T> empty() {
+        return new SessionPageDTO<>(Collections.emptyList(), null, false);
+    }
+}
@@ -0,0 +1,13 @@
+package jroullet.mswebapp.dto.session.participant;
+
+import jroullet.mswebapp.dto.session.SessionWithParticipantsDTO;
+
+public record RegistrationResponse(
+        Long sagaId,
+        Long sessionId,
+        Long userId,
+        Integer newCredits,
+        Integer currentParticipantCount,
+        Integer availableSpots,
+        SessionWithParticipantsDTO session
+) {}
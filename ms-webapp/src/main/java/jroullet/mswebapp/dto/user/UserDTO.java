@@ -11,7 +11,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserDTO {
@@ -26,4 +26,5 @@ public class UserDTO {
     private boolean status;
     private LocalDateTime createdAt;
     private Integer credits;
+    private Long version;
 }
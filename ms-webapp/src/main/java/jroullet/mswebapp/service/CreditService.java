@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -25,13 +26,13 @@ public class CreditService {
     public CreditOperationResponse deductCredits(Long userId, Long sessionId, Integer credits) {
         SessionRegistrationDeductRequest request = new SessionRegistrationDeductRequest(
                 userId, sessionId, credits, internalSecret);
-        return identityFeignClient.deductCreditsForSessionRegistration(request);
+        return identityFeignClient.deductCreditsForSessionRegistration(newIdempotencyKey(), request);
     }
 
     public CreditOperationResponse refundCredits(Long userId, Long sessionId, Integer credits) {
         SessionRollbackRefundRequest request = new SessionRollbackRefundRequest(
                 userId, sessionId, credits, internalSecret);
-        return identityFeignClient.refundCreditsForSessionRollback(request);
+        return identityFeignClient.refundCreditsForSessionRollback(newIdempotencyKey(), request);
     }
 
     public void batchRefundCredits(Long sessionId, List<Long> participantIds, Integer creditsPerParticipant, String reason) {
@@ -42,7 +43,7 @@ public class CreditService {
                 .reason(reason)
                 .internalSecret(internalSecret)
                 .build();
-        identityFeignClient.batchRefundCreditsForCancellation(request);
+        identityFeignClient.batchRefundCreditsForCancellation(newIdempotencyKey(), request);
     }
 
     public void batchRollbackCredits(Long sessionId, List<Long> participantIds, Integer creditsPerParticipant) {
@@ -53,6 +54,11 @@ public class CreditService {
                 .reason("ROLLBACK_REFUND_AFTER_CANCELLATION_FAILURE")
                 .internalSecret(internalSecret)
                 .build();
-        identityFeignClient.batchDeductCreditsForRollback(request);
+        identityFeignClient.batchDeductCreditsForRollback(newIdempotencyKey(), request);
+    }
+
+    // One key per logical operation, Feign retries of the same call resend it unchanged
+    private String newIdempotencyKey() {
+        return UUID.randomUUID().toString();
     }
 }
@@ -6,6 +6,7 @@ import jroullet.mswebapp.clients.CourseManagementFeignClient;
 import jroullet.mswebapp.clients.IdentityFeignClient;
 import jroullet.mswebapp.dto.session.SessionCancelDTO;
 import jroullet.mswebapp.dto.session.SessionNoParticipantsDTO;
+import jroullet.mswebapp.dto.session.SessionPageDTO;
 import jroullet.mswebapp.dto.session.SessionUpdateDTO;
 import jroullet.mswebapp.dto.session.SessionWithParticipantsDTO;
 import jroullet.mswebapp.dto.session.create.SessionCreationDTO;
@@ -14,8 +15,10 @@ import jroullet.mswebapp.dto.session.create.SessionCreationWithTeacherDTO;
 import jroullet.mswebapp.dto.session.credits.CreditOperationResponse;
 import jroullet.mswebapp.dto.session.participant.AddParticipantRequest;
 import jroullet.mswebapp.dto.session.participant.ParticipantOperationResponse;
+import jroullet.mswebapp.dto.session.participant.RegistrationResponse;
 import jroullet.mswebapp.dto.user.UserDTO;
 import jroullet.mswebapp.dto.user.UserParticipantDTO;
+import jroullet.mswebapp.enums.Subject;
 import jroullet.mswebapp.exception.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,8 +28,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -40,6 +41,7 @@ public class SessionManagementService {
     private final NotificationService notificationService;
     private final ValidationService validationService;
 
+    private static final int SESSIONS_PAGE_SIZE = 20;
 
     /**
      *     TEACHER METHODS
@@ -69,15 +71,7 @@ public class SessionManagementService {
 
             SessionCreationResponseDTO response = courseFeignClient.createSession(enrichedDto);
             log.info("Session created successfully for teacher ID: {}", enrichedDto.getTeacherId());
-            // Notify the notification service about the new session creation
-            try {
-                SessionWithParticipantsDTO session = getSessionDetails(response.getSessionId());
-                notificationService.sendSessionCreatedNotification(currentTeacher.getId(),session);
-                log.debug("Session creation notification sent for session ID: {}", response.getSessionId());
-            } catch (Exception notificationException) {
-                log.warn("Failed to send session creation notification for session : {} :  {}", response.getSessionId(), notificationException.getMessage());
-            }
-
+            // Creation notification is published by the session outbox of ms-course-mgmt
             return response;
         } catch (FeignException e) {
             log.error("Error creating session for teacher: {}", e.getMessage());
@@ -95,14 +89,14 @@ public class SessionManagementService {
             return Collections.emptyList();
         }
     }
-    public List<SessionWithParticipantsDTO> getPastSessionsForCurrentTeacher(Long teacherId) {
+    public SessionPageDTO<SessionWithParticipantsDTO> getPastSessionsForCurrentTeacher(Long teacherId, String cursor) {
         try {
-            List<SessionWithParticipantsDTO> pastSessions = courseFeignClient.getPastSessionsByTeacher(teacherId);
-            log.info("Loaded {} past sessions for teacher ID: {}", pastSessions.size(), teacherId);
+            SessionPageDTO<SessionWithParticipantsDTO> pastSessions = courseFeignClient.getPastSessionsByTeacher(teacherId, cursor, SESSIONS_PAGE_SIZE);
+            log.info("Loaded {} past sessions for teacher ID: {}", pastSessions.getContent().size(), teacherId);
             return pastSessions;
         } catch (FeignException e) {
             log.error("Error fetching past sessions for teacher {}: {}", teacherId, e.getMessage());
-            return Collections.emptyList();
+            return SessionPageDTO.empty();
         }
     }
     public void updateSessionForCurrentTeacher(Long sessionId, SessionUpdateDTO sessionUpdateDTO) {
@@ -115,19 +109,8 @@ public class SessionManagementService {
         // Verify ownership
         validationService.validateSessionOwnership(originalSession, currentTeacherId);
 
-        // Update session
-        SessionWithParticipantsDTO updatedSession = courseFeignClient.updateSessionByTeacher(sessionId, currentTeacherId, sessionUpdateDTO);
-
-        // Notify the notification service about the session update
-        if (validationService.hasSignificantChanges(originalSession, updatedSession)) {
-            try {
-                String modificationSummary = notificationService.buildModificationSummary(originalSession, updatedSession);
-                notificationService.sendSessionModifiedNotifications(updatedSession, modificationSummary);
-                log.info("Session modification notification sent to participants with summary: {}", modificationSummary);
-            } catch (Exception notificationException) {
-                log.warn("Failed to send session modification notification for session {}: {}", sessionId, notificationException.getMessage());
-            }
-        }
+        // Update session, ms-course-mgmt notifies the participants of significant changes
+        courseFeignClient.updateSessionByTeacher(sessionId, currentTeacherId, sessionUpdateDTO);
     }
     public void cancelSessionForCurrentTeacher(Long sessionId) {
             Long currentTeacherId = sessionService.getCurrentUser().getId();
@@ -174,14 +157,7 @@ public class SessionManagementService {
 
             throw new SessionCancellationException("Session cancellation failed, refunds rolled back");
         }
-
-            // step 4 : notify participants about cancellation
-        try{
-            notificationService.sendSessionCancelledNotifications(session);
-            log.info("Session cancellation notification sent to participants {} ", participantIds.size());
-        } catch (Exception notificationException) {
-            log.warn("Failed to send session cancellation notification for session {}: {}", sessionId, notificationException.getMessage());
-        }
+            // Cancellation notifications are published by the session outbox of ms-course-mgmt
 
         } catch (SessionCancellationException e) {
             throw e;
@@ -210,9 +186,9 @@ public class SessionManagementService {
     /**
      *     ADMIN METHODS
      */
-    public List<SessionWithParticipantsDTO> getAllSessionsForAdmin() {
-        List<SessionWithParticipantsDTO> sessions = courseFeignClient.getAllSessionsForAdmin();
-        log.info("Loaded {} sessions", sessions.size());
+    public SessionPageDTO<SessionWithParticipantsDTO> getAllSessionsForAdmin(String cursor) {
+        SessionPageDTO<SessionWithParticipantsDTO> sessions = courseFeignClient.getAllSessionsForAdmin(cursor, SESSIONS_PAGE_SIZE);
+        log.info("Loaded {} sessions", sessions.getContent().size());
         return sessions;
     }
     public List<UserParticipantDTO> getSessionParticipants(Long sessionId) {
@@ -268,13 +244,7 @@ public class SessionManagementService {
 
                 throw new SessionCancellationException("Session cancellation failed, refunds rolled back");
             }
-            // Step 4: Notify participants about cancellation
-            try{
-                notificationService.sendSessionCancelledNotifications(session);
-                log.info("Session cancellation notification sent to participants {} ", participantIds.size());
-            } catch (Exception notificationException) {
-                log.warn("Failed to send session cancellation notification for session {}: {}", sessionId, notificationException.getMessage());
-            }
+            // Cancellation notifications are published by the session outbox of ms-course-mgmt
 
         } catch (SessionCancellationException e) {
             throw e;
@@ -288,30 +258,23 @@ public class SessionManagementService {
     /**
      *      User Methods
      */
-    public List<SessionNoParticipantsDTO> getAvailableSessionsForClient() {
+    public SessionPageDTO<SessionNoParticipantsDTO> getAvailableSessionsForClient(String cursor) {
+        return getAvailableSessionsForClient(null, null, false, cursor);
+    }
+    public SessionPageDTO<SessionNoParticipantsDTO> getAvailableSessionsForClient(Subject subject, Boolean isOnline,
+                                                                                 boolean onlyWithSpots, String cursor) {
         try {
-            UserDTO currentUser = sessionService.getCurrentUser();
-            // Fetch available sessions from the course management service
-            List<SessionNoParticipantsDTO> availableSessions = courseFeignClient.getAvailableSessionsForClient();
-            log.info("Loaded {} available sessions for client", availableSessions.size());
-            List<SessionNoParticipantsDTO> userSessions = courseFeignClient.getUpcomingSessionsForClient(currentUser.getId());
-            Set<Long> userSessionIds = userSessions.stream()
-                    .map(SessionNoParticipantsDTO::getId)
-                    .collect(Collectors.toSet());
-            return availableSessions.stream().filter(session -> !userSessionIds.contains(session.getId()))
-                    .collect(Collectors.toList());
+            Long currentUserId = sessionService.getCurrentUser().getId();
+            return findAvailableSessions(currentUserId, subject, isOnline, onlyWithSpots, cursor);
         } catch (FeignException e) {
             log.error("Error fetching available sessions: {}", e.getMessage());
-            return Collections.emptyList();
+            return SessionPageDTO.empty();
         }
     }
     public List<SessionNoParticipantsDTO> getUpcomingSessionsForClient() {
         try {
             Long currentUserId = sessionService.getCurrentUser().getId();
-            // Fetch available sessions from the course management service
-            List<SessionNoParticipantsDTO> upcomingSessions = courseFeignClient.getUpcomingSessionsForClient(currentUserId);
-            log.info("Loaded {} upcoming sessions for client", upcomingSessions.size());
-            return upcomingSessions;
+            return findUpcomingSessionsForClient(currentUserId);
         } catch (FeignException e) {
             log.error("Error fetching upcoming sessions for current user : {}" , e.getMessage());
             return Collections.emptyList();
@@ -320,71 +283,52 @@ public class SessionManagementService {
     public List<SessionNoParticipantsDTO> getPastSessionsForClient() {
         try {
             Long currentUserId = sessionService.getCurrentUser().getId();
-            List<SessionNoParticipantsDTO> pastSessions = courseFeignClient.getPastSessionsForClient(currentUserId);
-            log.info("Loaded {} past sessions for client ID: {}", pastSessions.size(), currentUserId);
-
-            return pastSessions;
-
+            return findPastSessionsForClient(currentUserId);
         } catch (FeignException e) {
             log.error("Error fetching past sessions for currentUser : {}", e.getMessage());
             return Collections.emptyList();
         }
     }
 
-    @Transactional
+    // Raw ms-course-mgmt calls : Feign errors are left to the caller, the dashboard composition falls back on them
+    public SessionPageDTO<SessionNoParticipantsDTO> findAvailableSessions(Long userId, Subject subject, Boolean isOnline,
+                                                                         boolean onlyWithSpots, String cursor) {
+        // Fetch available sessions from the course management service, filtered in database
+        // (the sessions the user is registered to are excluded there too)
+        SessionPageDTO<SessionNoParticipantsDTO> availableSessions = courseFeignClient.getAvailableSessionsForClient(
+                userId, subject, isOnline, onlyWithSpots, cursor, SESSIONS_PAGE_SIZE);
+        log.info("Loaded {} available sessions for client", availableSessions.getContent().size());
+        return availableSessions;
+    }
+    public List<SessionNoParticipantsDTO> findUpcomingSessionsForClient(Long userId) {
+        List<SessionNoParticipantsDTO> upcomingSessions = courseFeignClient.getUpcomingSessionsForClient(userId);
+        log.info("Loaded {} upcoming sessions for client", upcomingSessions.size());
+        return upcomingSessions;
+    }
+    public List<SessionNoParticipantsDTO> findPastSessionsForClient(Long userId) {
+        List<SessionNoParticipantsDTO> pastSessions = courseFeignClient.getPastSessionsForClient(userId);
+        log.info("Loaded {} past sessions for client ID: {}", pastSessions.size(), userId);
+        return pastSessions;
+    }
+
+    /**
+     * Registration is orchestrated by ms-course-mgmt (seat + credits, compensated on its side),
+     * notifications are sent asynchronously once it has succeeded
+     */
     public int registerToSession(Long sessionId) {
-        UserDTO user = sessionService.getCurrentUser();
-        Long userId = user.getId();
+        Long userId = sessionService.getCurrentUser().getId();
 
         log.info("Starting session registration for user {} to session {}", userId, sessionId);
 
-        SessionWithParticipantsDTO session = getSessionDetails(sessionId);
-
-        // Validations
-        validationService.validateUserHasSufficientCredits(user, session.getCreditsRequired());
-        validationService.validateSessionAvailability(session);
-        validationService.validateUserNotAlreadyRegistered(session, userId);
-
-        log.info("All validations passed for user {} and session {}", userId, sessionId);
-
-        // Credit deduction
-        CreditOperationResponse creditResponse = creditService.deductCredits(userId, sessionId, session.getCreditsRequired());
-        log.info("Credits deducted successfully for user {}. Previous: {}, New: {}",
-                userId, creditResponse.previousCredits(), creditResponse.newCredits());
-
-        try {
-            // Participant registration
-            ParticipantOperationResponse participantResponse = addUserToSession(sessionId, userId);
-            log.info("User {} successfully registered to session {}. Participants: {}/{}",
-                    userId, sessionId, participantResponse.currentParticipantCount(),
-                    participantResponse.availableSpots());
-
-            // Send notification at successful registration
-            try {
-                notificationService.sendUserEnrolledNotifications(user.getId(), session);
-                log.debug("User enrollment notifications sent successfully");
-            } catch (Exception notificationException) {
-                log.warn("Failed to send enrollment notifications for user {} and session {}: {}",
-                        userId, sessionId, notificationException.getMessage());
-            }
-
-            //Returns the new credits after successful registration
-            return creditResponse.newCredits();
+        RegistrationResponse response = courseFeignClient.registerToSession(sessionId, new AddParticipantRequest(userId));
+        log.info("User {} successfully registered to session {}. Participants: {}/{}, credits left: {}",
+                userId, sessionId, response.currentParticipantCount(), response.availableSpots(), response.newCredits());
 
-        } catch (Exception participantException) {
-            // Error handling
-            log.error("Unexpected failure adding participant despite validations. Rolling back credits for user {} and session {}",
-                    userId, sessionId, participantException);
+        // The saga response has no user version, the next version probe reloads the user
+        sessionService.applyCreditChange(userId, response.newCredits(), null);
+        notificationService.sendUserEnrolledNotifications(userId, response.session());
 
-            try {
-                creditService.refundCredits(userId, sessionId, session.getCreditsRequired());
-                log.info("Credits successfully rolled back for user {} after unexpected failure", userId);
-            } catch (Exception rollbackException) {
-                throw new CreditRollbackFailedException(userId, sessionId, session.getCreditsRequired(), rollbackException);
-            }
-
-            throw new SessionRegistrationException("Unexpected failure during registration", participantException);
-        }
+        return response.newCredits();
     }
 
     @Transactional
@@ -406,6 +350,7 @@ public class SessionManagementService {
         CreditOperationResponse creditResponse = creditService.refundCredits(userId, sessionId, session.getCreditsRequired());
         log.info("Credits refunded successfully for user {} after cancellation from session {}",
                 userId, sessionId);
+        sessionService.applyCreditChange(userId, creditResponse.newCredits(), creditResponse.version());
 
         // Send notification at successful unregistration
         try {
@@ -430,11 +375,6 @@ public class SessionManagementService {
         }
         return sessionResponse;
     }
-    private ParticipantOperationResponse addUserToSession(Long sessionId, Long userId) {
-        AddParticipantRequest request = new AddParticipantRequest(userId);
-        return courseFeignClient.addParticipantToSession(sessionId, request);
-
-    }
     private ParticipantOperationResponse removeUserFromSession(Long sessionId, Long userId) {
         return courseFeignClient.removeParticipantFromSession(sessionId, userId);
     }
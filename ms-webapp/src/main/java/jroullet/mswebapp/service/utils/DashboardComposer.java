@@ -0,0 +1,144 @@
+package jroullet.mswebapp.service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent backend calls of a dashboard page in parallel : the page waits for the
+ * slowest call instead of the sum of all of them.
+ * - Each call has a timeout, a failed or late call gives its fallback and the page renders without it
+ * - Within a Composition, calls with the same key run once and share their result
+ * - The pool is bounded, when its queue is full the call runs on the request thread (sequential as before)
+ * Calls run off the request thread : they must not read the HTTP session or the security context,
+ * resolve the current user before composing.
+ *
+ * Metrics:
+ * - dashboard.calls : calls started
+ * - dashboard.calls.deduplicated : calls served by an identical call of the same page
+ * - dashboard.calls.fallbacks : calls that failed or timed out and gave their fallback
+ * - dashboard.queue.size : calls waiting for a worker
+ */
+@Component
+@Slf4j
+public class DashboardComposer {
+
+    private final Executor executor;
+    private final Counter calls;
+    private final Counter deduplicated;
+    private final Counter fallbacks;
+
+    @Value("${app.dashboard.call-timeout-ms:3000}")
+    private long callTimeoutMs;
+
+    @Autowired
+    public DashboardComposer(MeterRegistry meterRegistry,
+                             @Value("${app.dashboard.workers:16}") int workers,
+                             @Value("${app.dashboard.queue-capacity:200}") int queueCapacity) {
+        this(meterRegistry, newWorkerPool(workers, queueCapacity));
+    }
+
+    // Any executor can be given, tests run the calls inline
+    public DashboardComposer(MeterRegistry meterRegistry, Executor executor) {
+        this.executor = executor;
+        this.calls = Counter.builder("dashboard.calls")
+                .description("Dashboard backend calls started")
+                .register(meterRegistry);
+        this.deduplicated = Counter.builder("dashboard.calls.deduplicated")
+                .description("Dashboard backend calls served by an identical call of the same page")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("dashboard.calls.fallbacks")
+                .description("Dashboard backend calls that failed or timed out")
+                .register(meterRegistry);
+        if (executor instanceof ThreadPoolExecutor pool) {
+            Gauge.builder("dashboard.queue.size", pool, p -> p.getQueue().size())
+                    .description("Dashboard backend calls waiting for a worker")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * One composition per page rendering
+     */
+    public Composition compose() {
+        return new Composition();
+    }
+
+    public final class Composition {
+
+        private final Map<String, CompletableFuture<?>> started = new HashMap<>();
+        private final AtomicBoolean degraded = new AtomicBoolean();
+
+        private Composition() {
+        }
+
+        /**
+         * Starts the call, or returns the call already started under this key
+         * @param key      identifies the call and its arguments
+         * @param fallback result used when the call fails or times out
+         */
+        @SuppressWarnings("unchecked")
+        public <T> CompletableFuture<T> fetch(String key, Supplier<T> call, T fallback) {
+            CompletableFuture<?> existing = started.get(key);
+            if (existing != null) {
+                deduplicated.increment();
+                return (CompletableFuture<T>) existing;
+            }
+            calls.increment();
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(call, executor)
+                    .orTimeout(callTimeoutMs, TimeUnit.MILLISECONDS)
+                    .exceptionally(e -> {
+                        fallbacks.increment();
+                        degraded.set(true);
+                        log.warn("Dashboard call {} failed, using fallback: {}", key, e.toString());
+                        return fallback;
+                    });
+            started.put(key, future);
+            return future;
+        }
+
+        // True when at least one call gave its fallback
+        public boolean isDegraded() {
+            return degraded.get();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ThreadPoolExecutor newWorkerPool(int workers, int queueCapacity) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        // CallerRunsPolicy : a saturated pool degrades to sequential calls instead of failing the page
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
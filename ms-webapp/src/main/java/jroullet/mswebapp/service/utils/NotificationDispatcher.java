@@ -0,0 +1,127 @@
+package jroullet.mswebapp.service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends notifications off the request thread : user-facing flows return as soon as the business
+ * operation is done, a slow ms-notification / mail server only fills the queue.
+ * Inside a transaction the task is queued after commit, so a rolled back operation notifies nobody.
+ * The queue is bounded and in memory : when it is full the notification is dropped and counted.
+ *
+ * Metrics:
+ * - notifications.dispatch.submitted : tasks queued
+ * - notifications.dispatch.dropped : tasks rejected because the queue was full (backpressure)
+ * - notifications.dispatch.failures : tasks that threw, tasks let their exceptions through for this count
+ * - notifications.dispatch.queue.size : tasks waiting for a worker
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final Executor executor;
+    private final Counter submitted;
+    private final Counter dropped;
+    private final Counter failures;
+
+    @Value("${app.notifications.dispatch.shutdown-timeout-seconds:10}")
+    private long shutdownTimeoutSeconds;
+
+    @Autowired
+    public NotificationDispatcher(MeterRegistry meterRegistry,
+                                  @Value("${app.notifications.dispatch.workers:4}") int workers,
+                                  @Value("${app.notifications.dispatch.queue-capacity:1000}") int queueCapacity) {
+        this(meterRegistry, newWorkerPool(workers, queueCapacity));
+    }
+
+    // Any executor can be given, tests run the tasks inline
+    public NotificationDispatcher(MeterRegistry meterRegistry, Executor executor) {
+        this.executor = executor;
+        this.submitted = Counter.builder("notifications.dispatch.submitted")
+                .description("Notification tasks queued")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notifications.dispatch.dropped")
+                .description("Notification tasks dropped because the queue was full")
+                .register(meterRegistry);
+        this.failures = Counter.builder("notifications.dispatch.failures")
+                .description("Notification tasks that failed")
+                .register(meterRegistry);
+        if (executor instanceof ThreadPoolExecutor pool) {
+            Gauge.builder("notifications.dispatch.queue.size", pool, p -> p.getQueue().size())
+                    .description("Notification tasks waiting for a worker")
+                    .register(meterRegistry);
+        }
+    }
+
+    public void dispatch(String eventName, Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(eventName, task);
+                }
+            });
+        } else {
+            submit(eventName, task);
+        }
+    }
+
+    private void submit(String eventName, Runnable task) {
+        try {
+            executor.execute(() -> run(eventName, task));
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            log.warn("Notification queue full, {} notification dropped", eventName);
+        }
+    }
+
+    private void run(String eventName, Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Failed to send {} notification: {}", eventName, e.getMessage());
+        }
+    }
+
+    // Lets queued notifications go out on a graceful shutdown
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdown();
+            if (!pool.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("{} queued notification(s) not sent before shutdown", pool.shutdownNow().size());
+            }
+        }
+    }
+
+    private static ThreadPoolExecutor newWorkerPool(int workers, int queueCapacity) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        // AbortPolicy : a full queue throws instead of running the task on the caller thread
+        return new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-dispatch-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
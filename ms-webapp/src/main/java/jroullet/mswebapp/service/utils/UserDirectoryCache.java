@@ -0,0 +1,116 @@
+package jroullet.mswebapp.service.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jroullet.mswebapp.clients.IdentityFeignClient;
+import jroullet.mswebapp.dto.user.UserParticipantDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-through cache of the ms-identity basic info (name, email) used by notifications.
+ * Misses of a lookup are resolved with one batched getUsersBasicInfo call.
+ * Entries expire after the TTL, the least recently used ones are evicted above max-size.
+ * The admin update / disable / delete paths invalidate the user, other instances see the change after the TTL.
+ *
+ * Metrics:
+ * - users.directory.cache.hits / misses : ids served from the cache / fetched from ms-identity
+ */
+@Component
+@Slf4j
+public class UserDirectoryCache {
+
+    private final IdentityFeignClient identityFeignClient;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<Long, CachedUser> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public UserDirectoryCache(IdentityFeignClient identityFeignClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.users.directory-cache.max-size:1000}") int maxSize,
+                              @Value("${app.users.directory-cache.ttl-seconds:600}") long ttlSeconds) {
+        this(identityFeignClient, meterRegistry, maxSize, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    // Tests give their own clock to move past the TTL
+    public UserDirectoryCache(IdentityFeignClient identityFeignClient, MeterRegistry meterRegistry,
+                              int maxSize, Duration ttl, Clock clock) {
+        this.identityFeignClient = identityFeignClient;
+        this.ttl = ttl;
+        this.clock = clock;
+        // Access order : iteration starts with the least recently used entry
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = Counter.builder("users.directory.cache.hits")
+                .description("User lookups served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("users.directory.cache.misses")
+                .description("User lookups fetched from ms-identity")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Users by id, ids unknown to ms-identity are absent from the result
+     */
+    public Map<Long, UserParticipantDTO> getAll(Collection<Long> userIds) {
+        Map<Long, UserParticipantDTO> users = new LinkedHashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        Instant now = clock.instant();
+
+        synchronized (entries) {
+            for (Long userId : new LinkedHashSet<>(userIds)) {
+                CachedUser cached = entries.get(userId);
+                if (cached != null && cached.expiresAt().isAfter(now)) {
+                    users.put(userId, cached.user());
+                } else {
+                    missing.add(userId);
+                }
+            }
+        }
+        hits.increment(users.size());
+
+        if (!missing.isEmpty()) {
+            misses.increment(missing.size());
+            List<UserParticipantDTO> fetched = identityFeignClient.getUsersBasicInfo(new ArrayList<>(missing));
+            Instant expiresAt = now.plus(ttl);
+            synchronized (entries) {
+                fetched.forEach(user -> entries.put(user.getId(), new CachedUser(user, expiresAt)));
+            }
+            fetched.forEach(user -> users.put(user.getId(), user));
+        }
+        return users;
+    }
+
+    public UserParticipantDTO get(Long userId) {
+        return getAll(List.of(userId)).get(userId);
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+        log.debug("User {} removed from the directory cache", userId);
+    }
+
+    private record CachedUser(UserParticipantDTO user, Instant expiresAt) {}
+}
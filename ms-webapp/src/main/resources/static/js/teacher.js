@@ -23,6 +23,12 @@ document.addEventListener('DOMContentLoaded', function() {
     // Initialize session type handlers for both contexts
     initializeSessionTypeHandlers(SESSION_CONTEXTS.CREATE);
     initializeSessionTypeHandlers(SESSION_CONTEXTS.UPDATE_TEACHER);
+
+    // Open history tab when paginating through past sessions
+    const urlParams = new URLSearchParams(window.location.search);
+    if (urlParams.get('tab') === 'history') {
+        document.getElementById('history-sessions-tab').click();
+    }
 });
 
 // ========================================
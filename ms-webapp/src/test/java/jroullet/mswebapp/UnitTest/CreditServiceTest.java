@@ -5,6 +5,7 @@ import jroullet.mswebapp.dto.session.credits.CreditOperationResponse;
 import jroullet.mswebapp.service.CreditService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -12,7 +13,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,16 +41,16 @@ public class CreditServiceTest {
     void deductCreditsSuccess_shouldReturnFeignClientResponseTest() {
         // Given
         CreditOperationResponse mockResponse = new CreditOperationResponse(
-                USER_ID, 5, 4, "DEDUCT", SESSION_ID
+                USER_ID, 5, 4, "DEDUCT", SESSION_ID, 3L
         );
-        when(identityFeignClient.deductCreditsForSessionRegistration(any()))
+        when(identityFeignClient.deductCreditsForSessionRegistration(anyString(), any()))
                 .thenReturn(mockResponse);
 
         // When
         CreditOperationResponse result = creditService.deductCredits(USER_ID, SESSION_ID, CREDITS);
 
         // Then
-        verify(identityFeignClient).deductCreditsForSessionRegistration(any());
+        verify(identityFeignClient).deductCreditsForSessionRegistration(anyString(), any());
         assertEquals(mockResponse, result);
     }
 
@@ -54,16 +58,16 @@ public class CreditServiceTest {
     void refundCreditsSuccess_shouldCallFeignClientTest() {
         // Given
         CreditOperationResponse mockResponse = new CreditOperationResponse(
-                USER_ID, 4, 5, "REFUND", SESSION_ID
+                USER_ID, 4, 5, "REFUND", SESSION_ID, 4L
         );
-        when(identityFeignClient.refundCreditsForSessionRollback(any()))
+        when(identityFeignClient.refundCreditsForSessionRollback(anyString(), any()))
                 .thenReturn(mockResponse);
 
         // When
         CreditOperationResponse result = creditService.refundCredits(USER_ID, SESSION_ID, CREDITS);
 
         // Then
-        verify(identityFeignClient).refundCreditsForSessionRollback(any());
+        verify(identityFeignClient).refundCreditsForSessionRollback(anyString(), any());
         assertEquals(mockResponse, result);
     }
 
@@ -76,7 +80,7 @@ public class CreditServiceTest {
         creditService.batchRefundCredits(SESSION_ID, participantIds, CREDITS, "cancelled");
 
         // Then
-        verify(identityFeignClient).batchRefundCreditsForCancellation(any());
+        verify(identityFeignClient).batchRefundCreditsForCancellation(anyString(), any());
     }
 
     @Test
@@ -88,7 +92,25 @@ public class CreditServiceTest {
         creditService.batchRollbackCredits(SESSION_ID, participantIds, CREDITS);
 
         // Then
-        verify(identityFeignClient).batchDeductCreditsForRollback(any());
+        verify(identityFeignClient).batchDeductCreditsForRollback(anyString(), any());
+    }
+
+    /** Each logical operation must carry its own Idempotency-Key,
+     * otherwise ms-identity would replay the first deduction for the second one
+     */
+    @Test
+    void deductCredits_shouldSendDistinctIdempotencyKeyPerCallTest() {
+        // Given
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+
+        // When
+        creditService.deductCredits(USER_ID, SESSION_ID, CREDITS);
+        creditService.deductCredits(USER_ID, SESSION_ID + 1, CREDITS);
+
+        // Then
+        verify(identityFeignClient, times(2)).deductCreditsForSessionRegistration(keyCaptor.capture(), any());
+        List<String> keys = keyCaptor.getAllValues();
+        assertNotEquals(keys.get(0), keys.get(1));
     }
 
 }
@@ -0,0 +1,81 @@
+package jroullet.mswebapp.UnitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jroullet.mswebapp.service.utils.DashboardComposer;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DashboardComposerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fetchSameKeyTwice_shouldCallBackendOnceTest() {
+        DashboardComposer composer = new DashboardComposer(meterRegistry, Runnable::run);
+        AtomicInteger backendCalls = new AtomicInteger();
+        DashboardComposer.Composition composition = composer.compose();
+
+        CompletableFuture<Integer> first = composition.fetch("upcoming:2", backendCalls::incrementAndGet, 0);
+        CompletableFuture<Integer> second = composition.fetch("upcoming:2", backendCalls::incrementAndGet, 0);
+
+        assertEquals(1, first.join());
+        assertSame(first, second);
+        assertEquals(1, backendCalls.get());
+        assertEquals(1.0, meterRegistry.counter("dashboard.calls.deduplicated").count());
+    }
+
+    @Test
+    void fetchFailingCall_shouldReturnFallbackAndMarkDegradedTest() {
+        DashboardComposer composer = new DashboardComposer(meterRegistry, Runnable::run);
+        DashboardComposer.Composition composition = composer.compose();
+
+        CompletableFuture<List<String>> users = composition.fetch("users", () -> {
+            throw new IllegalStateException("ms-identity down");
+        }, List.of());
+        CompletableFuture<List<String>> sessions = composition.fetch("sessions", () -> List.of("yoga"), List.of());
+
+        assertEquals(List.of(), users.join());
+        assertEquals(List.of("yoga"), sessions.join());
+        assertTrue(composition.isDegraded());
+        assertEquals(1.0, meterRegistry.counter("dashboard.calls.fallbacks").count());
+    }
+
+    @Test
+    void fetchSlowCall_shouldTimeOutWithoutWaitingForItTest() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            DashboardComposer composer = new DashboardComposer(meterRegistry, executor);
+            ReflectionTestUtils.setField(composer, "callTimeoutMs", 100L);
+            DashboardComposer.Composition composition = composer.compose();
+
+            CompletableFuture<String> slow = composition.fetch("slow", () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "late";
+            }, "fallback");
+            CompletableFuture<String> fast = composition.fetch("fast", () -> "fast", "fallback");
+
+            assertEquals("fast", fast.join());
+            assertEquals("fallback", slow.join());
+            assertTrue(composition.isDegraded());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+}
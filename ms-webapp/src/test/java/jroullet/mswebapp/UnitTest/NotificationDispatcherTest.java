@@ -0,0 +1,72 @@
+package jroullet.mswebapp.UnitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jroullet.mswebapp.service.utils.NotificationDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NotificationDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void dispatchOutsideTransaction_shouldSubmitImmediatelyTest() {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(meterRegistry, Runnable::run);
+        AtomicInteger sent = new AtomicInteger();
+
+        dispatcher.dispatch("TEST", sent::incrementAndGet);
+
+        assertEquals(1, sent.get());
+        assertEquals(1.0, meterRegistry.counter("notifications.dispatch.submitted").count());
+    }
+
+    @Test
+    void dispatchInsideTransaction_shouldWaitForCommitTest() {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(meterRegistry, Runnable::run);
+        AtomicInteger sent = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        dispatcher.dispatch("TEST", sent::incrementAndGet);
+        assertEquals(0, sent.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, sent.get());
+    }
+
+    @Test
+    void dispatchWithFullQueue_shouldDropAndCountTest() {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(meterRegistry, runnable -> {
+            throw new RejectedExecutionException("queue full");
+        });
+
+        dispatcher.dispatch("TEST", () -> {});
+
+        assertEquals(1.0, meterRegistry.counter("notifications.dispatch.dropped").count());
+        assertEquals(0.0, meterRegistry.counter("notifications.dispatch.submitted").count());
+    }
+
+    @Test
+    void dispatchFailingTask_shouldCountFailureWithoutThrowingTest() {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(meterRegistry, Runnable::run);
+
+        dispatcher.dispatch("TEST", () -> {
+            throw new IllegalStateException("ms-notification down");
+        });
+
+        assertEquals(1.0, meterRegistry.counter("notifications.dispatch.failures").count());
+    }
+}
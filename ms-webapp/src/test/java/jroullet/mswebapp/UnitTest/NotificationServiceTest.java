@@ -1,24 +1,25 @@
 package jroullet.mswebapp.UnitTest;
 
-import jroullet.mswebapp.clients.IdentityFeignClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jroullet.mswebapp.clients.NotificationFeignClient;
-import jroullet.mswebapp.dto.notification.request.BulkNotificationEventRequest;
 import jroullet.mswebapp.dto.notification.request.NotificationEventRequest;
 import jroullet.mswebapp.dto.session.SessionWithParticipantsDTO;
 import jroullet.mswebapp.dto.user.UserParticipantDTO;
 import jroullet.mswebapp.service.NotificationService;
+import jroullet.mswebapp.service.utils.NotificationDispatcher;
+import jroullet.mswebapp.service.utils.UserDirectoryCache;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 
-import static jroullet.mswebapp.UnitTest.TestDataBuilders.createUserParticipantDTOListTestUsers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +41,13 @@ public class NotificationServiceTest {
     private NotificationFeignClient notificationFeignClient;
 
     @Mock
-    private IdentityFeignClient identityFeignClient;
+    private UserDirectoryCache userDirectoryCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Runs notification tasks inline on the test thread
+    @Spy
+    private NotificationDispatcher notificationDispatcher = new NotificationDispatcher(meterRegistry, Runnable::run);
 
     @InjectMocks
     NotificationService notificationService;
@@ -57,15 +64,14 @@ public class NotificationServiceTest {
     void sendUserEnrolledNotifications_shouldCallBothUserAndTeacherNotificationsTest() {
         // Given
 
-        when(identityFeignClient.getUserBasicInfo(USER_ID)).thenReturn(testUser);
-        when(identityFeignClient.getUserBasicInfo(TEACHER_ID)).thenReturn(testTeacher);
+        when(userDirectoryCache.getAll(List.of(USER_ID, TEACHER_ID)))
+                .thenReturn(Map.of(USER_ID, testUser, TEACHER_ID, testTeacher));
 
         // When
         notificationService.sendUserEnrolledNotifications(USER_ID, testSession);
 
         // Then
-        verify(identityFeignClient).getUserBasicInfo(USER_ID);
-        verify(identityFeignClient).getUserBasicInfo(TEACHER_ID);
+        verify(userDirectoryCache).getAll(List.of(USER_ID, TEACHER_ID));
         verify(notificationFeignClient, times(2)).processNotificationEvent(any(NotificationEventRequest.class));
     }
 
@@ -73,141 +79,28 @@ public class NotificationServiceTest {
     void sendUserCancelledNotifications_shouldCallBothUserAndTeacherNotificationsTest() {
         // Given
 
-        when(identityFeignClient.getUserBasicInfo(USER_ID)).thenReturn(testUser);
-        when(identityFeignClient.getUserBasicInfo(TEACHER_ID)).thenReturn(testTeacher);
+        when(userDirectoryCache.getAll(List.of(USER_ID, TEACHER_ID)))
+                .thenReturn(Map.of(USER_ID, testUser, TEACHER_ID, testTeacher));
 
         // When
         notificationService.sendUserCancelledNotifications(USER_ID, testSessionWithParticipants);
 
         // Then
-        verify(identityFeignClient).getUserBasicInfo(USER_ID);
-        verify(identityFeignClient).getUserBasicInfo(TEACHER_ID);
+        verify(userDirectoryCache).getAll(List.of(USER_ID, TEACHER_ID));
         verify(notificationFeignClient, times(2)).processNotificationEvent(any(NotificationEventRequest.class));
     }
 
     @Test
-    void sendSessionCancelledNotifications_shouldCallBulkAndTeacherNotificationsTest() {
-        // Given
-
-        List<UserParticipantDTO> participants = createUserParticipantDTOListTestUsers();
-
-        when(identityFeignClient.getUsersBasicInfo(anyList())).thenReturn(participants);
-        when(identityFeignClient.getUserBasicInfo(TEACHER_ID)).thenReturn(testTeacher);
-
-        // When
-        notificationService.sendSessionCancelledNotifications(testSessionWithParticipants);
-
-        // Then
-        verify(identityFeignClient, times(2)).getUsersBasicInfo(anyList());
-        verify(identityFeignClient).getUserBasicInfo(TEACHER_ID);
-        verify(notificationFeignClient).processBulkNotificationEvent(any(BulkNotificationEventRequest.class));
-        verify(notificationFeignClient).processNotificationEvent(any(NotificationEventRequest.class));
-    }
-
-    @Test
-    void sendSessionCancelledNotifications_withNoParticipants_shouldOnlyNotifyTeacherTest() {
-        // Given
-
-        when(identityFeignClient.getUserBasicInfo(TEACHER_ID)).thenReturn(testTeacher);
-
-        // When
-        notificationService.sendSessionCancelledNotifications(testSession);
-
-        // Then
-        verify(identityFeignClient).getUserBasicInfo(TEACHER_ID);
-        verify(notificationFeignClient).processNotificationEvent(any(NotificationEventRequest.class));
-        verify(notificationFeignClient, times(0)).processBulkNotificationEvent(any(BulkNotificationEventRequest.class));
-    }
-
-    @Test
-    void sendSessionModifiedNotifications_shouldCallBulkAndTeacherNotificationsTest() {
-        // Given
-
-        String modificationSummary = "Date et heure, Description";
-        List<UserParticipantDTO> participants = createUserParticipantDTOListTestUsers();
-
-        when(identityFeignClient.getUsersBasicInfo(anyList())).thenReturn(participants);
-        when(identityFeignClient.getUserBasicInfo(TEACHER_ID)).thenReturn(testTeacher);
-
-        // When
-        notificationService.sendSessionModifiedNotifications(testSessionWithParticipants, modificationSummary);
-
-        // Then
-        verify(identityFeignClient, times(2)).getUsersBasicInfo(anyList());
-        verify(identityFeignClient).getUserBasicInfo(TEACHER_ID);
-        verify(notificationFeignClient).processBulkNotificationEvent(any(BulkNotificationEventRequest.class));
-        verify(notificationFeignClient).processNotificationEvent(any(NotificationEventRequest.class));
-    }
-
-    @Test
-    void sendSessionCreatedNotification_shouldCallTeacherNotificationTest() {
-        // Given
-
-        when(identityFeignClient.getUserBasicInfo(TEACHER_ID)).thenReturn(testTeacher);
-
-        // When
-        notificationService.sendSessionCreatedNotification(TEACHER_ID, testSession);
-
-        // Then
-        verify(identityFeignClient).getUserBasicInfo(TEACHER_ID);
-        verify(notificationFeignClient).processNotificationEvent(any(NotificationEventRequest.class));
-    }
-
-    @Test
-    void sendSessionCompletedNotifications_shouldCallBulkNotificationTest() {
-        // Given
-
-        List<UserParticipantDTO> participants = createUserParticipantDTOListTestUsers();
-
-
-        when(identityFeignClient.getUsersBasicInfo(anyList())).thenReturn(participants);
-
-        // When
-        notificationService.sendSessionCompletedNotifications(testSessionWithParticipants);
-
-        // Then
-        verify(identityFeignClient).getUsersBasicInfo(anyList());
-        verify(notificationFeignClient).processBulkNotificationEvent(any(BulkNotificationEventRequest.class));
-    }
-
-    @Test
-    void sendSessionCompletedNotifications_withNoParticipants_shouldNotCallAnyNotificationTest() {
+    void sendUserEnrolledNotifications_whenTeacherUnknown_shouldNotSendNotificationsTest() {
         // Given
+        when(userDirectoryCache.getAll(List.of(USER_ID, TEACHER_ID))).thenReturn(Map.of(USER_ID, testUser));
 
         // When
-        notificationService.sendSessionCompletedNotifications(testSession);
-
-        // Then
-        verify(identityFeignClient, times(0)).getUsersBasicInfo(anyList());
-        verify(notificationFeignClient, times(0)).processBulkNotificationEvent(any(BulkNotificationEventRequest.class));
-    }
-
-    @Test
-    void buildModificationSummary_withNoChanges_shouldReturnNullTest() {
-        // Given
-        SessionWithParticipantsDTO original = testSession;
-        SessionWithParticipantsDTO updated = testSession;
-
-        // When
-        String result = notificationService.buildModificationSummary(original, updated);
-
-        // Then
-        assertNull(result);
-    }
-
-    @Test
-    void buildModificationSummary_withChanges_shouldReturnCommaSeparatedStringTest() {
-        // Given
-        SessionWithParticipantsDTO original = testSession;
-        SessionWithParticipantsDTO updated = testSessionWithParticipants;
-        updated.setDescription("Updated description");
-        updated.setDurationMinutes(90);
-
-        // When
-        String result = notificationService.buildModificationSummary(original, updated);
+        notificationService.sendUserEnrolledNotifications(USER_ID, testSession);
 
         // Then
-        assertEquals("Description, Durée", result);
+        verifyNoInteractions(notificationFeignClient);
+        assertEquals(1.0, meterRegistry.counter("notifications.dispatch.failures").count());
     }
 
 }
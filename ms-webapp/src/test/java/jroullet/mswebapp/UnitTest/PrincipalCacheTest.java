@@ -0,0 +1,66 @@
+package jroullet.mswebapp.UnitTest;
+
+import jroullet.mswebapp.auth.PrincipalCache;
+import jroullet.mswebapp.dto.user.UserDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrincipalCacheTest {
+
+    private static final Long USER_ID = 2L;
+
+    @Test
+    void applyCredits_withConsecutiveVersion_shouldUpdateBalanceAndVersionTest() {
+        PrincipalCache principalCache = new PrincipalCache(10, Duration.ofMinutes(1), Clock.systemUTC());
+        principalCache.put(user(10, 4L));
+
+        principalCache.applyCredits(USER_ID, 8, 5L);
+
+        PrincipalCache.CachedPrincipal cached = principalCache.find(USER_ID).orElseThrow();
+        assertEquals(8, cached.user().getCredits());
+        assertEquals(5L, cached.version());
+        assertFalse(principalCache.isProbeDue(cached));
+    }
+
+    @Test
+    void applyCredits_withVersionGap_shouldKeepOldVersionTest() {
+        PrincipalCache principalCache = new PrincipalCache(10, Duration.ofMinutes(1), Clock.systemUTC());
+        principalCache.put(user(10, 4L));
+
+        principalCache.applyCredits(USER_ID, 8, 7L);
+        principalCache.applyCredits(USER_ID, 6, null);
+
+        PrincipalCache.CachedPrincipal cached = principalCache.find(USER_ID).orElseThrow();
+        assertEquals(6, cached.user().getCredits());
+        // Someone else changed the user, the next probe must not match
+        assertEquals(4L, cached.version());
+    }
+
+    @Test
+    void isProbeDue_afterInterval_shouldBeTrueTest() {
+        PrincipalCache principalCache = new PrincipalCache(10, Duration.ZERO, Clock.systemUTC());
+        principalCache.put(user(10, 4L));
+
+        assertTrue(principalCache.isProbeDue(principalCache.find(USER_ID).orElseThrow()));
+    }
+
+    @Test
+    void invalidate_shouldRemoveUserTest() {
+        PrincipalCache principalCache = new PrincipalCache(10, Duration.ofMinutes(1), Clock.systemUTC());
+        principalCache.put(user(10, 4L));
+
+        principalCache.invalidate(USER_ID);
+
+        assertTrue(principalCache.find(USER_ID).isEmpty());
+    }
+
+    private static UserDTO user(Integer credits, Long version) {
+        UserDTO user = TestDataBuilders.createUserDTOTestUser(USER_ID, credits);
+        user.setVersion(version);
+        return user;
+    }
+}
@@ -0,0 +1,89 @@
+package jroullet.mswebapp.UnitTest;
+
+import feign.FeignException;
+import jroullet.mswebapp.auth.SessionService;
+import jroullet.mswebapp.clients.CourseManagementFeignClient;
+import jroullet.mswebapp.clients.IdentityFeignClient;
+import jroullet.mswebapp.dto.session.SessionWithParticipantsDTO;
+import jroullet.mswebapp.dto.session.participant.AddParticipantRequest;
+import jroullet.mswebapp.dto.session.participant.RegistrationResponse;
+import jroullet.mswebapp.dto.user.UserDTO;
+import jroullet.mswebapp.service.CreditService;
+import jroullet.mswebapp.service.NotificationService;
+import jroullet.mswebapp.service.SessionManagementService;
+import jroullet.mswebapp.service.ValidationService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionManagementServiceClientTest {
+
+    @Mock
+    private CourseManagementFeignClient courseFeignClient;
+
+    @Mock
+    private IdentityFeignClient identityFeignClient;
+
+    @Mock
+    private SessionService sessionService;
+
+    @Mock
+    private CreditService creditService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ValidationService validationService;
+
+    @InjectMocks
+    private SessionManagementService sessionManagementService;
+
+    private static final Long USER_ID = TestDataBuilders.DEFAULT_USER_ID;
+    private static final Long SESSION_ID = TestDataBuilders.DEFAULT_SESSION_ID;
+    private static UserDTO testUser;
+    private static SessionWithParticipantsDTO testSession;
+
+    @BeforeAll
+    static void setUpAll() {
+        testUser = TestDataBuilders.createUserDTOTestUser(USER_ID, 10);
+        testSession = TestDataBuilders.createSessionWithNoParticipantsDTOBaseSession();
+    }
+
+    @Test
+    void registerToSessionSuccess_shouldCallSagaOnceAndNotifyTest() {
+        // Given
+        RegistrationResponse response = new RegistrationResponse(1L, SESSION_ID, USER_ID, 8, 1, 10, testSession);
+        when(sessionService.getCurrentUser()).thenReturn(testUser);
+        when(courseFeignClient.registerToSession(SESSION_ID, new AddParticipantRequest(USER_ID))).thenReturn(response);
+
+        // When
+        int newCredits = sessionManagementService.registerToSession(SESSION_ID);
+
+        // Then
+        assertEquals(8, newCredits);
+        verify(courseFeignClient).registerToSession(SESSION_ID, new AddParticipantRequest(USER_ID));
+        verify(sessionService).applyCreditChange(USER_ID, 8, null);
+        verify(notificationService).sendUserEnrolledNotifications(USER_ID, testSession);
+        verifyNoInteractions(creditService, identityFeignClient);
+    }
+
+    @Test
+    void registerToSessionRejected_shouldPropagateErrorWithoutNotificationTest() {
+        // Given
+        when(sessionService.getCurrentUser()).thenReturn(testUser);
+        when(courseFeignClient.registerToSession(eq(SESSION_ID), any(AddParticipantRequest.class)))
+                .thenThrow(FeignException.UnprocessableEntity.class);
+
+        // When / Then
+        assertThrows(FeignException.class, () -> sessionManagementService.registerToSession(SESSION_ID));
+        verifyNoInteractions(notificationService, creditService);
+    }
+}
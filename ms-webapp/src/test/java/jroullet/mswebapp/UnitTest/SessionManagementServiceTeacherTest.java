@@ -4,6 +4,7 @@ import feign.FeignException;
 import jroullet.mswebapp.auth.SessionService;
 import jroullet.mswebapp.clients.CourseManagementFeignClient;
 import jroullet.mswebapp.clients.IdentityFeignClient;
+import jroullet.mswebapp.dto.session.SessionPageDTO;
 import jroullet.mswebapp.dto.session.SessionUpdateDTO;
 import jroullet.mswebapp.dto.session.SessionWithParticipantsDTO;
 import jroullet.mswebapp.dto.session.create.SessionCreationDTO;
@@ -69,7 +70,7 @@ class SessionManagementServiceTeacherTest {
     }
 
     @Test
-    void createSessionForCurrentTeacherSuccess_shouldCreateSessionAndSendNotificationTest() {
+    void createSessionForCurrentTeacherSuccess_shouldCreateSessionWithoutNotifyingTest() {
         // Given
         SessionCreationDTO creationDto = createSessionCreationDTO();
         SessionCreationResponseDTO responseDto = new SessionCreationResponseDTO();
@@ -77,8 +78,6 @@ class SessionManagementServiceTeacherTest {
 
         when(sessionService.getCurrentUser()).thenReturn(testTeacher);
         when(courseFeignClient.createSession(any(SessionCreationWithTeacherDTO.class))).thenReturn(responseDto);
-        when(courseFeignClient.getSessionById(SESSION_ID)).thenReturn(testSession);
-        doNothing().when(notificationService).sendSessionCreatedNotification(anyLong(), any());
 
         // When
         SessionCreationResponseDTO result = sessionManagementService.createSessionForCurrentTeacher(creationDto);
@@ -86,8 +85,8 @@ class SessionManagementServiceTeacherTest {
         // Then
         verify(sessionService).getCurrentUser();
         verify(courseFeignClient).createSession(any(SessionCreationWithTeacherDTO.class));
-        verify(courseFeignClient).getSessionById(SESSION_ID);
-        verify(notificationService).sendSessionCreatedNotification(TEACHER_ID, testSession);
+        // Creation notification is published by ms-course-mgmt
+        verifyNoInteractions(notificationService);
         assertEquals(SESSION_ID, result.getSessionId());
     }
 
@@ -107,7 +106,6 @@ class SessionManagementServiceTeacherTest {
 
         assertEquals(feignException, thrown);
         verify(courseFeignClient).createSession(any(SessionCreationWithTeacherDTO.class));
-        verify(notificationService, never()).sendSessionCreatedNotification(anyLong(), any());
     }
 
     @Test
@@ -141,19 +139,35 @@ class SessionManagementServiceTeacherTest {
     @Test
     void getPastSessionsForCurrentTeacherSuccess_shouldReturnSessionsTest() {
         // Given
-        List<SessionWithParticipantsDTO> expectedSessions = List.of(testSession);
-        when(courseFeignClient.getPastSessionsByTeacher(TEACHER_ID)).thenReturn(expectedSessions);
+        SessionPageDTO<SessionWithParticipantsDTO> expectedPage = new SessionPageDTO<>(List.of(testSession), "next", true);
+        when(courseFeignClient.getPastSessionsByTeacher(eq(TEACHER_ID), isNull(), anyInt())).thenReturn(expectedPage);
 
         // When
-        List<SessionWithParticipantsDTO> result = sessionManagementService.getPastSessionsForCurrentTeacher(TEACHER_ID);
+        SessionPageDTO<SessionWithParticipantsDTO> result = sessionManagementService.getPastSessionsForCurrentTeacher(TEACHER_ID, null);
 
         // Then
-        verify(courseFeignClient).getPastSessionsByTeacher(TEACHER_ID);
-        assertEquals(expectedSessions, result);
+        verify(courseFeignClient).getPastSessionsByTeacher(eq(TEACHER_ID), isNull(), anyInt());
+        assertEquals(expectedPage, result);
+        assertEquals("next", result.getNextCursor());
+    }
+
+    @Test
+    void getPastSessionsForCurrentTeacher_withFeignException_shouldReturnEmptyPageTest() {
+        // Given
+        FeignException feignException = mock(FeignException.class);
+        when(courseFeignClient.getPastSessionsByTeacher(eq(TEACHER_ID), eq("cursor"), anyInt())).thenThrow(feignException);
+
+        // When
+        SessionPageDTO<SessionWithParticipantsDTO> result = sessionManagementService.getPastSessionsForCurrentTeacher(TEACHER_ID, "cursor");
+
+        // Then
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
     }
 
     @Test
-    void updateSessionForCurrentTeacherSuccess_shouldUpdateAndNotifyTest() {
+    void updateSessionForCurrentTeacherSuccess_shouldUpdateWithoutNotifyingTest() {
         // Given
         SessionUpdateDTO updateDto = createSessionUpdateDTO();
         SessionWithParticipantsDTO updatedSession = TestDataBuilders.createSessionWithNoParticipantsDTOBaseSession();
@@ -162,10 +176,7 @@ class SessionManagementServiceTeacherTest {
         when(sessionService.getCurrentUser()).thenReturn(testTeacher);
         when(courseFeignClient.getSessionById(SESSION_ID)).thenReturn(testSession);
         when(courseFeignClient.updateSessionByTeacher(SESSION_ID, TEACHER_ID, updateDto)).thenReturn(updatedSession);
-        when(validationService.hasSignificantChanges(testSession, updatedSession)).thenReturn(true);
-        when(notificationService.buildModificationSummary(testSession, updatedSession)).thenReturn("Description");
         doNothing().when(validationService).validateSessionOwnership(testSession, TEACHER_ID);
-        doNothing().when(notificationService).sendSessionModifiedNotifications(updatedSession, "Description");
 
         // When
         sessionManagementService.updateSessionForCurrentTeacher(SESSION_ID, updateDto);
@@ -173,9 +184,8 @@ class SessionManagementServiceTeacherTest {
         // Then
         verify(validationService).validateSessionOwnership(testSession, TEACHER_ID);
         verify(courseFeignClient).updateSessionByTeacher(SESSION_ID, TEACHER_ID, updateDto);
-        verify(validationService).hasSignificantChanges(testSession, updatedSession);
-        verify(notificationService).buildModificationSummary(testSession, updatedSession);
-        verify(notificationService).sendSessionModifiedNotifications(updatedSession, "Description");
+        // Modification notifications are published by ms-course-mgmt
+        verifyNoInteractions(notificationService);
     }
 
     @Test
@@ -192,7 +202,7 @@ class SessionManagementServiceTeacherTest {
         verify(courseFeignClient).getSessionById(SESSION_ID);
         verify(courseFeignClient).cancelSessionByTeacher(any());
         verify(creditService, never()).batchRefundCredits(anyLong(), anyList(), any(), any());
-        verify(notificationService, never()).sendSessionCancelledNotifications(any());
+        verifyNoInteractions(notificationService);
     }
 
     @Test
@@ -202,7 +212,6 @@ class SessionManagementServiceTeacherTest {
         when(courseFeignClient.getSessionById(SESSION_ID)).thenReturn(testSessionWithParticipants);
         doNothing().when(creditService).batchRefundCredits(anyLong(), anyList(), any(), any());
         doNothing().when(courseFeignClient).cancelSessionByTeacher(any());
-        doNothing().when(notificationService).sendSessionCancelledNotifications(any());
 
         // When
         sessionManagementService.cancelSessionForCurrentTeacher(SESSION_ID);
@@ -212,7 +221,8 @@ class SessionManagementServiceTeacherTest {
         verify(creditService).batchRefundCredits(SESSION_ID, testSessionWithParticipants.getParticipantIds(),
                 testSessionWithParticipants.getCreditsRequired(), "SESSION_CANCELED_BY_TEACHER");
         verify(courseFeignClient).cancelSessionByTeacher(any());
-        verify(notificationService).sendSessionCancelledNotifications(testSessionWithParticipants);
+        // Cancellation notifications are published by ms-course-mgmt
+        verifyNoInteractions(notificationService);
     }
 
     @Test
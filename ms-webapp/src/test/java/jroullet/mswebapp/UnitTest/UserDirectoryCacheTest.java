@@ -0,0 +1,117 @@
+package jroullet.mswebapp.UnitTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jroullet.mswebapp.clients.IdentityFeignClient;
+import jroullet.mswebapp.dto.user.UserParticipantDTO;
+import jroullet.mswebapp.service.utils.UserDirectoryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class UserDirectoryCacheTest {
+
+    private static final Long TEACHER_ID = 1L;
+    private static final Long USER_ID = 2L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+    private IdentityFeignClient identityFeignClient;
+    private UserDirectoryCache userDirectoryCache;
+
+    @BeforeEach
+    void setUp() {
+        identityFeignClient = mock(IdentityFeignClient.class);
+        when(identityFeignClient.getUsersBasicInfo(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(UserDirectoryCacheTest::user).toList();
+        });
+        userDirectoryCache = new UserDirectoryCache(identityFeignClient, meterRegistry, 2, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void getAll_shouldFetchMissesInOneCallThenServeFromCacheTest() {
+        Map<Long, UserParticipantDTO> users = userDirectoryCache.getAll(List.of(USER_ID, TEACHER_ID));
+        userDirectoryCache.getAll(List.of(USER_ID, TEACHER_ID));
+
+        assertEquals(2, users.size());
+        verify(identityFeignClient, times(1)).getUsersBasicInfo(List.of(USER_ID, TEACHER_ID));
+        assertEquals(2.0, meterRegistry.counter("users.directory.cache.hits").count());
+        assertEquals(2.0, meterRegistry.counter("users.directory.cache.misses").count());
+    }
+
+    @Test
+    void getAll_afterTtl_shouldFetchAgainTest() {
+        userDirectoryCache.get(USER_ID);
+        clock.advance(Duration.ofMinutes(11));
+
+        userDirectoryCache.get(USER_ID);
+
+        verify(identityFeignClient, times(2)).getUsersBasicInfo(List.of(USER_ID));
+    }
+
+    @Test
+    void invalidate_shouldFetchUserAgainTest() {
+        userDirectoryCache.get(USER_ID);
+        userDirectoryCache.invalidate(USER_ID);
+
+        userDirectoryCache.get(USER_ID);
+
+        verify(identityFeignClient, times(2)).getUsersBasicInfo(List.of(USER_ID));
+    }
+
+    @Test
+    void getAll_aboveMaxSize_shouldEvictLeastRecentlyUsedTest() {
+        userDirectoryCache.getAll(List.of(USER_ID, TEACHER_ID));
+        userDirectoryCache.get(USER_ID);
+        userDirectoryCache.get(3L);
+
+        userDirectoryCache.getAll(List.of(USER_ID, TEACHER_ID));
+
+        // Teacher was the least recently used entry when user 3 was added
+        verify(identityFeignClient).getUsersBasicInfo(List.of(TEACHER_ID));
+        verify(identityFeignClient, never()).getUsersBasicInfo(List.of(USER_ID));
+    }
+
+    private static UserParticipantDTO user(Long id) {
+        UserParticipantDTO user = new UserParticipantDTO();
+        user.setId(id);
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setEmail("user" + id + "@test.com");
+        return user;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-06-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -12,7 +12,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
 import static jroullet.mswebapp.UnitTest.TestDataBuilders.*;
@@ -155,75 +154,4 @@ public class ValidationServiceTest {
         assertEquals("You can only access your own sessions", exception.getMessage());
     }
 
-    /** Significant changes are:
-     * - startDateTime
-     * - description
-     * - isOnline
-     * - zoomLink (if isOnline)
-     * - roomName (if not isOnline)
-     */
-    @Test
-    void hasSignificantChanges_shouldReturnFalseWhenNoChangesTest() {
-        // Given
-        SessionWithParticipantsDTO original = createSessionWithNoParticipantsDTOBaseSession();
-        SessionWithParticipantsDTO updated = createSessionWithNoParticipantsDTOBaseSession();
-
-        // When/Then
-        assertFalse(validationService.hasSignificantChanges(original, updated));
-    }
-
-    @Test
-    void hasSignificantChanges_shouldReturnTrueWhenStartDateTimeChangedTest() {
-        // Given
-        SessionWithParticipantsDTO original = createSessionWithNoParticipantsDTOBaseSession();
-        SessionWithParticipantsDTO updated = createSessionWithNoParticipantsDTOBaseSession();
-        updated.setStartDateTime(LocalDateTime.now().plusHours(1));
-
-        // When/Then
-        assertTrue(validationService.hasSignificantChanges(original, updated));
-    }
-
-    @Test
-    void hasSignificantChanges_shouldReturnTrueWhenDescriptionChangedTest() {
-        // Given
-        SessionWithParticipantsDTO original = createSessionWithNoParticipantsDTOBaseSession();
-        SessionWithParticipantsDTO updated = createSessionWithNoParticipantsDTOBaseSession();
-        updated.setDescription("New description");
-
-        // When/Then
-        assertTrue(validationService.hasSignificantChanges(original, updated));
-    }
-
-    @Test
-    void hasSignificantChanges_shouldReturnTrueWhenOnlineModeChangedTest() {
-        // Given
-        SessionWithParticipantsDTO original = createSessionWithNoParticipantsDTOBaseSession();
-        original.setIsOnline(true);
-        SessionWithParticipantsDTO updated = createSessionWithNoParticipantsDTOBaseSession();
-        updated.setIsOnline(false);
-
-        // When/Then
-        assertTrue(validationService.hasSignificantChanges(original, updated));
-    }
-
-    @Test
-    void hasSignificantChanges_shouldReturnTrueWhenZoomLinkChangedForOnlineSessionTest() {
-        // Given
-        SessionWithParticipantsDTO original = createSessionWithParticipantsDTOOnlineSession("https://zoom.us/old");
-        SessionWithParticipantsDTO updated = createSessionWithParticipantsDTOOnlineSession("https://zoom.us/new");
-
-        // When/Then
-        assertTrue(validationService.hasSignificantChanges(original, updated));
-    }
-
-    @Test
-    void hasSignificantChanges_shouldReturnTrueWhenRoomNameChangedForOfflineSessionTest() {
-        // Given
-        SessionWithParticipantsDTO original = createSessionWithParticipantsDTOOfflineSession("Old Room");
-        SessionWithParticipantsDTO updated = createSessionWithParticipantsDTOOfflineSession("New Room");
-
-        // When/Then
-        assertTrue(validationService.hasSignificantChanges(original, updated));
-    }
-
 }